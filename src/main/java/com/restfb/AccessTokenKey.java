@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+import com.restfb.util.EncodingUtils;
+
+/**
+ * Opaque key of an access token, used by the {@link RequestRateLimiter} and the {@link UsageRateGovernor} to keep
+ * per-token state without keeping the token itself.
+ * <p>
+ * The key is a SHA-256 digest of the token. It is computed once and cached by the {@link DefaultFacebookClient}, so the
+ * digest doesn't have to be computed for every request.
+ */
+final class AccessTokenKey {
+
+  /**
+   * number of hex characters of the access token digest that are used as key, i.e. 128 bits
+   */
+  private static final int DIGEST_LENGTH = 32;
+
+  private final String accessToken;
+
+  private final String digest;
+
+  private AccessTokenKey(String accessToken, String digest) {
+    this.accessToken = accessToken;
+    this.digest = digest;
+  }
+
+  /**
+   * Computes the key of the access token.
+   *
+   * @param accessToken
+   *          the access token, may be {@code null}
+   * @return the key
+   */
+  static AccessTokenKey of(String accessToken) {
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      byte[] digest = messageDigest.digest((accessToken == null ? "" : accessToken).getBytes(StandardCharsets.UTF_8));
+      return new AccessTokenKey(accessToken,
+        new String(EncodingUtils.encodeHex(digest), StandardCharsets.UTF_8).substring(0, DIGEST_LENGTH));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * @param accessToken
+   *          an access token, may be {@code null}
+   * @return {@code true} if this is the key of the given access token
+   */
+  boolean isKeyOf(String accessToken) {
+    return Objects.equals(this.accessToken, accessToken);
+  }
+
+  /**
+   * @return the hex encoded digest of the access token
+   */
+  String getDigest() {
+    return digest;
+  }
+
+  @Override
+  public String toString() {
+    return digest;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+import java.time.Duration;
+
+/**
+ * Derives the timeout of a request from the recent latencies of its endpoint.
+ * <p>
+ * The timeout is the {@code percentile} of the recent latencies of the endpoint multiplied by the {@code multiplier},
+ * bounded by {@code minTimeout} and {@code maxTimeout}. As long as an endpoint has fewer than {@code minimumSamples}
+ * recorded latencies, the {@code maxTimeout} is used. Requests that time out are recorded with their timeout, so the
+ * timeout of an endpoint that becomes slower grows again.
+ * <p>
+ * Used with {@link DefaultWebRequestor#setAdaptiveTimeout(AdaptiveTimeout)}, which applies it to {@code GET} requests.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout.AdaptiveTimeoutBuilder().percentile(0.99).multiplier(3)
+ *   .minTimeout(Duration.ofSeconds(2)).maxTimeout(Duration.ofSeconds(60)).build();
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public final class AdaptiveTimeout {
+
+  private final double percentile;
+
+  private final double multiplier;
+
+  private final Duration minTimeout;
+
+  private final Duration maxTimeout;
+
+  private final EndpointLatencyStats latencyStats;
+
+  private AdaptiveTimeout(AdaptiveTimeoutBuilder builder) {
+    this.percentile = builder.percentile;
+    this.multiplier = builder.multiplier;
+    this.minTimeout = builder.minTimeout;
+    this.maxTimeout = builder.maxTimeout;
+    this.latencyStats = new EndpointLatencyStats(builder.windowSize, builder.minimumSamples);
+  }
+
+  /**
+   * Returns the timeout for a request.
+   *
+   * @param requestUrl
+   *          the full URL of the request
+   * @return the timeout between {@code minTimeout} and {@code maxTimeout}
+   */
+  public Duration timeout(String requestUrl) {
+    Duration latency = latencyStats.percentile(requestUrl, percentile);
+    if (latency == null) {
+      return maxTimeout;
+    }
+
+    double timeoutNanos = latency.toNanos() * multiplier;
+    if (timeoutNanos >= maxTimeout.toNanos()) {
+      return maxTimeout;
+    }
+    Duration timeout = Duration.ofNanos((long) timeoutNanos);
+    return timeout.compareTo(minTimeout) < 0 ? minTimeout : timeout;
+  }
+
+  /**
+   * Records the latency of a request.
+   *
+   * @param requestUrl
+   *          the full URL of the request
+   * @param latency
+   *          the time it took to receive the response, or the timeout if the request timed out
+   */
+  public void record(String requestUrl, Duration latency) {
+    latencyStats.record(requestUrl, latency);
+  }
+
+  /**
+   * @return the latency statistics the timeouts are derived from
+   */
+  public EndpointLatencyStats getLatencyStats() {
+    return latencyStats;
+  }
+
+  /**
+   * @return the latency percentile the timeout is derived from
+   */
+  public double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * @return the factor the latency percentile is multiplied with
+   */
+  public double getMultiplier() {
+    return multiplier;
+  }
+
+  /**
+   * @return the lower limit of the timeout
+   */
+  public Duration getMinTimeout() {
+    return minTimeout;
+  }
+
+  /**
+   * @return the upper limit of the timeout, also used for endpoints without enough samples
+   */
+  public Duration getMaxTimeout() {
+    return maxTimeout;
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveTimeout[percentile=" + percentile + ", multiplier=" + multiplier + ", minTimeout=" + minTimeout
+        + ", maxTimeout=" + maxTimeout + "]";
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link AdaptiveTimeout}.
+   */
+  public static class AdaptiveTimeoutBuilder {
+    private double percentile = 0.99;
+    private double multiplier = 3;
+    private Duration minTimeout = Duration.ofSeconds(1);
+    private Duration maxTimeout = Duration.ofSeconds(180);
+    private int windowSize = 100;
+    private int minimumSamples = 20;
+
+    /**
+     * Sets the latency percentile the timeout is derived from, {@code 0.99} is the default value.
+     *
+     * @param percentile
+     *          The percentile between 0 (exclusive) and 1.
+     * @return This builder.
+     */
+    public AdaptiveTimeoutBuilder percentile(double percentile) {
+      this.percentile = percentile;
+      return this;
+    }
+
+    /**
+     * Sets the factor the latency percentile is multiplied with, {@code 3} is the default value.
+     *
+     * @param multiplier
+     *          The factor, at least 1.
+     * @return This builder.
+     */
+    public AdaptiveTimeoutBuilder multiplier(double multiplier) {
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * Sets the lower limit of the timeout, 1 second is the default value.
+     *
+     * @param minTimeout
+     *          The lower limit.
+     * @return This builder.
+     */
+    public AdaptiveTimeoutBuilder minTimeout(Duration minTimeout) {
+      this.minTimeout = minTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the upper limit of the timeout, 180 seconds is the default value. It is also used for endpoints without
+     * enough samples.
+     *
+     * @param maxTimeout
+     *          The upper limit.
+     * @return This builder.
+     */
+    public AdaptiveTimeoutBuilder maxTimeout(Duration maxTimeout) {
+      this.maxTimeout = maxTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the number of recent latencies kept per endpoint, {@code 100} is the default value.
+     *
+     * @param windowSize
+     *          The number of latencies.
+     * @return This builder.
+     */
+    public AdaptiveTimeoutBuilder windowSize(int windowSize) {
+      this.windowSize = windowSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of latencies an endpoint needs before its timeout adapts, {@code 20} is the default value.
+     *
+     * @param minimumSamples
+     *          The number of latencies, at most the window size.
+     * @return This builder.
+     */
+    public AdaptiveTimeoutBuilder minimumSamples(int minimumSamples) {
+      this.minimumSamples = minimumSamples;
+      return this;
+    }
+
+    /**
+     * Generates a {@link AdaptiveTimeout} instance with the configuration of this builder.
+     *
+     * @return A {@link AdaptiveTimeout} instance.
+     * @throws IllegalArgumentException
+     *           If a value is out of range.
+     */
+    public AdaptiveTimeout build() {
+      verifyParameterPresence("minTimeout", minTimeout);
+      verifyParameterPresence("maxTimeout", maxTimeout);
+
+      if (percentile <= 0 || percentile > 1) {
+        throw new IllegalArgumentException("The percentile must be between 0 and 1, but was " + percentile);
+      }
+      if (multiplier < 1) {
+        throw new IllegalArgumentException("The multiplier must be at least 1, but was " + multiplier);
+      }
+      if (minTimeout.isNegative() || minTimeout.isZero() || maxTimeout.compareTo(minTimeout) < 0) {
+        throw new IllegalArgumentException("The timeouts must be positive and the minimum must not exceed the maximum");
+      }
+
+      return new AdaptiveTimeout(this);
+    }
+  }
+}
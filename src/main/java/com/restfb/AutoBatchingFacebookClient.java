@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.DefaultAsyncFacebookClient.completeOnException;
+import static com.restfb.DefaultFacebookClient.extractPriority;
+import static com.restfb.DefaultFacebookClient.withoutClientParameters;
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchRequest.BatchRequestBuilder;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookJsonMappingException;
+import com.restfb.json.ParseException;
+import com.restfb.util.ConcurrencyUtils;
+
+/**
+ * {@link AsyncFacebookClient} that coalesces concurrent calls into
+ * <a href="https://developers.facebook.com/docs/graph-api/batch-requests" target="_blank">Graph API batch
+ * requests</a>.
+ * <p>
+ * Calls to {@link #fetchObject(String, Class, Parameter...) fetchObject}, {@link #fetchObjects(List, Class, Parameter...)
+ * fetchObjects}, {@link #fetchConnection(String, Class, Parameter...) fetchConnection},
+ * {@link #publish(String, Class, Parameter...) publish} and {@link #deleteObject(String, Parameter...) deleteObject}
+ * are collected for a short time window. When the window ends, or as soon as {@code maxBatchSize} calls are collected,
+ * they are sent as one batch and every {@link BatchResponse} is checked and mapped back to the future of its caller.
+ * Calls with binary attachments or a {@link Body} and explicit batches are sent directly.
+ * <p>
+ * The client must be {@link #close() closed} to send the remaining calls and to stop the internal timer thread.
+ *
+ * @since 2026.8.0
+ */
+public class AutoBatchingFacebookClient implements AsyncFacebookClient, AutoCloseable {
+
+  /**
+   * The default time window calls are collected for.
+   */
+  public static final Duration DEFAULT_WINDOW = Duration.ofMillis(10);
+
+  private final DefaultFacebookClient facebookClient;
+
+  private final DefaultAsyncFacebookClient asyncFacebookClient;
+
+  private final Duration window;
+
+  private final int maxBatchSize;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final Object lock = new Object();
+
+  private List<PendingCall<?>> pendingCalls = new ArrayList<>();
+
+  private ScheduledFuture<?> scheduledFlush;
+
+  private boolean closed;
+
+  /**
+   * Creates an auto-batching client with the default window of 10 milliseconds and batches of up to
+   * {@link BatchRequest#MAX_BATCH_SIZE} calls.
+   *
+   * @param facebookClient
+   *          the client used to build the batches and map the responses
+   */
+  public AutoBatchingFacebookClient(DefaultFacebookClient facebookClient) {
+    this(facebookClient, DEFAULT_WINDOW, BatchRequest.MAX_BATCH_SIZE);
+  }
+
+  /**
+   * Creates an auto-batching client.
+   *
+   * @param facebookClient
+   *          the client used to build the batches and map the responses
+   * @param window
+   *          the time calls are collected for, starting with the first call of a batch
+   * @param maxBatchSize
+   *          the number of calls that triggers an immediate send, between {@code 1} and
+   *          {@link BatchRequest#MAX_BATCH_SIZE}
+   * @throws IllegalArgumentException
+   *           If {@code window} is negative or {@code maxBatchSize} is out of range.
+   */
+  public AutoBatchingFacebookClient(DefaultFacebookClient facebookClient, Duration window, int maxBatchSize) {
+    verifyParameterPresence("facebookClient", facebookClient);
+    verifyParameterPresence("window", window);
+
+    if (window.isNegative()) {
+      throw new IllegalArgumentException("The window must not be negative");
+    }
+    if (maxBatchSize < 1 || maxBatchSize > BatchRequest.MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+        "The maximum batch size must be between 1 and " + BatchRequest.MAX_BATCH_SIZE + ", but was " + maxBatchSize);
+    }
+
+    this.facebookClient = facebookClient;
+    this.asyncFacebookClient = new DefaultAsyncFacebookClient(facebookClient);
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(ConcurrencyUtils.daemonThreadFactory("restfb-auto-batching"));
+  }
+
+  @Override
+  public <T> CompletableFuture<T> fetchObject(String object, Class<T> objectType, Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence("object", object);
+      verifyParameterPresence("objectType", objectType);
+      return enqueue(new BatchRequestBuilder(object).parameters(withoutClientParameters(parameters)).build(),
+        body -> getJsonMapper().toJavaObject(body, objectType));
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<T> fetchObjects(List<String> ids, Class<T> objectType, Parameter... parameters) {
+    return completeOnException(() -> {
+      Parameter[] parametersWithIds = facebookClient.parametersWithIds(ids, withoutClientParameters(parameters));
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION_TYPE, objectType);
+      return enqueue(new BatchRequestBuilder("").parameters(parametersWithIds).build(), body -> {
+        try {
+          return getJsonMapper().toJavaObject(body, objectType);
+        } catch (ParseException e) {
+          throw new FacebookJsonMappingException("Unable to map connection JSON to Java objects", e);
+        }
+      });
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<Connection<T>> fetchConnection(String connection, Class<T> connectionType,
+      Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION, connection);
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION_TYPE, connectionType);
+      return enqueue(new BatchRequestBuilder(connection).parameters(withoutClientParameters(parameters)).build(),
+        body -> {
+          Connection<T> page = new Connection<>(facebookClient, body, connectionType);
+          page.setRequestPriority(extractPriority(parameters));
+          return page;
+        });
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<T> publish(String connection, Class<T> objectType, Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION, connection);
+      return enqueue(
+        new BatchRequestBuilder(connection).method("POST").body(withoutClientParameters(parameters)).build(),
+        body -> getJsonMapper().toJavaObject(body, objectType));
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<T> publish(String connection, Class<T> objectType,
+      List<BinaryAttachment> binaryAttachments, Parameter... parameters) {
+    if (binaryAttachments == null || binaryAttachments.isEmpty()) {
+      return publish(connection, objectType, parameters);
+    }
+    return asyncFacebookClient.publish(connection, objectType, binaryAttachments, parameters);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> publish(String connection, Class<T> objectType, Body body,
+      Parameter... parameters) {
+    return asyncFacebookClient.publish(connection, objectType, body, parameters);
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteObject(String object, Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence("object", object);
+      return enqueue(
+        new BatchRequestBuilder(object).method("DELETE").parameters(withoutClientParameters(parameters)).build(),
+        facebookClient::toDeleteResult);
+    });
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResponse>> executeBatch(BatchRequest... batchRequests) {
+    return asyncFacebookClient.executeBatch(batchRequests);
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResponse>> executeBatch(List<BatchRequest> batchRequests) {
+    return asyncFacebookClient.executeBatch(batchRequests);
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResponse>> executeBatch(List<BatchRequest> batchRequests,
+      List<BinaryAttachment> binaryAttachments) {
+    return asyncFacebookClient.executeBatch(batchRequests, binaryAttachments);
+  }
+
+  @Override
+  public FacebookClient getFacebookClient() {
+    return facebookClient;
+  }
+
+  /**
+   * Sends the collected calls immediately instead of waiting for the end of the current window.
+   */
+  public void flush() {
+    List<PendingCall<?>> calls;
+    synchronized (lock) {
+      if (pendingCalls.isEmpty()) {
+        return;
+      }
+      calls = drainPendingCalls();
+    }
+    send(calls);
+  }
+
+  /**
+   * Sends the collected calls and stops the timer thread. Calls made after closing fail with an
+   * {@link IllegalStateException}, the futures of calls already sent are completed normally.
+   */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    flush();
+    scheduler.shutdown();
+  }
+
+  private <T> CompletableFuture<T> enqueue(BatchRequest batchRequest, Function<String, T> mapper) {
+    PendingCall<T> call = new PendingCall<>(batchRequest, mapper);
+    List<PendingCall<?>> calls = null;
+
+    synchronized (lock) {
+      if (closed) {
+        CompletableFuture<T> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("The auto-batching client is already closed"));
+        return failed;
+      }
+
+      pendingCalls.add(call);
+      if (pendingCalls.size() >= maxBatchSize) {
+        calls = drainPendingCalls();
+      } else if (scheduledFlush == null) {
+        scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    }
+
+    if (calls != null) {
+      send(calls);
+    }
+    return call.future;
+  }
+
+  private List<PendingCall<?>> drainPendingCalls() {
+    List<PendingCall<?>> calls = pendingCalls;
+    pendingCalls = new ArrayList<>();
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    return calls;
+  }
+
+  private void send(List<PendingCall<?>> calls) {
+    List<BatchRequest> batchRequests = calls.stream().map(call -> call.batchRequest).collect(Collectors.toList());
+
+    CompletableFuture<List<BatchResponse>> responses;
+    try {
+      responses = asyncFacebookClient.executeBatch(batchRequests);
+    } catch (RuntimeException e) {
+      calls.forEach(call -> call.future.completeExceptionally(e));
+      return;
+    }
+
+    responses.whenComplete((batchResponses, throwable) -> {
+      if (throwable != null) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause() : throwable;
+        calls.forEach(call -> call.future.completeExceptionally(cause));
+        return;
+      }
+
+      for (int i = 0; i < calls.size(); i++) {
+        calls.get(i).complete(i < batchResponses.size() ? batchResponses.get(i) : null);
+      }
+    });
+  }
+
+  private JsonMapper getJsonMapper() {
+    return facebookClient.getJsonMapper();
+  }
+
+  private final class PendingCall<T> {
+    private final BatchRequest batchRequest;
+    private final Function<String, T> mapper;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    private PendingCall(BatchRequest batchRequest, Function<String, T> mapper) {
+      this.batchRequest = batchRequest;
+      this.mapper = mapper;
+    }
+
+    private void complete(BatchResponse batchResponse) {
+      try {
+        future.complete(mapper.apply(facebookClient.toBatchResponseBody(batchResponse)));
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.restfb.util.UrlUtils;
+
+/**
+ * WebRequestor that coalesces identical concurrent {@code GET} requests.
+ * <p>
+ * If a {@code GET} request is made while an identical request is still in flight, no new HTTP request is sent. The
+ * caller waits for the request in flight and gets the same {@link WebRequestor.Response}. Requests are identical if
+ * they have the same access token and the same URL, ignoring the order of the query parameters.
+ * <p>
+ * Only requests that overlap in time are coalesced, nothing is cached: a request made after the response has arrived
+ * is sent again, so no stale data is returned. Callers that join a request in flight share its timeout and its
+ * outcome, including an exception. {@code POST} and {@code DELETE} requests are passed to the delegate unchanged.
+ * <p>
+ * Cancelling the future of one caller does not affect the other callers. The request in flight is only cancelled if
+ * all callers have cancelled their futures.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * FacebookClient client = new DefaultFacebookClient(accessToken,
+ *   new CoalescingWebRequestor(new DefaultWebRequestor()), Version.LATEST);
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public class CoalescingWebRequestor implements WebRequestor {
+
+  private final WebRequestor delegate;
+
+  private final ConcurrentMap<String, SharedGet> inFlight = new ConcurrentHashMap<>();
+
+  private final AtomicLong coalescedCount = new AtomicLong();
+
+  /**
+   * Creates a coalescing requestor.
+   *
+   * @param delegate
+   *          the requestor that sends the requests
+   */
+  public CoalescingWebRequestor(WebRequestor delegate) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+  }
+
+  @Override
+  public Response executeGet(Request request) throws IOException {
+    return WebRequestorSupport.await(executeGetAsync(request));
+  }
+
+  @Override
+  public CompletableFuture<Response> executeGetAsync(Request request) {
+    String key = coalescingKey(request);
+    while (true) {
+      SharedGet newGet = new SharedGet(key);
+      SharedGet sharedGet = inFlight.putIfAbsent(key, newGet);
+      if (sharedGet == null) {
+        CompletableFuture<Response> waiter = newGet.addWaiter();
+        newGet.send(request);
+        return waiter;
+      }
+      CompletableFuture<Response> waiter = sharedGet.addWaiter();
+      if (waiter != null) {
+        coalescedCount.incrementAndGet();
+        return waiter;
+      }
+      // all callers of the shared request have cancelled in the meantime, so a new request is sent
+    }
+  }
+
+  @Override
+  public Response executePost(Request request) throws IOException {
+    return delegate.executePost(request);
+  }
+
+  @Override
+  public CompletableFuture<Response> executePostAsync(Request request) {
+    return delegate.executePostAsync(request);
+  }
+
+  @Override
+  public Response executeDelete(Request request) throws IOException {
+    return delegate.executeDelete(request);
+  }
+
+  @Override
+  public CompletableFuture<Response> executeDeleteAsync(Request request) {
+    return delegate.executeDeleteAsync(request);
+  }
+
+  /**
+   * @return the number of {@code GET} requests that joined a request in flight instead of sending a new one
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  /**
+   * @return the number of {@code GET} requests currently in flight
+   */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private static String coalescingKey(Request request) {
+    String accessToken = request.hasHeaderAccessToken() ? request.getHeaderAccessToken() : "";
+    return accessToken + ' ' + UrlUtils.normalizeQueryString(request.getFullUrl());
+  }
+
+  /**
+   * A {@code GET} request in flight and the callers waiting for it.
+   */
+  private final class SharedGet {
+
+    private final String key;
+
+    private final CompletableFuture<Response> response = new CompletableFuture<>();
+
+    private int waiters;
+
+    private volatile boolean cancelled;
+
+    private volatile CompletableFuture<Response> call;
+
+    SharedGet(String key) {
+      this.key = key;
+    }
+
+    /**
+     * Returns a new future for a caller, {@code null} if the request has been cancelled already.
+     */
+    synchronized CompletableFuture<Response> addWaiter() {
+      if (cancelled) {
+        return null;
+      }
+      waiters++;
+      CompletableFuture<Response> waiter = response.copy();
+      waiter.whenComplete((r, throwable) -> {
+        if (waiter.isCancelled()) {
+          removeWaiter();
+        }
+      });
+      return waiter;
+    }
+
+    private void removeWaiter() {
+      synchronized (this) {
+        if (--waiters > 0 || response.isDone()) {
+          return;
+        }
+        cancelled = true;
+      }
+      inFlight.remove(key, this);
+      response.cancel(true);
+      CompletableFuture<Response> currentCall = call;
+      if (currentCall != null) {
+        currentCall.cancel(true);
+      }
+    }
+
+    void send(Request request) {
+      CompletableFuture<Response> newCall;
+      try {
+        newCall = delegate.executeGetAsync(request);
+      } catch (RuntimeException e) {
+        newCall = CompletableFuture.failedFuture(e);
+      }
+      call = newCall;
+      newCall.whenComplete((r, throwable) -> {
+        // later requests must not join a completed request
+        inFlight.remove(key, this);
+        if (throwable == null) {
+          response.complete(r);
+        } else {
+          response.completeExceptionally(throwable);
+        }
+      });
+      if (cancelled) {
+        newCall.cancel(true);
+      }
+    }
+  }
+}
@@ -24,16 +24,30 @@ package com.restfb;
 import static com.restfb.util.StringUtils.isBlank;
 import static java.util.Collections.unmodifiableList;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.restfb.exception.FacebookJsonMappingException;
 import com.restfb.json.Json;
 import com.restfb.json.JsonArray;
 import com.restfb.json.JsonObject;
 import com.restfb.json.ParseException;
+import com.restfb.util.ConcurrencyUtils;
 import com.restfb.util.ReflectionUtils;
 
 /**
@@ -56,6 +70,7 @@ public class Connection<T> implements Iterable<List<T>> {
   private String json;
   private T typedSummary;
   private ResponseMetadata responseMetadata;
+  private RequestPriority requestPriority;
 
   /**
    * @see java.lang.Iterable#iterator()
@@ -66,6 +81,99 @@ public class Connection<T> implements Iterable<List<T>> {
     return new Itr<>(this);
   }
 
+  /**
+   * Returns a sequential stream over the single items of this connection and all following pages.
+   * <p>
+   * The pages are fetched lazily with {@link #getNextPageUrl()} while the stream is consumed, so short-circuiting
+   * operations like {@code limit} or {@code takeWhile} stop the paging as soon as they are satisfied. Only the page
+   * currently being consumed is referenced by the stream, pages already consumed can be garbage collected.
+   *
+   * @return the stream over the connection items
+   * @since 2026.8.0
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(itemSpliterator(), false);
+  }
+
+  /**
+   * Returns a spliterator over the single items of this connection and all following pages.
+   * <p>
+   * Like {@link #stream()}, the next page is only fetched when the items of the current page are consumed.
+   *
+   * @return the spliterator over the connection items
+   * @see #stream()
+   * @since 2026.8.0
+   */
+  public Spliterator<T> itemSpliterator() {
+    return new ItemSpliterator<>(this);
+  }
+
+  /**
+   * Returns a {@link Flow.Publisher} over the single items of this connection and all following pages.
+   * <p>
+   * The next page is fetched with {@link FacebookClient#fetchConnectionPage(String, Class)} only if the subscriber
+   * requested more items than the current page holds, so the pages are pulled at the pace of the subscriber. Cancelling
+   * the subscription stops the paging. Every subscriber starts with this connection.
+   * <p>
+   * The signals are delivered on the shared {@link ConcurrencyUtils#defaultExecutor() default executor}.
+   *
+   * @return the publisher of the connection items
+   * @since 2026.8.0
+   */
+  public Flow.Publisher<T> publisher() {
+    return publisher(ConcurrencyUtils.defaultExecutor());
+  }
+
+  /**
+   * Returns a {@link Flow.Publisher} over the single items of this connection and all following pages, that delivers
+   * its signals and fetches the pages on the given {@code executor}.
+   *
+   * @param executor
+   *          the executor used to fetch the pages and to signal the subscribers
+   * @return the publisher of the connection items
+   * @see #publisher()
+   * @since 2026.8.0
+   */
+  public Flow.Publisher<T> publisher(Executor executor) {
+    return new ConnectionPublisher<>(this, executor);
+  }
+
+  /**
+   * Returns an iterator over the connection pages that fetches the following pages in the background while the caller
+   * processes the current one.
+   * <p>
+   * At most {@code depth} pages are fetched ahead of the page returned last, so the memory used by the iterator is
+   * bounded by the configured depth. Pages are still fetched one after another with the next page URL of the previous
+   * page, so the cursor semantics are the same as with {@link #iterator()}.
+   * <p>
+   * The background fetches run on the shared {@link ConcurrencyUtils#defaultExecutor() default executor}. Close the
+   * iterator if the iteration is stopped before the last page, so the pending background fetches are cancelled.
+   *
+   * @param depth
+   *          the number of pages to fetch ahead, must be at least {@code 1}
+   * @return the prefetching iterator
+   * @since 2026.8.0
+   */
+  public PrefetchingItr<T> prefetchingIterator(int depth) {
+    return prefetchingIterator(depth, ConcurrencyUtils.defaultExecutor());
+  }
+
+  /**
+   * Returns an iterator over the connection pages that fetches the following pages on the given {@code executor} while
+   * the caller processes the current one.
+   *
+   * @param depth
+   *          the number of pages to fetch ahead, must be at least {@code 1}
+   * @param executor
+   *          the executor used for the background fetches
+   * @return the prefetching iterator
+   * @see #prefetchingIterator(int)
+   * @since 2026.8.0
+   */
+  public PrefetchingItr<T> prefetchingIterator(int depth, Executor executor) {
+    return new PrefetchingItr<>(this, depth, executor);
+  }
+
   /**
    * Iterator over connection pages.
    * 
@@ -75,6 +183,7 @@ public class Connection<T> implements Iterable<List<T>> {
   protected static class Itr<T> implements ConnectionIterator<T> {
     private Connection<T> connection;
     private boolean initialPage = true;
+    private long fetchedCount;
 
     /**
      * Creates a new iterator over the given {@code connection}.
@@ -83,7 +192,22 @@ public class Connection<T> implements Iterable<List<T>> {
      *          The connection over which to iterate.
      */
     protected Itr(Connection<T> connection) {
+      this(connection, 0);
+    }
+
+    /**
+     * Creates a new iterator over the given {@code connection} that continues a crawl which already processed
+     * {@code fetchedCount} items.
+     *
+     * @param connection
+     *          The connection over which to iterate.
+     * @param fetchedCount
+     *          The number of items processed before the given connection.
+     * @since 2026.8.0
+     */
+    protected Itr(Connection<T> connection, long fetchedCount) {
       this.connection = connection;
+      this.fetchedCount = fetchedCount;
     }
 
     /**
@@ -104,6 +228,7 @@ public class Connection<T> implements Iterable<List<T>> {
       // immediately.
       if (initialPage) {
         initialPage = false;
+        fetchedCount += connection.getData().size();
         return connection.getData();
       }
 
@@ -112,6 +237,7 @@ public class Connection<T> implements Iterable<List<T>> {
       }
 
       connection = connection.fetchNextPage();
+      fetchedCount += connection.getData().size();
       return connection.getData();
     }
 
@@ -130,6 +256,220 @@ public class Connection<T> implements Iterable<List<T>> {
     public Connection<T> snapshot() {
       return connection;
     }
+
+    /**
+     * @see ConnectionIterator#checkpoint()
+     */
+    @Override
+    public ConnectionCheckpoint checkpoint() {
+      if (initialPage) {
+        throw new IllegalStateException("No page has been returned yet, there is nothing to resume from.");
+      }
+      return ConnectionCheckpoint.of(connection, fetchedCount);
+    }
+  }
+
+  /**
+   * Spliterator over the items of connection pages, fetches the next page when the current one is consumed.
+   *
+   * @since 2026.8.0
+   */
+  protected static class ItemSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    private Connection<T> connection;
+    private Iterator<T> items;
+
+    /**
+     * Creates a new spliterator over the items of the given {@code connection}.
+     *
+     * @param connection
+     *          The connection over which to iterate.
+     */
+    protected ItemSpliterator(Connection<T> connection) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED);
+      this.connection = connection;
+      this.items = connection.getData().iterator();
+    }
+
+    /**
+     * @see java.util.Spliterator#tryAdvance(Consumer)
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      while (!items.hasNext()) {
+        if (connection == null || !connection.hasNext()) {
+          // release the last page, the spliterator is exhausted
+          connection = null;
+          items = Collections.emptyIterator();
+          return false;
+        }
+
+        connection = connection.fetchNextPage();
+        items = connection.getData().iterator();
+      }
+
+      action.accept(items.next());
+      return true;
+    }
+  }
+
+  /**
+   * Iterator over connection pages that fetches up to {@code depth} pages ahead in the background.
+   * <p>
+   * Closing the iterator cancels the background fetches that have not been started yet, the iteration ends afterwards.
+   *
+   * @since 2026.8.0
+   */
+  public static class PrefetchingItr<T> implements ConnectionIterator<T>, AutoCloseable {
+    private final int depth;
+    private final Executor executor;
+    private final Deque<CompletableFuture<Connection<T>>> prefetchedPages = new ArrayDeque<>();
+    private Connection<T> connection;
+    private boolean initialPage = true;
+    private boolean closed;
+    private long fetchedCount;
+
+    /**
+     * Creates a new prefetching iterator over the given {@code connection}.
+     *
+     * @param connection
+     *          The connection over which to iterate.
+     * @param depth
+     *          The number of pages to fetch ahead.
+     * @param executor
+     *          The executor used for the background fetches.
+     */
+    protected PrefetchingItr(Connection<T> connection, int depth, Executor executor) {
+      if (depth < 1) {
+        throw new IllegalArgumentException("The prefetch depth must be at least 1, but was " + depth);
+      }
+      if (executor == null) {
+        throw new IllegalArgumentException("The executor must not be null");
+      }
+      this.connection = connection;
+      this.depth = depth;
+      this.executor = executor;
+    }
+
+    /**
+     * @see java.util.Iterator#hasNext()
+     */
+    @Override
+    public boolean hasNext() {
+      if (closed) {
+        return false;
+      }
+
+      // Special case: initial page will always have data
+      return initialPage || connection.hasNext();
+    }
+
+    /**
+     * @see java.util.Iterator#next()
+     */
+    @Override
+    public List<T> next() {
+      if (closed) {
+        throw new NoSuchElementException("The iterator is closed.");
+      }
+
+      if (initialPage) {
+        initialPage = false;
+        prefetch();
+        fetchedCount += connection.getData().size();
+        return connection.getData();
+      }
+
+      if (!connection.hasNext()) {
+        throw new NoSuchElementException("There are no more pages in the connection.");
+      }
+
+      prefetch();
+      CompletableFuture<Connection<T>> nextPage = prefetchedPages.poll();
+
+      try {
+        connection = nextPage.join();
+      } catch (CompletionException e) {
+        // the following pages depend on the failed one, drop them so a later call starts over
+        cancelPrefetchedPages();
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw e;
+      }
+
+      prefetch();
+      fetchedCount += connection.getData().size();
+      return connection.getData();
+    }
+
+    /**
+     * Chains background fetches until {@code depth} pages are requested ahead of the current one. Each fetch uses the
+     * next page URL of its predecessor, pages after the last one resolve to {@code null}.
+     */
+    private void prefetch() {
+      if (!connection.hasNext()) {
+        return;
+      }
+
+      CompletableFuture<Connection<T>> lastPage =
+          Optional.ofNullable(prefetchedPages.peekLast()).orElseGet(() -> CompletableFuture.completedFuture(connection));
+
+      while (prefetchedPages.size() < depth) {
+        lastPage = lastPage.thenApplyAsync(page -> page != null && page.hasNext() ? page.fetchNextPage() : null,
+          executor);
+        prefetchedPages.add(lastPage);
+      }
+    }
+
+    /**
+     * Cancels the pending background fetches and ends the iteration. A fetch that is already running is not
+     * interrupted, but its result is dropped. {@link #snapshot()} and {@link #checkpoint()} still return the page
+     * returned last, so the iteration can be resumed later.
+     */
+    @Override
+    public void close() {
+      closed = true;
+      cancelPrefetchedPages();
+    }
+
+    private void cancelPrefetchedPages() {
+      // cancel the last page first, so a completing predecessor doesn't trigger its fetch
+      while (!prefetchedPages.isEmpty()) {
+        prefetchedPages.pollLast().cancel(false);
+      }
+    }
+
+    /**
+     * @see java.util.Iterator#remove()
+     */
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException(
+        PrefetchingItr.class.getSimpleName() + " doesn't support the remove() operation.");
+    }
+
+    /**
+     * @see ConnectionIterator#snapshot()
+     */
+    @Override
+    public Connection<T> snapshot() {
+      return connection;
+    }
+
+    /**
+     * @see ConnectionIterator#checkpoint()
+     */
+    @Override
+    public ConnectionCheckpoint checkpoint() {
+      if (initialPage) {
+        throw new IllegalStateException("No page has been returned yet, there is nothing to resume from.");
+      }
+      return ConnectionCheckpoint.of(connection, fetchedCount);
+    }
   }
 
   /**
@@ -214,7 +554,9 @@ public class Connection<T> implements Iterable<List<T>> {
    * @since 1.6.7
    */
   protected Connection<T> fetchNextPage() {
-    return facebookClient.fetchConnectionPage(getNextPageUrl(), connectionType);
+    Connection<T> nextPage = facebookClient.fetchConnectionPage(getNextPageUrl(), connectionType, requestPriority);
+    nextPage.setRequestPriority(requestPriority);
+    return nextPage;
   }
 
   @Override
@@ -388,4 +730,23 @@ public class Connection<T> implements Iterable<List<T>> {
   public FacebookClient getFacebookClient() {
     return facebookClient;
   }
+
+  /**
+   * Returns the priority the pages of this connection are fetched with.
+   *
+   * @return the priority set with {@link Parameter#withPriority(RequestPriority)} when the connection was fetched,
+   *         {@code null} if there is none
+   * @since 2026.8.0
+   */
+  public RequestPriority getRequestPriority() {
+    return requestPriority;
+  }
+
+  void setRequestPriority(RequestPriority requestPriority) {
+    this.requestPriority = requestPriority;
+  }
+
+  Class<T> getConnectionType() {
+    return connectionType;
+  }
 }
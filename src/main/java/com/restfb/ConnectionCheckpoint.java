@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static com.restfb.util.StringUtils.isBlank;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Serializable position of a {@link ConnectionIterator}, used to resume a long-running connection crawl after a
+ * restart without fetching the already processed pages again.
+ * <p>
+ * A checkpoint is exported with {@link ConnectionIterator#checkpoint()} after a page was processed and points to the
+ * page that follows it. {@link #resume(FacebookClient, Class)} fetches that page with
+ * {@link FacebookClient#fetchConnectionPage(String, Class)} and continues the iteration.
+ * <p>
+ * <strong>Note:</strong> the next page URL is created by Facebook and may contain the access token, so a persisted
+ * checkpoint has to be stored as carefully as the token itself.
+ *
+ * @since 2026.8.0
+ */
+public final class ConnectionCheckpoint implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String nextPageUrl;
+
+  private final String connectionTypeName;
+
+  private final long fetchedCount;
+
+  /**
+   * Creates a checkpoint.
+   *
+   * @param nextPageUrl
+   *          the URL of the next page, {@code null} if all pages are processed
+   * @param connectionTypeName
+   *          the class name of the connection type
+   * @param fetchedCount
+   *          the number of items processed so far
+   */
+  public ConnectionCheckpoint(String nextPageUrl, String connectionTypeName, long fetchedCount) {
+    verifyParameterPresence("connectionTypeName", connectionTypeName);
+    this.nextPageUrl = nextPageUrl;
+    this.connectionTypeName = connectionTypeName;
+    this.fetchedCount = fetchedCount;
+  }
+
+  static ConnectionCheckpoint of(Connection<?> connection, long fetchedCount) {
+    String nextPageUrl = connection.hasNext() ? connection.getNextPageUrl() : null;
+    return new ConnectionCheckpoint(nextPageUrl, connection.getConnectionType().getName(), fetchedCount);
+  }
+
+  /**
+   * Fetches the page this checkpoint points to and returns an iterator that starts with this page.
+   * <p>
+   * The returned iterator continues the {@link #getFetchedCount() fetched count} of this checkpoint, so checkpoints
+   * exported by it count all items of the crawl.
+   *
+   * @param facebookClient
+   *          the client used to fetch the pages
+   * @param connectionType
+   *          Connection type token, must be the type the checkpoint was created with
+   * @param <T>
+   *          the connection type
+   * @return the iterator over the remaining pages
+   * @throws IllegalArgumentException
+   *           If the connection type doesn't match the type of the checkpoint.
+   * @throws IllegalStateException
+   *           If the crawl is already complete.
+   */
+  public <T> ConnectionIterator<T> resume(FacebookClient facebookClient, Class<T> connectionType) {
+    return new Connection.Itr<>(fetchNextPage(facebookClient, connectionType), fetchedCount);
+  }
+
+  /**
+   * Fetches the page this checkpoint points to.
+   *
+   * @param facebookClient
+   *          the client used to fetch the page
+   * @param connectionType
+   *          Connection type token, must be the type the checkpoint was created with
+   * @param <T>
+   *          the connection type
+   * @return the next page of the connection
+   * @throws IllegalArgumentException
+   *           If the connection type doesn't match the type of the checkpoint.
+   * @throws IllegalStateException
+   *           If the crawl is already complete.
+   */
+  public <T> Connection<T> fetchNextPage(FacebookClient facebookClient, Class<T> connectionType) {
+    verifyParameterPresence("facebookClient", facebookClient);
+    verifyParameterPresence("connectionType", connectionType);
+
+    if (!connectionTypeName.equals(connectionType.getName())) {
+      throw new IllegalArgumentException("The checkpoint was created for connection type " + connectionTypeName
+          + " and cannot be resumed with " + connectionType.getName());
+    }
+
+    if (isComplete()) {
+      throw new IllegalStateException("The connection has no more pages, the crawl is already complete");
+    }
+
+    return facebookClient.fetchConnectionPage(nextPageUrl, connectionType);
+  }
+
+  /**
+   * @return {@code true} if all pages of the connection are processed, {@code false} otherwise
+   */
+  public boolean isComplete() {
+    return isBlank(nextPageUrl);
+  }
+
+  /**
+   * @return the URL of the next page, {@code null} if all pages are processed
+   */
+  public String getNextPageUrl() {
+    return nextPageUrl;
+  }
+
+  /**
+   * @return the class name of the connection type
+   */
+  public String getConnectionTypeName() {
+    return connectionTypeName;
+  }
+
+  /**
+   * @return the number of items processed so far
+   */
+  public long getFetchedCount() {
+    return fetchedCount;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConnectionCheckpoint)) {
+      return false;
+    }
+    ConnectionCheckpoint that = (ConnectionCheckpoint) o;
+    return fetchedCount == that.fetchedCount && Objects.equals(nextPageUrl, that.nextPageUrl)
+        && connectionTypeName.equals(that.connectionTypeName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(nextPageUrl, connectionTypeName, fetchedCount);
+  }
+
+  @Override
+  public String toString() {
+    // the next page URL is left out on purpose, it may contain the access token
+    return "ConnectionCheckpoint[connectionType=" + connectionTypeName + ", fetchedCount=" + fetchedCount
+        + ", complete=" + isComplete() + "]";
+  }
+}
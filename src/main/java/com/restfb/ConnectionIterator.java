@@ -33,4 +33,19 @@ public interface ConnectionIterator<T> extends Iterator<List<T>> {
    */
   Connection<T> snapshot();
 
+  /**
+   * exports the position of this iterator after the page returned last, so the iteration can be resumed later with
+   * {@link ConnectionCheckpoint#resume(FacebookClient, Class)}.
+   *
+   * @return the checkpoint of the current iteration step
+   * @throws IllegalStateException
+   *           If no page has been returned yet.
+   * @throws UnsupportedOperationException
+   *           If the iterator doesn't support checkpoints.
+   * @since 2026.8.0
+   */
+  default ConnectionCheckpoint checkpoint() {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " doesn't support checkpoints.");
+  }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} over the items of a connection and all following pages.
+ * <p>
+ * Every subscriber starts with the connection the publisher was created with. The next page is fetched with
+ * {@link FacebookClient#fetchConnectionPage(String, Class)} only when the items of the current page are emitted and
+ * the subscriber still has outstanding demand. All signals to a subscriber are delivered on the given executor. If the
+ * executor rejects the drain task, the subscriber receives the {@link RejectedExecutionException} through
+ * {@code onError} on the calling thread.
+ *
+ * @param <T>
+ *          The Facebook type
+ * @since 2026.8.0
+ */
+final class ConnectionPublisher<T> implements Flow.Publisher<T> {
+
+  private final Connection<T> connection;
+
+  private final Executor executor;
+
+  ConnectionPublisher(Connection<T> connection, Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("The executor must not be null");
+    }
+    this.connection = connection;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("The subscriber must not be null");
+    }
+
+    ConnectionSubscription<T> subscription = new ConnectionSubscription<>(connection, subscriber, executor);
+    subscriber.onSubscribe(subscription);
+  }
+
+  private static final class ConnectionSubscription<T> implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> subscriber;
+
+    private final Executor executor;
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicInteger workInProgress = new AtomicInteger();
+
+    private volatile boolean cancelled;
+
+    private volatile Throwable invalidRequest;
+
+    // only accessed by the owner of workInProgress, the drain loop never runs concurrently
+    private Connection<T> page;
+
+    private Iterator<T> items;
+
+    private boolean done;
+
+    ConnectionSubscription(Connection<T> connection, Flow.Subscriber<? super T> subscriber, Executor executor) {
+      this.subscriber = subscriber;
+      this.executor = executor;
+      this.page = connection;
+      this.items = connection.getData().iterator();
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("The number of requested items must be positive, but was " + n);
+      } else {
+        requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    private void drain() {
+      if (workInProgress.getAndIncrement() == 0) {
+        try {
+          executor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+          // no drain loop runs, this thread owns the state until the counter is reset
+          if (!done) {
+            terminate();
+            subscriber.onError(e);
+          }
+          workInProgress.set(0);
+        }
+      }
+    }
+
+    private void drainLoop() {
+      int missed = 1;
+
+      while (true) {
+        if (!done) {
+          emit();
+        }
+
+        missed = workInProgress.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    private void emit() {
+      long demand = requested.get();
+      long emitted = 0;
+
+      try {
+        while (true) {
+          if (cancelled) {
+            terminate();
+            return;
+          }
+
+          if (invalidRequest != null) {
+            terminate();
+            subscriber.onError(invalidRequest);
+            return;
+          }
+
+          if (!items.hasNext() && !page.hasNext()) {
+            terminate();
+            subscriber.onComplete();
+            return;
+          }
+
+          if (emitted == demand) {
+            break;
+          }
+
+          if (!items.hasNext()) {
+            page = page.fetchNextPage();
+            items = page.getData().iterator();
+            continue;
+          }
+
+          subscriber.onNext(items.next());
+          emitted++;
+        }
+      } catch (RuntimeException e) {
+        terminate();
+        subscriber.onError(e);
+        return;
+      }
+
+      if (demand != Long.MAX_VALUE) {
+        requested.addAndGet(-emitted);
+      }
+    }
+
+    private void terminate() {
+      done = true;
+      page = null;
+      items = Collections.emptyIterator();
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static java.util.Arrays.asList;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookJsonMappingException;
+import com.restfb.json.ParseException;
+
+/**
+ * Default implementation of the {@link AsyncFacebookClient}.
+ * <p>
+ * The client is a thin non-blocking facade over a {@link DefaultFacebookClient}: requests are built, checked and mapped
+ * by the wrapped client, only the HTTP call itself uses the asynchronous methods of its {@link WebRequestor}. With the
+ * {@link DefaultWebRequestor} no thread is blocked while a request is in flight.
+ * 
+ * @since 2026.8.0
+ */
+public class DefaultAsyncFacebookClient implements AsyncFacebookClient {
+
+  private final DefaultFacebookClient facebookClient;
+
+  /**
+   * Creates a non-blocking Facebook Graph API client with the given {@code accessToken}.
+   * 
+   * @param accessToken
+   *          A Facebook OAuth access token.
+   * @param apiVersion
+   *          Version of the api endpoint
+   */
+  public DefaultAsyncFacebookClient(String accessToken, Version apiVersion) {
+    this(new DefaultFacebookClient(accessToken, apiVersion));
+  }
+
+  /**
+   * Creates a non-blocking Facebook Graph API client that shares the configuration of the given client.
+   * 
+   * @param facebookClient
+   *          the client used to build requests and map responses
+   * @throws NullPointerException
+   *           If {@code facebookClient} is {@code null}.
+   */
+  public DefaultAsyncFacebookClient(DefaultFacebookClient facebookClient) {
+    verifyParameterPresence("facebookClient", facebookClient);
+    this.facebookClient = facebookClient;
+  }
+
+  @Override
+  public <T> CompletableFuture<T> fetchObject(String object, Class<T> objectType, Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence("object", object);
+      verifyParameterPresence("objectType", objectType);
+      return facebookClient.makeRequestWithMetadataAsync(object, false, false, null, null, parameters)
+        .thenApply(result -> toJavaObject(result, objectType));
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<T> fetchObjects(List<String> ids, Class<T> objectType, Parameter... parameters) {
+    return completeOnException(() -> {
+      Parameter[] parametersWithIds = facebookClient.parametersWithIds(ids, parameters);
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION_TYPE, objectType);
+      return facebookClient.makeRequestWithMetadataAsync("", false, false, null, null, parametersWithIds)
+        .thenApply(result -> {
+          try {
+            return toJavaObject(result, objectType);
+          } catch (ParseException e) {
+            throw new FacebookJsonMappingException("Unable to map connection JSON to Java objects", e);
+          }
+        });
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<Connection<T>> fetchConnection(String connection, Class<T> connectionType,
+      Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION, connection);
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION_TYPE, connectionType);
+      return facebookClient.makeRequestWithMetadataAsync(connection, false, false, null, null, parameters)
+        .thenApply(result -> facebookClient.toConnection(result, connectionType,
+          DefaultFacebookClient.extractPriority(parameters)));
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<T> publish(String connection, Class<T> objectType, Parameter... parameters) {
+    return publish(connection, objectType, (List<BinaryAttachment>) null, parameters);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> publish(String connection, Class<T> objectType,
+      List<BinaryAttachment> binaryAttachments, Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION, connection);
+      return facebookClient
+        .makeRequestWithMetadataAsync(connection, true, false, binaryAttachments, null, parameters)
+        .thenApply(result -> toJavaObject(result, objectType));
+    });
+  }
+
+  @Override
+  public <T> CompletableFuture<T> publish(String connection, Class<T> objectType, Body body,
+      Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence(DefaultFacebookClient.CONNECTION, connection);
+      return facebookClient.makeRequestWithMetadataAsync(connection, true, false, null, body, parameters)
+        .thenApply(result -> toJavaObject(result, objectType));
+    });
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteObject(String object, Parameter... parameters) {
+    return completeOnException(() -> {
+      verifyParameterPresence("object", object);
+      return facebookClient.makeRequestWithMetadataAsync(object, true, true, null, null, parameters)
+        .thenApply(result -> facebookClient.toDeleteResult(result.getResponse().getBody()));
+    });
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResponse>> executeBatch(BatchRequest... batchRequests) {
+    return completeOnException(() -> executeBatch(asList(batchRequests), Collections.emptyList()));
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResponse>> executeBatch(List<BatchRequest> batchRequests) {
+    return executeBatch(batchRequests, Collections.emptyList());
+  }
+
+  @Override
+  public CompletableFuture<List<BatchResponse>> executeBatch(List<BatchRequest> batchRequests,
+      List<BinaryAttachment> binaryAttachments) {
+    return completeOnException(() -> {
+      verifyParameterPresence("binaryAttachments", binaryAttachments);
+      Parameter batchParameter = facebookClient.toBatchParameter(batchRequests);
+      return facebookClient.makeRequestWithMetadataAsync("", true, false, binaryAttachments, null, batchParameter)
+        .thenApply(
+          result -> getJsonMapper().toJavaListFromBytes(result.getResponse().getBodyBytes(), BatchResponse.class));
+    });
+  }
+
+  @Override
+  public FacebookClient getFacebookClient() {
+    return facebookClient;
+  }
+
+  /**
+   * Calls the request and completes the returned future exceptionally if checking the arguments or creating the
+   * request throws, so the caller always gets the error through the future.
+   */
+  static <T> CompletableFuture<T> completeOnException(Supplier<CompletableFuture<T>> request) {
+    try {
+      return request.get();
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private JsonMapper getJsonMapper() {
+    return facebookClient.getJsonMapper();
+  }
+
+  private <T> T toJavaObject(DefaultFacebookClient.RequestExecutionResult result, Class<T> objectType) {
+    return getJsonMapper().toJavaObjectFromBytes(result.getResponse().getBodyBytes(), objectType);
+  }
+}
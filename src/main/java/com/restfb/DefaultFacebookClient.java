@@ -35,6 +35,12 @@ import static java.util.Collections.emptyList;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -53,6 +59,7 @@ import com.restfb.json.*;
 import com.restfb.scope.ScopeBuilder;
 import com.restfb.types.DebugTokenInfo;
 import com.restfb.types.DeviceCode;
+import com.restfb.util.ConcurrencyUtils;
 import com.restfb.util.EncodingUtils;
 import com.restfb.util.ObjectUtil;
 import com.restfb.util.StringUtils;
@@ -92,6 +99,31 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
    */
   private FacebookExceptionGenerator graphFacebookExceptionGenerator;
 
+  /**
+   * policy used to retry failed requests, {@code null} if requests are not retried
+   */
+  private RetryPolicy retryPolicy;
+
+  /**
+   * governor used to pace requests based on the usage headers, {@code null} if requests are not paced
+   */
+  private UsageRateGovernor usageRateGovernor;
+
+  /**
+   * limiter used to enforce client-side request limits, {@code null} if requests are not limited
+   */
+  private RequestRateLimiter requestRateLimiter;
+
+  /**
+   * circuit breaker used to fail fast on failing endpoints, {@code null} if requests are always sent
+   */
+  private EndpointCircuitBreaker circuitBreaker;
+
+  /**
+   * cached key of the access token for the usage rate governor and the rate limiter
+   */
+  private volatile AccessTokenKey accessTokenKey;
+
   /**
    * holds the Facebook endpoint urls
    */
@@ -241,6 +273,98 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     return graphFacebookExceptionGenerator;
   }
 
+  /**
+   * set the policy used to retry requests that failed with a network error or a transient Graph API error.
+   * <p>
+   * Requests are not retried by default.
+   *
+   * @param retryPolicy
+   *          the retry policy, {@code null} to disable retries
+   * @since 2026.8.0
+   */
+  public void setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * fetch the policy used to retry failed requests
+   *
+   * @return the current retry policy, {@code null} if requests are not retried
+   * @since 2026.8.0
+   */
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * set the governor used to pace requests based on the usage headers returned by the Graph API.
+   * <p>
+   * Requests are not paced by default.
+   *
+   * @param usageRateGovernor
+   *          the usage rate governor, {@code null} to disable pacing
+   * @since 2026.8.0
+   */
+  public void setUsageRateGovernor(UsageRateGovernor usageRateGovernor) {
+    this.usageRateGovernor = usageRateGovernor;
+  }
+
+  /**
+   * fetch the governor used to pace requests based on the usage headers
+   *
+   * @return the current usage rate governor, {@code null} if requests are not paced
+   * @since 2026.8.0
+   */
+  public UsageRateGovernor getUsageRateGovernor() {
+    return usageRateGovernor;
+  }
+
+  /**
+   * set the limiter used to enforce client-side request limits per access token, page and ad account.
+   * <p>
+   * Requests are not limited by default.
+   *
+   * @param requestRateLimiter
+   *          the request rate limiter, {@code null} to disable client-side limits
+   * @since 2026.8.0
+   */
+  public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+    this.requestRateLimiter = requestRateLimiter;
+  }
+
+  /**
+   * fetch the limiter used to enforce client-side request limits
+   *
+   * @return the current request rate limiter, {@code null} if requests are not limited
+   * @since 2026.8.0
+   */
+  public RequestRateLimiter getRequestRateLimiter() {
+    return requestRateLimiter;
+  }
+
+  /**
+   * set the circuit breaker used to fail fast on endpoints that fail or respond too slowly.
+   * <p>
+   * Network errors and HTTP 5xx responses count as failures. There is no circuit breaker by default.
+   *
+   * @param circuitBreaker
+   *          the circuit breaker, {@code null} to always send requests
+   * @since 2026.8.0
+   */
+  public void setCircuitBreaker(EndpointCircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  /**
+   * fetch the circuit breaker used to fail fast on failing endpoints
+   *
+   * @return the current circuit breaker, {@code null} if requests are always sent
+   * @since 2026.8.0
+   */
+  public EndpointCircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
   @Override
   public boolean deleteObject(String object, Parameter... parameters) {
     return deleteObjectWithResult(object, parameters).getResult();
@@ -251,9 +375,17 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     verifyParameterPresence("object", object);
 
     RequestExecutionResult executionResult = makeRequestWithMetadata(object, true, true, null, parameters);
-    Response response = executionResult.getResponse();
-    String responseString = response.getBody();
+    return toApiResult(toDeleteResult(executionResult.getResponse().getBody()), executionResult);
+  }
 
+  /**
+   * Interprets the different response formats Facebook uses to report a successful deletion.
+   *
+   * @param responseString
+   *          the response body of the delete request
+   * @return {@code true} if the object was deleted
+   */
+  boolean toDeleteResult(String responseString) {
     try {
       JsonValue jObj = Json.parse(responseString);
       boolean success = false;
@@ -267,11 +399,10 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
       } else {
         success = jObj.asBoolean();
       }
-      return toApiResult(success, executionResult);
+      return success;
     } catch (ParseException jex) {
       CLIENT_LOGGER.trace("no valid JSON returned while deleting a object, using returned String instead", jex);
-      boolean fallbackResult = "true".equals(responseString);
-      return toApiResult(fallbackResult, executionResult);
+      return "true".equals(responseString);
     }
   }
 
@@ -282,11 +413,15 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
   public <T> Connection<T> fetchConnection(String connection, Class<T> connectionType, Parameter... parameters) {
     verifyParameterPresence(CONNECTION, connection);
     verifyParameterPresence(CONNECTION_TYPE, connectionType);
-    RequestExecutionResult executionResult = makeRequestWithMetadata(connection, parameters);
-    Response response = executionResult.getResponse();
-    Connection<T> connectionResult = createConnection(response.getBody(), connectionType);
-    connectionResult.setResponseMetadata(toResponseMetadata(executionResult));
-    return connectionResult;
+    return toConnection(makeRequestWithMetadata(connection, parameters), connectionType, extractPriority(parameters));
+  }
+
+  <T> Connection<T> toConnection(RequestExecutionResult executionResult, Class<T> connectionType,
+      RequestPriority priority) {
+    Connection<T> connection = createConnection(executionResult.getResponse().getBody(), connectionType);
+    connection.setResponseMetadata(toResponseMetadata(executionResult));
+    connection.setRequestPriority(priority);
+    return connection;
   }
 
   /**
@@ -294,17 +429,22 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
    */
   @Override
   public <T> Connection<T> fetchConnectionPage(final String connectionPageUrl, Class<T> connectionType) {
+    return fetchConnectionPage(connectionPageUrl, connectionType, null);
+  }
+
+  /**
+   * @see com.restfb.FacebookClient#fetchConnectionPage(java.lang.String, java.lang.Class, com.restfb.RequestPriority)
+   */
+  @Override
+  public <T> Connection<T> fetchConnectionPage(final String connectionPageUrl, Class<T> connectionType,
+      RequestPriority priority) {
     verifyParameterPresence("connectionPageUrl", connectionPageUrl);
     verifyParameterPresence(CONNECTION_TYPE, connectionType);
 
-    RequestExecutionResult executionResult = fetchConnectionPageResponse(connectionPageUrl);
-    String connectionJson = executionResult.getResponse().getBody();
-    Connection<T> connection = createConnection(connectionJson, connectionType);
-    connection.setResponseMetadata(toResponseMetadata(executionResult));
-    return connection;
+    return toConnection(fetchConnectionPageResponse(connectionPageUrl, priority), connectionType, priority);
   }
 
-  private RequestExecutionResult fetchConnectionPageResponse(String connectionPageUrl) {
+  private RequestExecutionResult fetchConnectionPageResponse(String connectionPageUrl, RequestPriority priority) {
     WebRequestor.Request request;
     if (!isBlank(accessToken) && !isBlank(appSecret)) {
       if (isAppSecretProofWithTime()) {
@@ -320,6 +460,7 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     } else {
       request = new WebRequestor.Request(connectionPageUrl, getHeaderAccessToken());
     }
+    request.setPriority(priority);
 
     return executeGetRequestWithInfo(request);
   }
@@ -337,7 +478,7 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     verifyParameterPresence("object", object);
     verifyParameterPresence("objectType", objectType);
     RequestExecutionResult executionResult = makeRequestWithMetadata(object, parameters);
-    T mapped = jsonMapper.toJavaObject(executionResult.getResponse().getBody(), objectType);
+    T mapped = jsonMapper.toJavaObjectFromBytes(executionResult.getResponse().getBodyBytes(), objectType);
     return toApiResult(mapped, executionResult);
   }
 
@@ -356,8 +497,30 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
 
   @Override
   public <T> ApiResult<T> fetchObjectsWithResult(List<String> ids, Class<T> objectType, Parameter... parameters) {
-    verifyParameterPresence("ids", ids);
+    Parameter[] parametersWithIds = parametersWithIds(ids, parameters);
     verifyParameterPresence(CONNECTION_TYPE, objectType);
+
+    try {
+      RequestExecutionResult executionResult = makeRequestWithMetadata("", parametersWithIds);
+
+      T mapped = jsonMapper.toJavaObjectFromBytes(executionResult.getResponse().getBodyBytes(), objectType);
+      return toApiResult(mapped, executionResult);
+    } catch (ParseException e) {
+      throw new FacebookJsonMappingException("Unable to map connection JSON to Java objects", e);
+    }
+  }
+
+  /**
+   * Validates and normalizes the given {@code ids} and appends them as {@code ids} parameter.
+   *
+   * @param ids
+   *          the object IDs to fetch
+   * @param parameters
+   *          the parameters provided by the caller
+   * @return the parameters including the {@code ids} parameter
+   */
+  Parameter[] parametersWithIds(List<String> ids, Parameter... parameters) {
+    verifyParameterPresence("ids", ids);
     requireNotEmpty(ids, "The list of IDs cannot be empty.");
 
     if (Stream.of(parameters).anyMatch(p -> IDS_PARAM_NAME.equals(p.name))) {
@@ -373,15 +536,7 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
       idArray.add(id.trim());
     }
 
-    try {
-      RequestExecutionResult executionResult = makeRequestWithMetadata("",
-        parametersWithAdditionalParameter(Parameter.with(IDS_PARAM_NAME, idArray.toString()), parameters));
-
-      T mapped = jsonMapper.toJavaObject(executionResult.getResponse().getBody(), objectType);
-      return toApiResult(mapped, executionResult);
-    } catch (ParseException e) {
-      throw new FacebookJsonMappingException("Unable to map connection JSON to Java objects", e);
-    }
+    return parametersWithAdditionalParameter(Parameter.with(IDS_PARAM_NAME, idArray.toString()), parameters);
   }
 
   private void throwIAEonBlankId(String id) {
@@ -390,11 +545,11 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     }
   }
 
-  private <T> ApiResult<T> toApiResult(T result, RequestExecutionResult executionResult) {
+  <T> ApiResult<T> toApiResult(T result, RequestExecutionResult executionResult) {
     return ApiResult.withMetadata(result, toResponseMetadata(executionResult));
   }
 
-  private ResponseMetadata toResponseMetadata(RequestExecutionResult executionResult) {
+  ResponseMetadata toResponseMetadata(RequestExecutionResult executionResult) {
     if (executionResult == null) {
       return null;
     }
@@ -423,7 +578,7 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     verifyParameterPresence(CONNECTION, connection);
     RequestExecutionResult executionResult =
         makeRequestWithMetadata(connection, true, false, binaryAttachments, parameters);
-    T mapped = jsonMapper.toJavaObject(executionResult.getResponse().getBody(), objectType);
+    T mapped = jsonMapper.toJavaObjectFromBytes(executionResult.getResponse().getBodyBytes(), objectType);
     return toApiResult(mapped, executionResult);
   }
 
@@ -468,7 +623,7 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
       Parameter... parameters) {
     verifyParameterPresence(CONNECTION, connection);
     RequestExecutionResult executionResult = makeRequestWithMetadata(connection, true, false, null, body, parameters);
-    T mapped = jsonMapper.toJavaObject(executionResult.getResponse().getBody(), objectType);
+    T mapped = jsonMapper.toJavaObjectFromBytes(executionResult.getResponse().getBodyBytes(), objectType);
     return toApiResult(mapped, executionResult);
   }
 
@@ -508,13 +663,43 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
   @Override
   public List<BatchResponse> executeBatch(List<BatchRequest> batchRequests, List<BinaryAttachment> binaryAttachments) {
     verifyParameterPresence("binaryAttachments", binaryAttachments);
-    requireNotEmpty(batchRequests, "You must specify at least one batch request.");
 
-    return jsonMapper.toJavaList(
-      makeRequest("", true, false, binaryAttachments, Parameter.with("batch", jsonMapper.toJson(batchRequests, true))),
+    return jsonMapper.toJavaList(makeRequest("", true, false, binaryAttachments, toBatchParameter(batchRequests)),
       BatchResponse.class);
   }
 
+  Parameter toBatchParameter(List<BatchRequest> batchRequests) {
+    requireNotEmpty(batchRequests, "You must specify at least one batch request.");
+    return Parameter.with("batch", jsonMapper.toJson(batchRequests, true));
+  }
+
+  /**
+   * Checks a single response of a batch like the response of a direct call and returns its body.
+   *
+   * @param batchResponse
+   *          the response of one batch operation, {@code null} if Facebook returned no response for the operation
+   * @return the body of the response
+   * @throws FacebookException
+   *           If the response contains an error or has no successful status code.
+   */
+  String toBatchResponseBody(BatchResponse batchResponse) {
+    if (batchResponse == null) {
+      throw new FacebookResponseContentException("The batch contains no response for this request", null);
+    }
+
+    Integer statusCode = batchResponse.getCode();
+    if (batchResponse.getBody() != null) {
+      getFacebookExceptionGenerator().throwFacebookResponseStatusExceptionIfNecessary(batchResponse.getBody(),
+        statusCode);
+    }
+
+    if (statusCode == null || statusCode < HTTP_OK || statusCode >= HTTP_MULT_CHOICE) {
+      throw new FacebookNetworkException(statusCode);
+    }
+
+    return batchResponse.getBody();
+  }
+
   /**
    * @see com.restfb.FacebookClient#convertSessionKeysToAccessTokens(java.lang.String, java.lang.String,
    *      java.lang.String[])
@@ -895,8 +1080,240 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
   protected RequestExecutionResult makeRequestWithMetadata(String endpoint, final boolean executeAsPost,
       final boolean executeAsDelete, final List<BinaryAttachment> binaryAttachments, Body body,
       Parameter... parameters) {
+    WebRequestor.Request request = createRequest(endpoint, executeAsDelete, binaryAttachments, body, parameters);
+
+    String httpMethod;
+    Requestor requestor;
+
+    if (executeAsDelete && !isHttpDeleteFallback()) {
+      httpMethod = "DELETE";
+      requestor = () -> webRequestor.executeDelete(request);
+    } else if (executeAsPost) {
+      httpMethod = "POST";
+      requestor = () -> webRequestor.executePost(request);
+    } else {
+      httpMethod = "GET";
+      requestor = () -> webRequestor.executeGet(request);
+    }
+
+    long requestStartTime = System.currentTimeMillis();
+    try {
+      return executeRequestWithMetadata(httpMethod, request.getFullUrl(), requestor);
+    } catch (FacebookException facebookException) {
+      facebookException.withInfoData(httpMethod, request.getUrl(), request.getParameters(),
+        request.getHeaderAccessToken(), requestStartTime);
+      throw facebookException;
+    }
+  }
+
+  /**
+   * Non-blocking variant of
+   * {@link #makeRequestWithMetadata(String, boolean, boolean, List, Body, Parameter...)}.
+   * <p>
+   * The request is sent with the asynchronous methods of the {@link WebRequestor} and the response is checked exactly
+   * like a blocking response, so the returned future completes exceptionally with the same {@link FacebookException}
+   * the blocking call would throw.
+   *
+   * @param endpoint
+   *          Facebook Graph API endpoint.
+   * @param executeAsPost
+   *          {@code true} to execute the web request as a {@code POST}, {@code false} to execute as a {@code GET}.
+   * @param executeAsDelete
+   *          {@code true} to add a special 'treat this request as a {@code DELETE}' parameter.
+   * @param binaryAttachments
+   *          A list of binary files to include in a {@code POST} request. Pass {@code null} if no attachment should be
+   *          sent.
+   * @param body
+   *          Optional body used for POST requests.
+   * @param parameters
+   *          Arbitrary number of parameters to send along to Facebook as part of the API call.
+   * @return future that completes with the raw response returned by Facebook for the API call.
+   * @since 2026.8.0
+   */
+  protected CompletableFuture<RequestExecutionResult> makeRequestWithMetadataAsync(String endpoint,
+      final boolean executeAsPost, final boolean executeAsDelete, final List<BinaryAttachment> binaryAttachments,
+      Body body, Parameter... parameters) {
+    WebRequestor.Request request = createRequest(endpoint, executeAsDelete, binaryAttachments, body, parameters);
+
+    String httpMethod;
+    Supplier<CompletableFuture<Response>> requestor;
+
+    if (executeAsDelete && !isHttpDeleteFallback()) {
+      httpMethod = "DELETE";
+      requestor = () -> webRequestor.executeDeleteAsync(request);
+    } else if (executeAsPost) {
+      httpMethod = "POST";
+      requestor = () -> webRequestor.executePostAsync(request);
+    } else {
+      httpMethod = "GET";
+      requestor = () -> webRequestor.executeGetAsync(request);
+    }
+
+    long requestStartTime = System.currentTimeMillis();
+
+    return executeRequestWithMetadataAsync(httpMethod, request.getFullUrl(), requestor, System.nanoTime(), 1)
+      .handle((result, throwable) -> {
+        if (throwable == null) {
+          return result;
+        }
+        Throwable cause = unwrapCompletionException(throwable);
+        if (cause instanceof FacebookException) {
+          ((FacebookException) cause).withInfoData(httpMethod, request.getUrl(), request.getParameters(),
+            request.getHeaderAccessToken(), requestStartTime);
+        }
+        throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+      });
+  }
+
+  /**
+   * Sends the request asynchronously and retries it according to the {@link RetryPolicy}. The backoff doesn't block a
+   * thread.
+   */
+  private CompletableFuture<RequestExecutionResult> executeRequestWithMetadataAsync(String httpMethod,
+      String requestUrl, Supplier<CompletableFuture<Response>> requestor, long retryStart, int attempt) {
+    long start = System.nanoTime();
+
+    CompletableFuture<Response> responseFuture;
+    try {
+      responseFuture = sendGovernedRequestAsync(requestUrl, requestor);
+    } catch (Exception e) {
+      responseFuture = CompletableFuture.failedFuture(e);
+    }
+
+    return responseFuture.handle((response, throwable) -> {
+      try {
+        if (throwable != null) {
+          Throwable cause = unwrapCompletionException(throwable);
+          throw isRejectedBeforeSending(cause) ? (FacebookException) cause : toFacebookNetworkException(cause);
+        }
+        return CompletableFuture.completedFuture(toRequestExecutionResult(httpMethod, requestUrl, response, start));
+      } catch (FacebookException facebookException) {
+        RetryPolicy policy = retryPolicy;
+        if (!isRetryable(policy, httpMethod, facebookException)) {
+          return CompletableFuture.<RequestExecutionResult> failedFuture(facebookException);
+        }
+
+        Duration backoff = policy.backoff(attempt);
+        if (!policy.canRetry(attempt, retryStart, backoff)) {
+          return CompletableFuture.<RequestExecutionResult> failedFuture(facebookException);
+        }
+
+        logRetry(httpMethod, requestUrl, attempt, backoff, facebookException);
+        Executor delayedExecutor = CompletableFuture.delayedExecutor(backoff.toNanos(), TimeUnit.NANOSECONDS,
+          ConcurrencyUtils.defaultExecutor());
+        return CompletableFuture.supplyAsync(() -> attempt + 1, delayedExecutor).thenCompose(
+          nextAttempt -> executeRequestWithMetadataAsync(httpMethod, requestUrl, requestor, retryStart, nextAttempt));
+      }
+    }).thenCompose(Function.identity());
+  }
+
+  /**
+   * Sends the request once the {@link UsageRateGovernor} and the {@link RequestRateLimiter} allow it and records the
+   * usage headers of the response. The delay doesn't block a thread.
+   */
+  private CompletableFuture<Response> sendGovernedRequestAsync(String requestUrl,
+      Supplier<CompletableFuture<Response>> requestor) {
+    UsageRateGovernor governor = usageRateGovernor;
+    Duration delay = requestDelay(governor, requestUrl);
+    CompletableFuture<Response> responseFuture;
+    if (delay.isZero()) {
+      responseFuture = sendProtectedRequestAsync(requestUrl, requestor);
+    } else {
+      logRequestDelay(requestUrl, delay);
+      Executor delayedExecutor =
+          CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, ConcurrencyUtils.defaultExecutor());
+      responseFuture = CompletableFuture.runAsync(() -> {}, delayedExecutor)
+        .thenCompose(ignored -> sendProtectedRequestAsync(requestUrl, requestor));
+    }
+
+    if (governor == null) {
+      return responseFuture;
+    }
+    return responseFuture.thenApply(response -> {
+      governor.record(accessTokenKey(), requestUrl, response.getDebugHeaderInfo());
+      return response;
+    });
+  }
+
+  /**
+   * Sends the request if the {@link EndpointCircuitBreaker} allows it and records the outcome.
+   */
+  private CompletableFuture<Response> sendProtectedRequestAsync(String requestUrl,
+      Supplier<CompletableFuture<Response>> requestor) {
+    EndpointCircuitBreaker breaker = circuitBreaker;
+    if (breaker == null) {
+      return requestor.get();
+    }
+
+    breaker.acquire(requestUrl);
+    long start = System.nanoTime();
+    CompletableFuture<Response> responseFuture;
+    try {
+      responseFuture = requestor.get();
+    } catch (RuntimeException e) {
+      responseFuture = CompletableFuture.failedFuture(e);
+    }
+    return responseFuture
+      .whenComplete((response, throwable) -> recordCircuitBreakerOutcome(breaker, requestUrl, start, response));
+  }
+
+  /**
+   * Network errors ({@code response} is {@code null}) and HTTP 5xx responses count as failures.
+   */
+  private static void recordCircuitBreakerOutcome(EndpointCircuitBreaker breaker, String requestUrl, long start,
+      Response response) {
+    boolean failed =
+        response == null || response.getStatusCode() == null || response.getStatusCode() >= HTTP_INTERNAL_ERROR;
+    breaker.record(requestUrl, Duration.ofNanos(System.nanoTime() - start), failed);
+  }
+
+  /**
+   * Checks if the exception signals that a client-side limit rejected the request before it was sent.
+   */
+  private static boolean isRejectedBeforeSending(Throwable throwable) {
+    return throwable instanceof FacebookRateLimitException
+        || throwable instanceof FacebookCircuitBreakerOpenException;
+  }
+
+  /**
+   * Returns the time the request has to wait for the {@link UsageRateGovernor} and the {@link RequestRateLimiter}. The
+   * governor is asked first, so a request it rejects doesn't consume a permit of the limiter.
+   */
+  private Duration requestDelay(UsageRateGovernor governor, String requestUrl) {
+    Duration delay = governor == null ? Duration.ZERO : governor.delay(accessTokenKey(), requestUrl);
+
+    RequestRateLimiter limiter = requestRateLimiter;
+    if (limiter != null) {
+      Duration limiterDelay = limiter.acquire(accessTokenKey(), requestUrl);
+      if (limiterDelay.compareTo(delay) > 0) {
+        delay = limiterDelay;
+      }
+    }
+    return delay;
+  }
+
+  /**
+   * Returns the key of the access token, it is only computed again if the access token changed.
+   */
+  private AccessTokenKey accessTokenKey() {
+    AccessTokenKey key = accessTokenKey;
+    if (key == null || !key.isKeyOf(accessToken)) {
+      key = AccessTokenKey.of(accessToken);
+      accessTokenKey = key;
+    }
+    return key;
+  }
+
+  private WebRequestor.Request createRequest(String endpoint, boolean executeAsDelete,
+      List<BinaryAttachment> binaryAttachments, Body body, Parameter... parameters) {
     verifyParameterLegality(parameters);
 
+    Duration timeout = extractTimeout(parameters);
+    RequestPriority priority = extractPriority(parameters);
+    if (timeout != null || priority != null) {
+      parameters = withoutClientParameters(parameters);
+    }
+
     if (executeAsDelete && isHttpDeleteFallback()) {
       parameters = parametersWithAdditionalParameter(Parameter.with(METHOD_PARAM_NAME, "delete"), parameters);
     }
@@ -916,29 +1333,35 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     WebRequestor.Request request = new WebRequestor.Request(fullEndpoint, headerAccessToken, parameterString);
     request.setBinaryAttachments(binaryAttachments);
     request.setBody(body);
+    request.setTimeout(timeout);
+    request.setPriority(priority);
+    return request;
+  }
 
-    String httpMethod;
-    Requestor requestor;
+  /**
+   * Returns the timeout set with {@link Parameter#withTimeout(Duration)}, {@code null} if there is none.
+   */
+  private static Duration extractTimeout(Parameter... parameters) {
+    return Stream.of(parameters).filter(parameter -> Parameter.TIMEOUT_PARAM_NAME.equals(parameter.name))
+      .map(parameter -> Duration.ofMillis(Math.max(1, Long.parseLong(parameter.value))))
+      .reduce((first, second) -> second).orElse(null);
+  }
 
-    if (executeAsDelete && !isHttpDeleteFallback()) {
-      httpMethod = "DELETE";
-      requestor = () -> webRequestor.executeDelete(request);
-    } else if (executeAsPost) {
-      httpMethod = "POST";
-      requestor = () -> webRequestor.executePost(request);
-    } else {
-      httpMethod = "GET";
-      requestor = () -> webRequestor.executeGet(request);
-    }
+  /**
+   * Removes the parameters that only configure the client, like {@link Parameter#withTimeout(Duration)} and
+   * {@link Parameter#withPriority(RequestPriority)}, so they are not sent to Facebook.
+   */
+  static Parameter[] withoutClientParameters(Parameter... parameters) {
+    return Stream.of(parameters).filter(parameter -> !Parameter.TIMEOUT_PARAM_NAME.equals(parameter.name)
+        && !Parameter.PRIORITY_PARAM_NAME.equals(parameter.name)).toArray(Parameter[]::new);
+  }
 
-    long requestStartTime = System.currentTimeMillis();
-    try {
-      return executeRequestWithMetadata(httpMethod, request.getFullUrl(), requestor);
-    } catch (FacebookException facebookException) {
-      facebookException.withInfoData(httpMethod, request.getUrl(), parameterString, headerAccessToken,
-        requestStartTime);
-      throw facebookException;
-    }
+  /**
+   * Returns the priority set with {@link Parameter#withPriority(RequestPriority)}, {@code null} if there is none.
+   */
+  static RequestPriority extractPriority(Parameter... parameters) {
+    return Stream.of(parameters).filter(parameter -> Parameter.PRIORITY_PARAM_NAME.equals(parameter.name))
+      .map(parameter -> RequestPriority.valueOf(parameter.value)).reduce((first, second) -> second).orElse(null);
   }
 
   protected Response makeRequestForResponse(String endpoint, final boolean executeAsPost,
@@ -1015,26 +1438,147 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     Response makeRequest() throws IOException;
   }
 
+  /**
+   * Executes the request and checks the response. Requests that fail with a retryable error are retried according to
+   * the {@link RetryPolicy} of this client.
+   *
+   * @param httpMethod
+   *          the HTTP method of the request
+   * @param requestUrl
+   *          the URL of the request
+   * @param requestor
+   *          sends the request, called once per attempt
+   * @return the execution result
+   * @throws FacebookException
+   *           If the request failed and cannot be retried (anymore).
+   */
   protected RequestExecutionResult executeRequestWithMetadata(String httpMethod, String requestUrl,
       Requestor requestor) {
+    long retryStart = System.nanoTime();
+    int attempt = 1;
+
+    while (true) {
+      try {
+        return executeRequestOnce(httpMethod, requestUrl, requestor);
+      } catch (FacebookException facebookException) {
+        RetryPolicy policy = retryPolicy;
+        if (!isRetryable(policy, httpMethod, facebookException)) {
+          throw facebookException;
+        }
+
+        Duration backoff = policy.backoff(attempt);
+        if (!policy.canRetry(attempt, retryStart, backoff)) {
+          throw facebookException;
+        }
+
+        logRetry(httpMethod, requestUrl, attempt, backoff, facebookException);
+        try {
+          Thread.sleep(backoff.toMillis(), backoff.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw facebookException;
+        }
+        attempt++;
+      }
+    }
+  }
+
+  private static boolean isRetryable(RetryPolicy policy, String httpMethod, FacebookException facebookException) {
+    return policy != null && policy.isRetryableMethod(httpMethod) && policy.isRetryableException(facebookException);
+  }
+
+  private static void logRetry(String httpMethod, String requestUrl, int attempt, Duration backoff,
+      FacebookException facebookException) {
+    CLIENT_LOGGER.debug("{} request to {} failed in attempt {}, retrying in {} ms: {}", httpMethod, requestUrl,
+      attempt, backoff.toMillis(), facebookException.getMessage());
+  }
+
+  private static void logRequestDelay(String requestUrl, Duration delay) {
+    CLIENT_LOGGER.debug("Rate limit reached, delaying request to {} by {} ms", requestUrl, delay.toMillis());
+  }
+
+  private RequestExecutionResult executeRequestOnce(String httpMethod, String requestUrl, Requestor requestor) {
+    UsageRateGovernor governor = usageRateGovernor;
+    awaitRequestDelay(requestUrl, requestDelay(governor, requestUrl));
+
+    EndpointCircuitBreaker breaker = circuitBreaker;
+    if (breaker != null) {
+      breaker.acquire(requestUrl);
+    }
+
     Response response;
     long start = System.nanoTime();
 
     // Perform a GET or POST to the API endpoint
     try {
       response = requestor.makeRequest();
-    } catch (IOException ioe) {
-      if (ioe.getMessage() != null && ioe.getMessage().contains("RST_STREAM")) {
-        throw new FacebookRstStreamNetworkException(ioe.getMessage(), ioe);
+    } catch (Exception e) {
+      if (breaker != null) {
+        recordCircuitBreakerOutcome(breaker, requestUrl, start, null);
       }
-      if (ioe.getMessage() != null && ioe.getMessage().contains("GOAWAY")) {
-        throw new FacebookGoawayNetworkException(ioe.getMessage(), ioe);
+      throw toFacebookNetworkException(e);
+    }
+
+    if (breaker != null) {
+      recordCircuitBreakerOutcome(breaker, requestUrl, start, response);
+    }
+
+    if (governor != null) {
+      governor.record(accessTokenKey(), requestUrl, response.getDebugHeaderInfo());
+    }
+
+    return toRequestExecutionResult(httpMethod, requestUrl, response, start);
+  }
+
+  private static void awaitRequestDelay(String requestUrl, Duration delay) {
+    if (delay.isZero()) {
+      return;
+    }
+
+    logRequestDelay(requestUrl, delay);
+    try {
+      Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FacebookRateLimitException("Interrupted while waiting for the rate limit", delay);
+    }
+  }
+
+  private FacebookNetworkException toFacebookNetworkException(Throwable t) {
+    if (t instanceof IOException && t.getMessage() != null) {
+      if (t.getMessage().contains("RST_STREAM")) {
+        return new FacebookRstStreamNetworkException(t.getMessage(), t);
       }
-      throw new FacebookNetworkException(ioe);
-    } catch (Exception t) {
-      throw new FacebookNetworkException(t);
+      if (t.getMessage().contains("GOAWAY")) {
+        return new FacebookGoawayNetworkException(t.getMessage(), t);
+      }
+    }
+    return new FacebookNetworkException(t);
+  }
+
+  private Throwable unwrapCompletionException(Throwable t) {
+    Throwable cause = t;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+      cause = cause.getCause();
     }
+    return cause;
+  }
 
+  /**
+   * Checks the response for errors and wraps it into a {@link RequestExecutionResult}.
+   *
+   * @param httpMethod
+   *          the used HTTP method
+   * @param requestUrl
+   *          the full URL of the request
+   * @param response
+   *          the response returned by the {@link WebRequestor}
+   * @param start
+   *          start of the request as returned by {@link System#nanoTime()}
+   * @return the execution result
+   */
+  private RequestExecutionResult toRequestExecutionResult(String httpMethod, String requestUrl, Response response,
+      long start) {
     // If we get any HTTP response code other than a 200 OK or 400 Bad Request
     // or 401 Not Authorized or 403 Forbidden or 404 Not Found or 500 Internal
     // Server Error or 302 Not Modified
@@ -1047,9 +1591,14 @@ public class DefaultFacebookClient extends BaseFacebookClient implements Faceboo
     }
 
     try {
-      // If the response contained an error code, throw an exception.
-      getFacebookExceptionGenerator().throwFacebookResponseStatusExceptionIfNecessary(response.getBody(),
-        response.getStatusCode());
+      // If the response contained an error code, throw an exception. Only the beginning of the body is decoded to find
+      // out if it has to be checked.
+      FacebookExceptionGenerator exceptionGenerator = getFacebookExceptionGenerator();
+      if (exceptionGenerator
+        .mayContainError(response.getBodyPrefix(FacebookExceptionGenerator.ERROR_DETECTION_LENGTH))) {
+        exceptionGenerator.throwFacebookResponseStatusExceptionIfNecessary(response.getBody(),
+          response.getStatusCode());
+      }
     } catch (FacebookErrorMessageException feme) {
       Optional.ofNullable(response).map(Response::getDebugHeaderInfo).ifPresent(feme::setDebugHeaderInfo);
       throw feme;
@@ -30,6 +30,10 @@ import static java.lang.String.format;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableSet;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -37,6 +41,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -49,6 +54,7 @@ import com.restfb.util.DateUtils;
 import com.restfb.util.ObjectUtil;
 import com.restfb.util.ReflectionUtils;
 import com.restfb.util.StringJsonUtils;
+import com.restfb.util.StringUtils;
 
 /**
  * Default implementation of a JSON-to-Java mapper.
@@ -207,6 +213,33 @@ public class DefaultJsonMapper implements JsonMapper {
     }
   }
 
+  /**
+   * Parses a {@link JsonObject} straight from the bytes, without decoding them into a {@code String} first. All other
+   * types are mapped with {@link #toJavaObject(String, Class)}.
+   */
+  @Override
+  public <T> T toJavaObjectFromBytes(byte[] json, Class<T> type) {
+    if (json == null || !JsonObject.class.equals(type) || firstNonWhitespace(json) != '{') {
+      return toJavaObject(json == null ? null : trimToEmpty(StringUtils.toString(json)), type);
+    }
+
+    try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+      return type.cast(Json.parse(reader).asObject());
+    } catch (ParseException | IOException e) {
+      throw new FacebookJsonMappingException(
+        "Unable to parse JSON into JsonObject. Offending JSON is '" + StringUtils.toString(json) + "'.", e);
+    }
+  }
+
+  private static int firstNonWhitespace(byte[] json) {
+    for (byte b : json) {
+      if (!Character.isWhitespace(b)) {
+        return b;
+      }
+    }
+    return -1;
+  }
+
   private <T> T toJavaObject(JsonValue jsonValue, Class<T> type) {
     return toJavaObject(jsonValue, type, null);
   }
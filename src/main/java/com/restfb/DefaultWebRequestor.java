@@ -23,11 +23,13 @@ package com.restfb;
 
 import static com.restfb.logging.RestFBLogger.HTTP_LOGGER;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -35,16 +37,26 @@ import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
 import java.util.*;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import javax.net.ssl.SSLSession;
 
 import com.restfb.request.MultipartFormBodyPublisher;
 import com.restfb.request.TempFileBodyPublisher;
 import com.restfb.types.FacebookReelAttachment;
+import com.restfb.util.ByteArrayPool;
+import com.restfb.util.ConcurrencyUtils;
 import com.restfb.util.StringUtils;
 import com.restfb.util.UrlUtils;
 
@@ -67,6 +79,12 @@ public class DefaultWebRequestor implements WebRequestor {
    */
   private static final int MULTIPART_DEFAULT_BUFFER_SIZE = 8192;
 
+  /**
+   * Scratch buffers for response bodies without {@code Content-Length}, shared by all instances.
+   */
+  private static final ByteArrayPool RESPONSE_BUFFER_POOL =
+      new ByteArrayPool(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 8192, 1024 * 1024);
+
   /**
    * By default, how long should we wait for a response (in ms)?
    */
@@ -74,11 +92,39 @@ public class DefaultWebRequestor implements WebRequestor {
 
   public static final String HEADER_CONTENT_TYPE = "Content-Type";
 
+  private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+  private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+  private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+
+  /**
+   * Content codings that are requested if response compression is enabled and that are decoded.
+   */
+  private static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+  private static final String ENCODING_GZIP = "gzip";
+  private static final String ENCODING_DEFLATE = "deflate";
+  private static final String ENCODING_IDENTITY = "identity";
+
   /**
    * By default, this is true, to prevent breaking existing usage
    */
   private boolean autocloseBinaryAttachmentStream = true;
 
+  /**
+   * timeout of requests that don't set their own timeout
+   */
+  private Duration defaultTimeout = Duration.ofMillis(DEFAULT_READ_TIMEOUT_IN_MS);
+
+  /**
+   * if {@code true}, compressed responses are requested with an {@code Accept-Encoding} header
+   */
+  private boolean responseCompression;
+
+  /**
+   * derives the timeout of {@code GET} requests from the latency of their endpoint, {@code null} if disabled
+   */
+  private AdaptiveTimeout adaptiveTimeout;
+
   private final HttpClient httpClient;
 
   public DefaultWebRequestor() {
@@ -102,7 +148,12 @@ public class DefaultWebRequestor implements WebRequestor {
     return execute(HttpMethod.GET, request);
   }
 
-  private Response executeReelUpload(Request request) throws IOException {
+  @Override
+  public CompletableFuture<Response> executeGetAsync(Request request) {
+    return executeAsync(HttpMethod.GET, request);
+  }
+
+  private PreparedRequest prepareReelUpload(Request request) throws IOException {
     Optional<FacebookReelAttachment> reelOpt = request.getReel();
 
     if (reelOpt.isEmpty()) {
@@ -113,30 +164,30 @@ public class DefaultWebRequestor implements WebRequestor {
 
     logRequestAndAttachmentOnDebug(request, request.getBinaryAttachments());
 
-    TempFileBodyPublisher bodyPublisher = null;
+    PreparedRequest prepared = new PreparedRequest(request.getBinaryAttachments());
 
     try {
       HttpRequest.Builder builder = openConnection(new URL(request.getUrl()));
-      builder.timeout(Duration.ofMillis(DEFAULT_READ_TIMEOUT_IN_MS));
+      builder.timeout(timeoutFor(request, HttpMethod.POST));
       initHeaderAccessToken(builder, request);
+      initAcceptEncoding(builder);
       fillReelHeader(builder, reel);
 
       customizeRequest(builder, request, HttpMethod.POST);
 
       BodyPublisher publisher = BodyPublishers.noBody();
       if (reel.isBinary()) {
-        bodyPublisher = new TempFileBodyPublisher();
+        TempFileBodyPublisher bodyPublisher = prepared.register(new TempFileBodyPublisher());
         try (OutputStream outputStream = bodyPublisher.outputStream()) {
           write(reel.getData(), outputStream, MULTIPART_DEFAULT_BUFFER_SIZE);
         }
         publisher = bodyPublisher.build();
       }
 
-      HttpRequest httpRequest = builder.POST(publisher).build();
-      return sendRequest(httpRequest);
-    } finally {
-      closeAttachmentsOnAutoClose(request.getBinaryAttachments());
-      closeQuietly(bodyPublisher);
+      return prepared.with(builder.POST(publisher).build());
+    } catch (IOException | RuntimeException e) {
+      prepared.close();
+      throw e;
     }
   }
 
@@ -151,28 +202,48 @@ public class DefaultWebRequestor implements WebRequestor {
 
   @Override
   public Response executePost(Request request) throws IOException {
+    try (PreparedRequest prepared = preparePost(request)) {
+      return sendRequest(prepared.getHttpRequest());
+    }
+  }
+
+  @Override
+  public CompletableFuture<Response> executePostAsync(Request request) {
+    PreparedRequest prepared;
+    try {
+      prepared = preparePost(request);
+    } catch (IOException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    return sendRequestAsync(prepared.getHttpRequest()).whenComplete((response, throwable) -> prepared.close());
+  }
+
+  private PreparedRequest preparePost(Request request) throws IOException {
     // special handling for reel upload
     if (request.isReelUpload()) {
-      return executeReelUpload(request);
+      return prepareReelUpload(request);
     }
 
     List<BinaryAttachment> binaryAttachments = request.getBinaryAttachments();
 
     logRequestAndAttachmentOnDebug(request, binaryAttachments);
 
-    MultipartFormBodyPublisher multipartBodyPublisher = null;
+    PreparedRequest prepared = new PreparedRequest(binaryAttachments);
 
     try {
       String url = buildPostUrl(request, binaryAttachments);
       HttpRequest.Builder builder = openConnection(new URL(url));
-      builder.timeout(Duration.ofMillis(DEFAULT_READ_TIMEOUT_IN_MS));
+      builder.timeout(timeoutFor(request, HttpMethod.POST));
 
       initHeaderAccessToken(builder, request);
+      initAcceptEncoding(builder);
 
       BodyPublisher publisher;
       if (!binaryAttachments.isEmpty()) {
         setMultipartRequestProperties(builder);
-        multipartBodyPublisher = new MultipartFormBodyPublisher(MULTIPART_BOUNDARY, MULTIPART_DEFAULT_BUFFER_SIZE);
+        MultipartFormBodyPublisher multipartBodyPublisher =
+            prepared.register(new MultipartFormBodyPublisher(MULTIPART_BOUNDARY));
         multipartBodyPublisher.addAttachments(binaryAttachments);
         publisher = multipartBodyPublisher.build();
       } else {
@@ -188,11 +259,10 @@ public class DefaultWebRequestor implements WebRequestor {
 
       customizeRequest(builder, request, HttpMethod.POST);
 
-      HttpRequest httpRequest = builder.POST(publisher).build();
-      return sendRequest(httpRequest);
-    } finally {
-      closeAttachmentsOnAutoClose(binaryAttachments);
-      closeQuietly(multipartBodyPublisher);
+      return prepared.with(builder.POST(publisher).build());
+    } catch (IOException | RuntimeException e) {
+      prepared.close();
+      throw e;
     }
   }
 
@@ -237,6 +307,12 @@ public class DefaultWebRequestor implements WebRequestor {
     }
   }
 
+  private void initAcceptEncoding(HttpRequest.Builder builder) {
+    if (responseCompression) {
+      builder.header(HEADER_ACCEPT_ENCODING, ACCEPTED_ENCODINGS);
+    }
+  }
+
   /**
    * Given a {@code url}, opens and returns a connection to it.
    * <p>
@@ -260,11 +336,18 @@ public class DefaultWebRequestor implements WebRequestor {
 
   /**
    * Factory for the HTTP client builder used by this requestor.
+   * <p>
+   * In the virtual thread mode (see {@link ConcurrencyUtils#isVirtualThreadModeEnabled()}) the client runs its tasks on
+   * virtual threads.
    *
    * @return pre-configured {@link HttpClient.Builder}
    */
   protected HttpClient.Builder createHttpClientBuilder() {
-    return HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL);
+    HttpClient.Builder builder = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL);
+    if (ConcurrencyUtils.isVirtualThreadModeEnabled()) {
+      builder.executor(ConcurrencyUtils.defaultExecutor());
+    }
+    return builder;
   }
 
   /**
@@ -360,19 +443,153 @@ public class DefaultWebRequestor implements WebRequestor {
     this.autocloseBinaryAttachmentStream = autocloseBinaryAttachmentStream;
   }
 
+  /**
+   * returns the timeout of requests that neither set their own timeout nor use an adaptive timeout
+   *
+   * @since 2026.8.0
+   * @return the default timeout
+   */
+  public Duration getDefaultTimeout() {
+    return defaultTimeout;
+  }
+
+  /**
+   * define the timeout of requests that neither set their own timeout nor use an adaptive timeout, 180 seconds by
+   * default
+   *
+   * @since 2026.8.0
+   * @param defaultTimeout
+   *          the default timeout
+   */
+  public void setDefaultTimeout(Duration defaultTimeout) {
+    if (defaultTimeout == null || defaultTimeout.isNegative() || defaultTimeout.isZero()) {
+      throw new IllegalArgumentException("The default timeout must be positive, but was " + defaultTimeout);
+    }
+    this.defaultTimeout = defaultTimeout;
+  }
+
+  /**
+   * returns if compressed responses are requested
+   *
+   * @since 2026.8.0
+   * @return {@code true} if an {@code Accept-Encoding} header is sent, {@code false} otherwise
+   */
+  public boolean isResponseCompression() {
+    return responseCompression;
+  }
+
+  /**
+   * define if compressed responses are requested with an {@code Accept-Encoding: gzip, deflate} header, which saves
+   * bandwidth for large responses. Compressed responses are decompressed while they are read, so the
+   * {@link Response} always contains the decoded body. This is disabled by default.
+   *
+   * @since 2026.8.0
+   * @param responseCompression
+   *          {@code true} to request compressed responses, {@code false} otherwise
+   */
+  public void setResponseCompression(boolean responseCompression) {
+    this.responseCompression = responseCompression;
+  }
+
+  /**
+   * returns the adaptive timeout used for {@code GET} requests
+   *
+   * @since 2026.8.0
+   * @return the adaptive timeout, {@code null} if disabled
+   */
+  public AdaptiveTimeout getAdaptiveTimeout() {
+    return adaptiveTimeout;
+  }
+
+  /**
+   * define the adaptive timeout used for {@code GET} requests that don't set their own timeout. {@code POST} and
+   * {@code DELETE} requests always use the default timeout, because uploads can take arbitrarily long.
+   *
+   * @since 2026.8.0
+   * @param adaptiveTimeout
+   *          the adaptive timeout, {@code null} to use the default timeout for all requests
+   */
+  public void setAdaptiveTimeout(AdaptiveTimeout adaptiveTimeout) {
+    this.adaptiveTimeout = adaptiveTimeout;
+  }
+
   @Override
   public Response executeDelete(Request request) throws IOException {
     return execute(HttpMethod.DELETE, request);
   }
 
+  @Override
+  public CompletableFuture<Response> executeDeleteAsync(Request request) {
+    return executeAsync(HttpMethod.DELETE, request);
+  }
+
   private Response execute(HttpMethod httpMethod, Request request) throws IOException {
+    HttpRequest httpRequest = prepareRequest(httpMethod, request);
+    AdaptiveTimeout currentAdaptiveTimeout = adaptiveTimeoutFor(httpMethod);
+    if (currentAdaptiveTimeout == null) {
+      return sendRequest(httpRequest);
+    }
+
+    long start = System.nanoTime();
+    try {
+      Response response = sendRequest(httpRequest);
+      currentAdaptiveTimeout.record(request.getFullUrl(), Duration.ofNanos(System.nanoTime() - start));
+      return response;
+    } catch (HttpTimeoutException e) {
+      currentAdaptiveTimeout.record(request.getFullUrl(), Duration.ofNanos(System.nanoTime() - start));
+      throw e;
+    }
+  }
+
+  private CompletableFuture<Response> executeAsync(HttpMethod httpMethod, Request request) {
+    HttpRequest httpRequest;
+    try {
+      httpRequest = prepareRequest(httpMethod, request);
+    } catch (IOException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    AdaptiveTimeout currentAdaptiveTimeout = adaptiveTimeoutFor(httpMethod);
+    if (currentAdaptiveTimeout == null) {
+      return sendRequestAsync(httpRequest);
+    }
+
+    long start = System.nanoTime();
+    CompletableFuture<Response> responseFuture = sendRequestAsync(httpRequest);
+    responseFuture.whenComplete((response, throwable) -> {
+      Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+      if (cause == null || cause instanceof HttpTimeoutException) {
+        currentAdaptiveTimeout.record(request.getFullUrl(), Duration.ofNanos(System.nanoTime() - start));
+      }
+    });
+    return responseFuture;
+  }
+
+  /**
+   * Returns the timeout of the request: the timeout set on the request, the adaptive timeout for {@code GET} requests
+   * or the default timeout.
+   */
+  private Duration timeoutFor(Request request, HttpMethod httpMethod) {
+    if (request.getTimeout() != null) {
+      return request.getTimeout();
+    }
+    AdaptiveTimeout currentAdaptiveTimeout = adaptiveTimeoutFor(httpMethod);
+    return currentAdaptiveTimeout != null ? currentAdaptiveTimeout.timeout(request.getFullUrl()) : defaultTimeout;
+  }
+
+  private AdaptiveTimeout adaptiveTimeoutFor(HttpMethod httpMethod) {
+    return httpMethod == HttpMethod.GET ? adaptiveTimeout : null;
+  }
+
+  private HttpRequest prepareRequest(HttpMethod httpMethod, Request request) throws IOException {
     HTTP_LOGGER.debug("Making a {} request to {} with parameters {}", httpMethod.name(), request.getUrl(),
       request.getParameters());
 
     HttpRequest.Builder builder = openConnection(new URL(request.getFullUrl()));
-    builder.timeout(Duration.ofMillis(DEFAULT_READ_TIMEOUT_IN_MS));
+    builder.timeout(timeoutFor(request, httpMethod));
 
     initHeaderAccessToken(builder, request);
+    initAcceptEncoding(builder);
     customizeRequest(builder, request, httpMethod);
 
     switch (httpMethod) {
@@ -386,61 +603,296 @@ public class DefaultWebRequestor implements WebRequestor {
       throw new IllegalArgumentException("Unsupported httpMethod used");
     }
 
-    HttpRequest httpRequest = builder.build();
-    return sendRequest(httpRequest);
+    return builder.build();
   }
 
   private Response sendRequest(HttpRequest httpRequest) throws IOException {
     try {
-      HttpResponse<InputStream> httpResponse = getHttpClient().send(httpRequest, BodyHandlers.ofInputStream());
-      Map<String, List<String>> headers = Collections.unmodifiableMap(toHeaderMap(httpResponse.headers()));
-      HTTP_LOGGER.trace("Response headers: {}", headers);
-      return createResponse(httpResponse, headers);
+      return toResponse(getHttpClient().send(httpRequest, BodyHandlers.ofInputStream()));
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new IOException("Interrupted while making request", e);
     }
   }
 
+  /**
+   * Sends the request with {@link HttpClient#sendAsync}, so no thread is blocked while waiting for Facebook.
+   * <p>
+   * The body is received with {@link BodyHandlers#ofByteArray()}, so it is collected by the HTTP client as the data
+   * arrives and no thread blocks while reading it. The complete body is then processed in memory, which only decodes
+   * compressed bodies.
+   * <p>
+   * Failures are reported as {@link IOException}, which may be wrapped in a {@link CompletionException} depending on
+   * the stage that failed. Cancelling the returned future cancels the HTTP exchange.
+   */
+  private CompletableFuture<Response> sendRequestAsync(HttpRequest httpRequest) {
+    CompletableFuture<HttpResponse<byte[]>> httpResponseFuture =
+        getHttpClient().sendAsync(httpRequest, BodyHandlers.ofByteArray());
+    CompletableFuture<Response> responseFuture = httpResponseFuture.thenApply(httpResponse -> {
+      try {
+        return toResponse(new ReceivedHttpResponse(httpResponse));
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    });
+    responseFuture.whenComplete((response, throwable) -> {
+      if (responseFuture.isCancelled()) {
+        httpResponseFuture.cancel(true);
+      }
+    });
+    return responseFuture;
+  }
+
+  private Response toResponse(HttpResponse<InputStream> httpResponse) throws IOException {
+    Map<String, List<String>> headers =
+        Collections.unmodifiableMap(toHeaderMap(httpResponse.headers(), contentEncoding(httpResponse) != null));
+    HTTP_LOGGER.trace("Response headers: {}", headers);
+    return createResponse(httpResponse, headers);
+  }
+
   private byte[] readResponseBody(HttpResponse<InputStream> httpResponse) throws IOException {
     InputStream responseBody = httpResponse.body();
     if (responseBody == null) {
       return new byte[0];
     }
 
-    long expectedLength = httpResponse.headers().firstValueAsLong("Content-Length").orElse(-1L);
-    long totalRead = 0;
-    byte[] buffer = new byte[8192];
+    long expectedLength = httpResponse.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1L);
+    String contentEncoding = contentEncoding(httpResponse);
+    if (contentEncoding != null && !ENCODING_GZIP.equals(contentEncoding)
+        && !ENCODING_DEFLATE.equals(contentEncoding)) {
+      closeQuietly(responseBody);
+      throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+    }
 
-    try (InputStream bodyStream = responseBody; ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-      int read;
-      while ((read = bodyStream.read(buffer)) != -1) {
-        output.write(buffer, 0, read);
-        totalRead += read;
-      }
+    if (contentEncoding == null && httpResponse instanceof ReceivedHttpResponse) {
+      // the HTTP client has already checked the Content-Length of the received body
+      return ((ReceivedHttpResponse) httpResponse).getBodyBytes();
+    }
 
-      if (expectedLength >= 0 && expectedLength != totalRead) {
-        throw new IOException("Incomplete response body: expected " + expectedLength + " bytes but read " + totalRead);
+    try (InputStream bodyStream = responseBody) {
+      if (contentEncoding == null) {
+        return RESPONSE_BUFFER_POOL.readFully(bodyStream, expectedLength);
       }
 
-      return output.toByteArray();
+      // Content-Length is the length of the encoded body, so the encoded stream is checked for completeness
+      CountingInputStream encodedStream = new CountingInputStream(bodyStream);
+      byte[] body;
+      try (InputStream decodedStream = decodingStream(encodedStream, contentEncoding)) {
+        body = RESPONSE_BUFFER_POOL.readFully(decodedStream, -1);
+        encodedStream.transferTo(OutputStream.nullOutputStream());
+      }
+      if (expectedLength >= 0 && expectedLength != encodedStream.getCount()) {
+        throw new IOException(
+          "Expected " + expectedLength + " encoded bytes but read " + encodedStream.getCount());
+      }
+      return body;
     } catch (IOException ioe) {
       throw new IOException("Incomplete response body", ioe);
     }
   }
 
+  /**
+   * Returns the content coding of the response body in lower case, {@code null} if the body is not encoded or empty.
+   */
+  private static String contentEncoding(HttpResponse<InputStream> httpResponse) {
+    int statusCode = httpResponse.statusCode();
+    if (statusCode == 204 || statusCode == 304
+        || httpResponse.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1L) == 0) {
+      return null;
+    }
+    return httpResponse.headers().firstValue(HEADER_CONTENT_ENCODING).map(v -> v.trim().toLowerCase(Locale.ROOT))
+      .filter(v -> !v.isEmpty() && !ENCODING_IDENTITY.equals(v)).orElse(null);
+  }
+
+  /**
+   * Wraps the encoded body with a stream that decompresses it on the fly.
+   * <p>
+   * {@code deflate} is supposed to be zlib wrapped, but some servers send raw deflate data, so the zlib header is
+   * checked first.
+   */
+  private static InputStream decodingStream(InputStream encodedStream, String contentEncoding) throws IOException {
+    if (ENCODING_GZIP.equals(contentEncoding)) {
+      return new GZIPInputStream(encodedStream, MULTIPART_DEFAULT_BUFFER_SIZE);
+    }
+
+    PushbackInputStream pushbackStream = new PushbackInputStream(encodedStream, 2);
+    byte[] header = pushbackStream.readNBytes(2);
+    pushbackStream.unread(header);
+    boolean zlibWrapped = header.length == 2 && (header[0] & 0x0F) == 8
+        && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+
+    return new InflaterInputStream(pushbackStream, new Inflater(!zlibWrapped), MULTIPART_DEFAULT_BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inf.end();
+        }
+      }
+    };
+  }
+
   protected Response createResponse(HttpResponse<InputStream> httpResponse, Map<String, List<String>> headers)
       throws IOException {
     byte[] body = readResponseBody(httpResponse);
-    Response response = new Response(httpResponse.statusCode(), StringUtils.toString(body), null, headers);
+    Response response = Response.fromBytes(httpResponse.statusCode(), body, headers);
     HTTP_LOGGER.debug("Facebook responded with {}", response);
     return response;
   }
 
-  private Map<String, List<String>> toHeaderMap(HttpHeaders headers) {
+  /**
+   * Copies the response headers. If the body is decoded, {@code Content-Encoding} and {@code Content-Length} are
+   * dropped, because they don't describe the decoded body.
+   */
+  private Map<String, List<String>> toHeaderMap(HttpHeaders headers, boolean decodedBody) {
     Map<String, List<String>> result = new LinkedHashMap<>();
-    headers.map().forEach((k, v) -> result.put(k, Collections.unmodifiableList(v)));
+    headers.map().forEach((k, v) -> {
+      if (!decodedBody || !(HEADER_CONTENT_ENCODING.equalsIgnoreCase(k) || HEADER_CONTENT_LENGTH.equalsIgnoreCase(k))) {
+        result.put(k, Collections.unmodifiableList(v));
+      }
+    });
     return result;
   }
 
+  /**
+   * A response whose body was received completely by the HTTP client, exposed as stream so it is processed like the
+   * body of a blocking request.
+   */
+  private static final class ReceivedHttpResponse implements HttpResponse<InputStream> {
+
+    private final HttpResponse<byte[]> httpResponse;
+
+    ReceivedHttpResponse(HttpResponse<byte[]> httpResponse) {
+      this.httpResponse = httpResponse;
+    }
+
+    byte[] getBodyBytes() {
+      return httpResponse.body() != null ? httpResponse.body() : new byte[0];
+    }
+
+    @Override
+    public int statusCode() {
+      return httpResponse.statusCode();
+    }
+
+    @Override
+    public HttpRequest request() {
+      return httpResponse.request();
+    }
+
+    @Override
+    public Optional<HttpResponse<InputStream>> previousResponse() {
+      return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return httpResponse.headers();
+    }
+
+    @Override
+    public InputStream body() {
+      return new ByteArrayInputStream(getBodyBytes());
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return httpResponse.sslSession();
+    }
+
+    @Override
+    public URI uri() {
+      return httpResponse.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+      return httpResponse.version();
+    }
+  }
+
+  /**
+   * Counts the bytes read from the wrapped stream.
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      count += skipped;
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    long getCount() {
+      return count;
+    }
+  }
+
+  /**
+   * Holds a prepared {@link HttpRequest} together with the resources that have to be released once the request is
+   * finished, so blocking and asynchronous execution share the same cleanup.
+   */
+  private final class PreparedRequest implements Closeable {
+
+    private final List<BinaryAttachment> binaryAttachments;
+
+    private final List<Closeable> resources = new ArrayList<>();
+
+    private HttpRequest httpRequest;
+
+    PreparedRequest(List<BinaryAttachment> binaryAttachments) {
+      this.binaryAttachments = binaryAttachments;
+    }
+
+    <C extends Closeable> C register(C resource) {
+      resources.add(resource);
+      return resource;
+    }
+
+    PreparedRequest with(HttpRequest httpRequest) {
+      this.httpRequest = httpRequest;
+      return this;
+    }
+
+    HttpRequest getHttpRequest() {
+      return httpRequest;
+    }
+
+    @Override
+    public void close() {
+      closeAttachmentsOnAutoClose(binaryAttachments);
+      resources.forEach(DefaultWebRequestor.this::closeQuietly);
+    }
+  }
+
 }
@@ -27,12 +27,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import com.restfb.util.SoftHashMap;
+import com.restfb.util.StringUtils;
 
 /**
  * WebRequestor with ETag-support.
@@ -65,8 +67,9 @@ public class ETagWebRequestor extends DefaultWebRequestor {
 
   private static Supplier<Map<String, ETagResponse>> mapBuilder = SoftHashMap::new;
 
+  private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+
   final Map<String, ETagResponse> etagCache = Collections.synchronizedMap(mapBuilder.get());
-  private final ThreadLocal<ETagResponse> currentETagRespThreadLocal = new ThreadLocal<>();
   private volatile boolean useCache = true;
 
   @Override
@@ -74,8 +77,7 @@ public class ETagWebRequestor extends DefaultWebRequestor {
     if (isUseCache() && HttpMethod.GET.equals(httpMethod)) {
       ETagResponse resp = etagCache.get(request.getFullUrl());
       if (resp != null) {
-        currentETagRespThreadLocal.set(resp);
-        builder.header("If-None-Match", resp.getEtag());
+        builder.header(HEADER_IF_NONE_MATCH, resp.getEtag());
       }
     }
   }
@@ -83,25 +85,35 @@ public class ETagWebRequestor extends DefaultWebRequestor {
   @Override
   protected Response createResponse(HttpResponse<InputStream> httpResponse, Map<String, List<String>> headers)
       throws IOException {
-    try {
-      if (HttpMethod.GET.name().equals(httpResponse.request().method())) {
-        if (httpResponse.statusCode() == HTTP_NOT_MODIFIED && currentETagRespThreadLocal.get() != null) {
-          closeQuietly(httpResponse.body());
-          ETagResponse etagResp = currentETagRespThreadLocal.get();
-          return new Response(httpResponse.statusCode(), etagResp.getBody(), null, headers);
-        } else {
-          Response resp = super.createResponse(httpResponse, headers);
-          String fullUrl = httpResponse.request().uri().toString();
-          httpResponse.headers().firstValue("ETag").ifPresent(etag ->
-            etagCache.put(fullUrl, new ETagResponse(etag, resp.getBody())));
-          return resp;
-        }
-      } else {
-        return super.createResponse(httpResponse, headers);
+    if (!HttpMethod.GET.name().equals(httpResponse.request().method())) {
+      return super.createResponse(httpResponse, headers);
+    }
+
+    if (httpResponse.statusCode() == HTTP_NOT_MODIFIED) {
+      ETagResponse etagResp = findCachedResponse(httpResponse.request());
+      if (etagResp != null) {
+        closeQuietly(httpResponse.body());
+        return Response.fromBytes(httpResponse.statusCode(), etagResp.getBodyBytes(), headers);
       }
-    } finally {
-      currentETagRespThreadLocal.remove();
     }
+
+    Response resp = super.createResponse(httpResponse, headers);
+    String fullUrl = httpResponse.request().uri().toString();
+    httpResponse.headers().firstValue("ETag")
+      .ifPresent(etag -> etagCache.put(fullUrl, new ETagResponse(etag, resp.getBodyBytes())));
+    return resp;
+  }
+
+  /**
+   * Looks up the cached response for a request that was sent with an {@code If-None-Match} header.
+   * <p>
+   * The lookup is based on the sent request only, so it works regardless of the thread that processes the response.
+   */
+  private ETagResponse findCachedResponse(HttpRequest request) {
+    if (request.headers().firstValue(HEADER_IF_NONE_MATCH).isEmpty()) {
+      return null;
+    }
+    return etagCache.get(request.uri().toString());
   }
 
   /**
@@ -147,16 +159,45 @@ public class ETagWebRequestor extends DefaultWebRequestor {
       this.body = body;
     }
 
+    /**
+     * Creates a cache entry with the raw response body, the body is decoded to text on first access.
+     *
+     * @param etag
+     *          the ETag of the response
+     * @param bodyBytes
+     *          the UTF-8 encoded response body
+     * @since 2026.8.0
+     */
+    public ETagResponse(String etag, byte[] bodyBytes) {
+      this.etag = etag;
+      this.bodyBytes = bodyBytes;
+    }
+
     private final String etag;
-    private final String body;
+    private volatile String body;
+    private volatile byte[] bodyBytes;
 
     public String getEtag() {
       return etag;
     }
 
     public String getBody() {
+      if (body == null) {
+        body = StringUtils.toString(bodyBytes);
+      }
       return body;
     }
+
+    /**
+     * @return the UTF-8 encoded response body
+     * @since 2026.8.0
+     */
+    public byte[] getBodyBytes() {
+      if (bodyBytes == null) {
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+      }
+      return bodyBytes;
+    }
   }
 
 }
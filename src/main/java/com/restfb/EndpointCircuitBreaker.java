@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.logging.RestFBLogger.CLIENT_LOGGER;
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static com.restfb.util.UrlUtils.normalizeEndpointPath;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.restfb.exception.FacebookCircuitBreakerOpenException;
+
+/**
+ * Stops sending requests to an endpoint that is failing or too slow, so callers fail fast instead of piling up on it.
+ * <p>
+ * Every normalized endpoint path (see {@link com.restfb.util.UrlUtils#normalizeEndpointPath(String)}) has its own
+ * circuit. A circuit records the outcome of the last {@code windowSize} requests. Once at least {@code minimumCalls}
+ * requests were recorded and the rate of failed requests reaches the {@code failureRateThreshold} or the rate of
+ * requests slower than {@code slowCallDuration} reaches the {@code slowCallRateThreshold}, the circuit opens. Requests
+ * to an open circuit fail with a {@link FacebookCircuitBreakerOpenException} without being sent.
+ * <p>
+ * After {@code openDuration} the circuit becomes half-open and lets {@code probeCalls} requests through. If all of them
+ * succeed, the circuit closes again, otherwise it opens for another {@code openDuration}. Other endpoints are not
+ * affected at any time.
+ * <p>
+ * Circuits that were not used for {@code idleTimeout} and don't reject requests are removed, so crawling many objects
+ * doesn't keep a circuit for every endpoint that was ever requested.
+ * <p>
+ * Used with {@link DefaultFacebookClient#setCircuitBreaker(EndpointCircuitBreaker)}, which counts network errors and
+ * HTTP 5xx responses as failures.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * EndpointCircuitBreaker circuitBreaker = new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder()
+ *   .slowCallDuration(Duration.ofSeconds(20)).openDuration(Duration.ofMinutes(1)).build();
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public final class EndpointCircuitBreaker {
+
+  /**
+   * number of acquired requests after that idle circuits are removed
+   */
+  private static final int CLEANUP_INTERVAL = 1024;
+
+  /**
+   * The state of the circuit of an endpoint.
+   */
+  public enum State {
+    /**
+     * requests are sent
+     */
+    CLOSED,
+
+    /**
+     * requests fail fast
+     */
+    OPEN,
+
+    /**
+     * a limited number of probe requests is sent
+     */
+    HALF_OPEN
+  }
+
+  private final int failureRateThreshold;
+
+  private final int slowCallRateThreshold;
+
+  private final Duration slowCallDuration;
+
+  private final int windowSize;
+
+  private final int minimumCalls;
+
+  private final Duration openDuration;
+
+  private final int probeCalls;
+
+  private final Duration idleTimeout;
+
+  private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+  private final AtomicInteger acquisitions = new AtomicInteger();
+
+  private EndpointCircuitBreaker(EndpointCircuitBreakerBuilder builder) {
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.slowCallRateThreshold = builder.slowCallRateThreshold;
+    this.slowCallDuration = builder.slowCallDuration;
+    this.windowSize = builder.windowSize;
+    this.minimumCalls = builder.minimumCalls;
+    this.openDuration = builder.openDuration;
+    this.probeCalls = builder.probeCalls;
+    this.idleTimeout = builder.idleTimeout;
+  }
+
+  /**
+   * Checks if a request may be sent. Every permitted request has to be recorded with
+   * {@link #record(String, Duration, boolean)}.
+   *
+   * @param requestUrl
+   *          the full URL of the request
+   * @throws FacebookCircuitBreakerOpenException
+   *           If the circuit of the endpoint is open.
+   */
+  public void acquire(String requestUrl) {
+    String endpoint = normalizeEndpointPath(requestUrl);
+    long now = System.nanoTime();
+    cleanUpIfNecessary(now);
+    circuits.computeIfAbsent(endpoint, Circuit::new).acquire(now);
+  }
+
+  /**
+   * Records the outcome of a request.
+   *
+   * @param requestUrl
+   *          the full URL of the request
+   * @param latency
+   *          the time it took to receive the response or the error
+   * @param failed
+   *          {@code true} if the request failed
+   */
+  public void record(String requestUrl, Duration latency, boolean failed) {
+    String endpoint = normalizeEndpointPath(requestUrl);
+    circuits.computeIfAbsent(endpoint, Circuit::new).record(failed, latency.compareTo(slowCallDuration) >= 0,
+      System.nanoTime());
+  }
+
+  /**
+   * Returns the state of the circuit the request URL belongs to.
+   *
+   * @param requestUrl
+   *          the full URL of a request
+   * @return the current state
+   */
+  public State getState(String requestUrl) {
+    Circuit circuit = circuits.get(normalizeEndpointPath(requestUrl));
+    return circuit == null ? State.CLOSED : circuit.getState(System.nanoTime());
+  }
+
+  /**
+   * @return the failure rate in percent that opens a circuit
+   */
+  public int getFailureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  /**
+   * @return the rate of slow requests in percent that opens a circuit
+   */
+  public int getSlowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  /**
+   * @return the latency from which on a request counts as slow
+   */
+  public Duration getSlowCallDuration() {
+    return slowCallDuration;
+  }
+
+  /**
+   * @return the number of recent requests a circuit records
+   */
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /**
+   * @return the number of requests a circuit has to record before it may open
+   */
+  public int getMinimumCalls() {
+    return minimumCalls;
+  }
+
+  /**
+   * @return the time a circuit stays open before it lets probe requests through
+   */
+  public Duration getOpenDuration() {
+    return openDuration;
+  }
+
+  /**
+   * @return the number of probe requests that have to succeed to close a half-open circuit
+   */
+  public int getProbeCalls() {
+    return probeCalls;
+  }
+
+  /**
+   * @return the time after that an unused circuit is removed
+   */
+  public Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * @return the number of circuits that are currently kept
+   */
+  int getCircuitCount() {
+    return circuits.size();
+  }
+
+  private void cleanUpIfNecessary(long now) {
+    if (acquisitions.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+      circuits.values().removeIf(circuit -> circuit.isIdle(now));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "EndpointCircuitBreaker[failureRateThreshold=" + failureRateThreshold + ", slowCallRateThreshold="
+        + slowCallRateThreshold + ", slowCallDuration=" + slowCallDuration + ", windowSize=" + windowSize
+        + ", minimumCalls=" + minimumCalls + ", openDuration=" + openDuration + ", probeCalls=" + probeCalls
+        + ", idleTimeout=" + idleTimeout + "]";
+  }
+
+  /**
+   * The circuit of one endpoint. The outcomes are kept in ring buffers, every circuit has its own lock, so endpoints
+   * don't contend with each other.
+   */
+  private final class Circuit {
+
+    private final String endpoint;
+
+    private final boolean[] failures = new boolean[windowSize];
+
+    private final boolean[] slowCalls = new boolean[windowSize];
+
+    private int nextIndex;
+
+    private int recordedCalls;
+
+    private int failureCount;
+
+    private int slowCallCount;
+
+    private State state = State.CLOSED;
+
+    private long openedAtNanos;
+
+    private int probesInFlight;
+
+    private int probeSuccesses;
+
+    private long lastUsedNanos = System.nanoTime();
+
+    Circuit(String endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    synchronized void acquire(long now) {
+      lastUsedNanos = now;
+      if (state == State.OPEN) {
+        long remainingNanos = openDuration.toNanos() - (now - openedAtNanos);
+        if (remainingNanos > 0) {
+          throw new FacebookCircuitBreakerOpenException(endpoint, Duration.ofNanos(remainingNanos));
+        }
+        state = State.HALF_OPEN;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+      }
+
+      if (state == State.HALF_OPEN) {
+        if (probesInFlight + probeSuccesses >= probeCalls) {
+          throw new FacebookCircuitBreakerOpenException(endpoint, Duration.ZERO);
+        }
+        probesInFlight++;
+      }
+    }
+
+    synchronized void record(boolean failed, boolean slow, long now) {
+      lastUsedNanos = now;
+      if (state == State.OPEN) {
+        // outcome of a request sent before the circuit opened
+        return;
+      }
+
+      if (state == State.HALF_OPEN) {
+        probesInFlight = Math.max(0, probesInFlight - 1);
+        if (failed || slow) {
+          open(now);
+        } else if (++probeSuccesses >= probeCalls) {
+          close();
+        }
+        return;
+      }
+
+      if (recordedCalls == windowSize) {
+        failureCount -= failures[nextIndex] ? 1 : 0;
+        slowCallCount -= slowCalls[nextIndex] ? 1 : 0;
+      } else {
+        recordedCalls++;
+      }
+      failures[nextIndex] = failed;
+      slowCalls[nextIndex] = slow;
+      failureCount += failed ? 1 : 0;
+      slowCallCount += slow ? 1 : 0;
+      nextIndex = (nextIndex + 1) % windowSize;
+
+      if (recordedCalls >= minimumCalls && (failureCount * 100 >= failureRateThreshold * recordedCalls
+          || slowCallCount * 100 >= slowCallRateThreshold * recordedCalls)) {
+        open(now);
+      }
+    }
+
+    synchronized State getState(long now) {
+      return state == State.OPEN && now - openedAtNanos >= openDuration.toNanos() ? State.HALF_OPEN : state;
+    }
+
+    /**
+     * An idle circuit can be removed if it doesn't reject requests and has no probe request in flight.
+     */
+    synchronized boolean isIdle(long now) {
+      return now - lastUsedNanos >= idleTimeout.toNanos() && getState(now) != State.OPEN && probesInFlight == 0;
+    }
+
+    private void open(long now) {
+      CLIENT_LOGGER.warn("Opening circuit breaker for endpoint {} for {} ms", endpoint, openDuration.toMillis());
+      state = State.OPEN;
+      openedAtNanos = now;
+    }
+
+    private void close() {
+      CLIENT_LOGGER.info("Closing circuit breaker for endpoint {}", endpoint);
+      state = State.CLOSED;
+      nextIndex = 0;
+      recordedCalls = 0;
+      failureCount = 0;
+      slowCallCount = 0;
+    }
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link EndpointCircuitBreaker}.
+   */
+  public static class EndpointCircuitBreakerBuilder {
+    private int failureRateThreshold = 50;
+    private int slowCallRateThreshold = 100;
+    private Duration slowCallDuration = Duration.ofSeconds(60);
+    private int windowSize = 50;
+    private int minimumCalls = 20;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int probeCalls = 3;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Sets the failure rate in percent that opens a circuit, {@code 50} is the default value.
+     *
+     * @param failureRateThreshold
+     *          The failure rate between 1 and 100.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder failureRateThreshold(int failureRateThreshold) {
+      this.failureRateThreshold = failureRateThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the rate of slow requests in percent that opens a circuit, {@code 100} is the default value.
+     *
+     * @param slowCallRateThreshold
+     *          The rate of slow requests between 1 and 100.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder slowCallRateThreshold(int slowCallRateThreshold) {
+      this.slowCallRateThreshold = slowCallRateThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the latency from which on a request counts as slow, 60 seconds is the default value.
+     *
+     * @param slowCallDuration
+     *          The latency of slow requests.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder slowCallDuration(Duration slowCallDuration) {
+      this.slowCallDuration = slowCallDuration;
+      return this;
+    }
+
+    /**
+     * Sets the number of recent requests a circuit records, {@code 50} is the default value.
+     *
+     * @param windowSize
+     *          The number of recorded requests.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder windowSize(int windowSize) {
+      this.windowSize = windowSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of requests a circuit has to record before it may open, {@code 20} is the default value.
+     *
+     * @param minimumCalls
+     *          The minimum number of recorded requests, at most the window size.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder minimumCalls(int minimumCalls) {
+      this.minimumCalls = minimumCalls;
+      return this;
+    }
+
+    /**
+     * Sets the time a circuit stays open before it lets probe requests through, 30 seconds is the default value.
+     *
+     * @param openDuration
+     *          The time a circuit stays open.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder openDuration(Duration openDuration) {
+      this.openDuration = openDuration;
+      return this;
+    }
+
+    /**
+     * Sets the number of probe requests that have to succeed to close a half-open circuit, {@code 3} is the default
+     * value.
+     *
+     * @param probeCalls
+     *          The number of probe requests.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder probeCalls(int probeCalls) {
+      this.probeCalls = probeCalls;
+      return this;
+    }
+
+    /**
+     * Sets the time after that a circuit that was not used is removed, 10 minutes is the default value. Circuits that
+     * reject requests are kept until they let requests through again.
+     *
+     * @param idleTimeout
+     *          The time after that an unused circuit is removed.
+     * @return This builder.
+     */
+    public EndpointCircuitBreakerBuilder idleTimeout(Duration idleTimeout) {
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * Generates a {@link EndpointCircuitBreaker} instance with the configuration of this builder.
+     *
+     * @return A {@link EndpointCircuitBreaker} instance.
+     * @throws IllegalArgumentException
+     *           If a value is out of range.
+     */
+    public EndpointCircuitBreaker build() {
+      verifyParameterPresence("slowCallDuration", slowCallDuration);
+      verifyParameterPresence("openDuration", openDuration);
+      verifyParameterPresence("idleTimeout", idleTimeout);
+
+      if (failureRateThreshold < 1 || failureRateThreshold > 100 || slowCallRateThreshold < 1
+          || slowCallRateThreshold > 100) {
+        throw new IllegalArgumentException("The rate thresholds must be between 1 and 100");
+      }
+      if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+        throw new IllegalArgumentException("The minimum number of calls must be between 1 and the window size "
+            + windowSize + ", but was " + minimumCalls);
+      }
+      if (probeCalls < 1) {
+        throw new IllegalArgumentException("The number of probe calls must be at least 1, but was " + probeCalls);
+      }
+      if (slowCallDuration.isNegative() || slowCallDuration.isZero() || openDuration.isNegative()
+          || idleTimeout.isNegative()) {
+        throw new IllegalArgumentException("The durations must be positive");
+      }
+
+      return new EndpointCircuitBreaker(this);
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.UrlUtils.normalizeEndpointPath;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the latencies of the most recent requests per normalized endpoint path (see
+ * {@link com.restfb.util.UrlUtils#normalizeEndpointPath(String)}) and computes percentiles over them.
+ * <p>
+ * Every endpoint keeps the last {@code windowSize} latencies in a ring buffer with its own lock, so endpoints don't
+ * contend with each other. Percentiles are only reported once an endpoint has at least {@code minimumSamples}
+ * latencies. Endpoints without a new latency for {@code idleTimeout} are removed, so crawling many objects doesn't keep
+ * a window for every endpoint that was ever requested.
+ *
+ * @since 2026.8.0
+ */
+public final class EndpointLatencyStats {
+
+  /**
+   * number of recorded latencies after that idle windows are removed
+   */
+  private static final int CLEANUP_INTERVAL = 1024;
+
+  private final int windowSize;
+
+  private final int minimumSamples;
+
+  private final Duration idleTimeout;
+
+  private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+  private final AtomicInteger recordings = new AtomicInteger();
+
+  /**
+   * Creates latency statistics that remove endpoints without a new latency for 10 minutes.
+   *
+   * @param windowSize
+   *          the number of latencies kept per endpoint
+   * @param minimumSamples
+   *          the number of latencies an endpoint needs before percentiles are reported
+   * @throws IllegalArgumentException
+   *           If {@code windowSize} is less than 1 or {@code minimumSamples} is not between 1 and {@code windowSize}.
+   */
+  public EndpointLatencyStats(int windowSize, int minimumSamples) {
+    this(windowSize, minimumSamples, Duration.ofMinutes(10));
+  }
+
+  /**
+   * Creates latency statistics.
+   *
+   * @param windowSize
+   *          the number of latencies kept per endpoint
+   * @param minimumSamples
+   *          the number of latencies an endpoint needs before percentiles are reported
+   * @param idleTimeout
+   *          the time after that the latencies of an endpoint without a new latency are removed
+   * @throws IllegalArgumentException
+   *           If {@code windowSize} is less than 1, {@code minimumSamples} is not between 1 and {@code windowSize} or
+   *           {@code idleTimeout} is negative.
+   */
+  public EndpointLatencyStats(int windowSize, int minimumSamples, Duration idleTimeout) {
+    if (windowSize < 1 || minimumSamples < 1 || minimumSamples > windowSize) {
+      throw new IllegalArgumentException("The minimum number of samples must be between 1 and the window size "
+          + windowSize + ", but was " + minimumSamples);
+    }
+    if (idleTimeout == null || idleTimeout.isNegative()) {
+      throw new IllegalArgumentException("The idle timeout must not be negative");
+    }
+    this.windowSize = windowSize;
+    this.minimumSamples = minimumSamples;
+    this.idleTimeout = idleTimeout;
+  }
+
+  /**
+   * Records the latency of a request.
+   *
+   * @param requestUrl
+   *          the full URL of the request
+   * @param latency
+   *          the time it took to receive the response
+   */
+  public void record(String requestUrl, Duration latency) {
+    long now = System.nanoTime();
+    cleanUpIfNecessary(now);
+    windows.computeIfAbsent(normalizeEndpointPath(requestUrl), key -> new LatencyWindow()).add(latency.toNanos(),
+      now);
+  }
+
+  /**
+   * Returns the given percentile of the recent latencies of the endpoint the request URL belongs to.
+   *
+   * @param requestUrl
+   *          the full URL of a request
+   * @param percentile
+   *          the percentile between 0 and 1, for example {@code 0.95}
+   * @return the latency percentile, {@code null} if the endpoint doesn't have enough samples yet
+   */
+  public Duration percentile(String requestUrl, double percentile) {
+    LatencyWindow window = windows.get(normalizeEndpointPath(requestUrl));
+    if (window == null) {
+      return null;
+    }
+
+    long[] samples = window.snapshot();
+    if (samples.length < minimumSamples) {
+      return null;
+    }
+
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * samples.length) - 1;
+    return Duration.ofNanos(samples[Math.max(0, index)]);
+  }
+
+  /**
+   * @return the number of latencies kept per endpoint
+   */
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /**
+   * @return the number of latencies an endpoint needs before percentiles are reported
+   */
+  public int getMinimumSamples() {
+    return minimumSamples;
+  }
+
+  /**
+   * @return the time after that the latencies of an endpoint without a new latency are removed
+   */
+  public Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * @return the number of endpoints latencies are kept for
+   */
+  int getEndpointCount() {
+    return windows.size();
+  }
+
+  private void cleanUpIfNecessary(long now) {
+    if (recordings.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+      windows.values().removeIf(window -> window.isIdle(now));
+    }
+  }
+
+  private final class LatencyWindow {
+
+    private final long[] latencies = new long[windowSize];
+
+    private int nextIndex;
+
+    private int size;
+
+    private long lastRecordedNanos;
+
+    synchronized void add(long latencyNanos, long now) {
+      lastRecordedNanos = now;
+      latencies[nextIndex] = latencyNanos;
+      nextIndex = (nextIndex + 1) % windowSize;
+      size = Math.min(size + 1, windowSize);
+    }
+
+    synchronized long[] snapshot() {
+      return Arrays.copyOf(latencies, size);
+    }
+
+    synchronized boolean isIdle(long now) {
+      return now - lastRecordedNanos >= idleTimeout.toNanos();
+    }
+  }
+}
@@ -198,6 +198,29 @@ public interface FacebookClient {
    */
   <T> Connection<T> fetchConnectionPage(String connectionPageUrl, Class<T> connectionType);
 
+  /**
+   * Fetches a previous/next page of a connection with the given priority, so following the pages of a connection keeps
+   * the priority the connection was fetched with.
+   *
+   * @param <T>
+   *          Java type to map to.
+   * @param connectionPageUrl
+   *          The URL of the connection page to fetch, usually retrieved via {@link Connection#getPreviousPageUrl()} or
+   *          {@link Connection#getNextPageUrl()}.
+   * @param connectionType
+   *          Connection type token.
+   * @param priority
+   *          The priority of the request, {@code null} for {@link RequestPriority#NORMAL}.
+   * @return An instance of type {@code connectionType} which contains the requested Connection's data.
+   * @throws FacebookException
+   *           If an error occurs while performing the API call.
+   * @since 2026.8.0
+   */
+  default <T> Connection<T> fetchConnectionPage(String connectionPageUrl, Class<T> connectionType,
+      RequestPriority priority) {
+    return fetchConnectionPage(connectionPageUrl, connectionType);
+  }
+
   /**
    * Factory method to create a {@link Connection} instance from raw JSON.
    *
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.WebRequestorSupport.accessToken;
+import static com.restfb.logging.RestFBLogger.HTTP_LOGGER;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.restfb.exception.FacebookCircuitBreakerOpenException;
+import com.restfb.util.ConcurrencyUtils;
+
+/**
+ * WebRequestor that hedges slow {@code GET} requests.
+ * <p>
+ * If a {@code GET} request has not been answered after the {@code hedgePercentile} (p95 by default) of the recent
+ * latencies of its endpoint, the same request is sent a second time. The response that arrives first is used and the
+ * other request is cancelled. A few slow backends dominate the tail latency of Graph API reads, and a hedged request
+ * usually hits another backend.
+ * <p>
+ * Hedges are only sent once the endpoint has enough latency samples (see {@link EndpointLatencyStats}), and at most
+ * {@code maxHedgeRatio} of all requests are hedged, so hedging cannot double the load during an incident. {@code POST}
+ * and {@code DELETE} requests are never hedged, because they are not idempotent. The latency statistics record the
+ * latency the caller observed, so a fast hedge doesn't shorten the delay of later hedges.
+ * <p>
+ * The {@link RequestRateLimiter} and the {@link EndpointCircuitBreaker} of a {@link DefaultFacebookClient} only see the
+ * request the client sends, not its hedge. Pass the same instances to {@link #setRequestRateLimiter(RequestRateLimiter)}
+ * and {@link #setCircuitBreaker(EndpointCircuitBreaker)}, so a hedge is only sent if it gets a permit without waiting
+ * and the circuit of its endpoint is not open, and its outcome is recorded by the circuit breaker.
+ * <p>
+ * All other requests are passed to the delegate unchanged. The delegate should support cancellation of asynchronous
+ * requests, like {@link DefaultWebRequestor} does. Blocking {@code GET} requests are sent asynchronously, too, so
+ * {@code fetchObject} calls of a {@link DefaultFacebookClient} are hedged as well.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * FacebookClient client = new DefaultFacebookClient(accessToken,
+ *   new HedgingWebRequestor(new DefaultWebRequestor()), Version.LATEST);
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public class HedgingWebRequestor implements WebRequestor {
+
+  private final WebRequestor delegate;
+
+  private final EndpointLatencyStats latencyStats;
+
+  private final AtomicLong requestCount = new AtomicLong();
+
+  private final AtomicLong hedgeCount = new AtomicLong();
+
+  private volatile double hedgePercentile = 0.95;
+
+  private volatile double maxHedgeRatio = 0.1;
+
+  private volatile Duration minHedgeDelay = Duration.ofMillis(10);
+
+  private volatile RequestRateLimiter requestRateLimiter;
+
+  private volatile EndpointCircuitBreaker circuitBreaker;
+
+  /**
+   * Creates a hedging requestor that keeps the latencies of the last 100 requests per endpoint and starts hedging once
+   * an endpoint has 20 latencies.
+   *
+   * @param delegate
+   *          the requestor that sends the requests
+   */
+  public HedgingWebRequestor(WebRequestor delegate) {
+    this(delegate, new EndpointLatencyStats(100, 20));
+  }
+
+  /**
+   * Creates a hedging requestor that uses the given latency statistics, for example the statistics of an
+   * {@link AdaptiveTimeout}.
+   *
+   * @param delegate
+   *          the requestor that sends the requests
+   * @param latencyStats
+   *          the latency statistics the hedge delay is derived from
+   */
+  public HedgingWebRequestor(WebRequestor delegate, EndpointLatencyStats latencyStats) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.latencyStats = Objects.requireNonNull(latencyStats, "latencyStats must not be null");
+  }
+
+  @Override
+  public Response executeGet(Request request) throws IOException {
+    return WebRequestorSupport.await(executeGetAsync(request));
+  }
+
+  @Override
+  public CompletableFuture<Response> executeGetAsync(Request request) {
+    requestCount.incrementAndGet();
+    HedgedGet hedgedGet = new HedgedGet(request);
+    hedgedGet.send(null);
+
+    Duration hedgeDelay = hedgeDelay(request.getFullUrl());
+    if (hedgeDelay != null) {
+      CompletableFuture.delayedExecutor(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS, ConcurrencyUtils.defaultExecutor())
+        .execute(() -> {
+          if (!hedgedGet.result.isDone() && tryAcquireHedge()) {
+            HTTP_LOGGER.debug("No response after {} ms, hedging GET request to {}", hedgeDelay.toMillis(),
+              request.getFullUrl());
+            if (!hedgedGet.sendHedge()) {
+              // a skipped hedge doesn't use up the budget
+              hedgeCount.decrementAndGet();
+            }
+          }
+        });
+    }
+    return hedgedGet.result;
+  }
+
+  @Override
+  public Response executePost(Request request) throws IOException {
+    return delegate.executePost(request);
+  }
+
+  @Override
+  public CompletableFuture<Response> executePostAsync(Request request) {
+    return delegate.executePostAsync(request);
+  }
+
+  @Override
+  public Response executeDelete(Request request) throws IOException {
+    return delegate.executeDelete(request);
+  }
+
+  @Override
+  public CompletableFuture<Response> executeDeleteAsync(Request request) {
+    return delegate.executeDeleteAsync(request);
+  }
+
+  /**
+   * @return the latency statistics the hedge delay is derived from
+   */
+  public EndpointLatencyStats getLatencyStats() {
+    return latencyStats;
+  }
+
+  /**
+   * @return the number of hedged requests sent so far
+   */
+  public long getHedgeCount() {
+    return hedgeCount.get();
+  }
+
+  /**
+   * @return the latency percentile after that a request is hedged
+   */
+  public double getHedgePercentile() {
+    return hedgePercentile;
+  }
+
+  /**
+   * define the latency percentile after that a request is hedged, {@code 0.95} by default
+   *
+   * @param hedgePercentile
+   *          the percentile between 0 (exclusive) and 1
+   */
+  public void setHedgePercentile(double hedgePercentile) {
+    if (hedgePercentile <= 0 || hedgePercentile > 1) {
+      throw new IllegalArgumentException("The percentile must be between 0 and 1, but was " + hedgePercentile);
+    }
+    this.hedgePercentile = hedgePercentile;
+  }
+
+  /**
+   * @return the maximum share of requests that are hedged
+   */
+  public double getMaxHedgeRatio() {
+    return maxHedgeRatio;
+  }
+
+  /**
+   * define the maximum share of requests that are hedged, {@code 0.1} by default
+   *
+   * @param maxHedgeRatio
+   *          the share between 0 and 1
+   */
+  public void setMaxHedgeRatio(double maxHedgeRatio) {
+    if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+      throw new IllegalArgumentException("The hedge ratio must be between 0 and 1, but was " + maxHedgeRatio);
+    }
+    this.maxHedgeRatio = maxHedgeRatio;
+  }
+
+  /**
+   * @return the shortest time a request waits before it is hedged
+   */
+  public Duration getMinHedgeDelay() {
+    return minHedgeDelay;
+  }
+
+  /**
+   * define the shortest time a request waits before it is hedged, 10 milliseconds by default
+   *
+   * @param minHedgeDelay
+   *          the minimum hedge delay
+   */
+  public void setMinHedgeDelay(Duration minHedgeDelay) {
+    if (minHedgeDelay == null || minHedgeDelay.isNegative()) {
+      throw new IllegalArgumentException("The minimum hedge delay must not be negative");
+    }
+    this.minHedgeDelay = minHedgeDelay;
+  }
+
+  /**
+   * @return the rate limiter hedges acquire a permit of, {@code null} if none
+   */
+  public RequestRateLimiter getRequestRateLimiter() {
+    return requestRateLimiter;
+  }
+
+  /**
+   * define the rate limiter hedges acquire a permit of, usually the limiter of the {@link DefaultFacebookClient}. A hedge
+   * is skipped if it would have to wait for a permit.
+   *
+   * @param requestRateLimiter
+   *          the rate limiter, {@code null} to send hedges without a permit
+   */
+  public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+    this.requestRateLimiter = requestRateLimiter;
+  }
+
+  /**
+   * @return the circuit breaker hedges are recorded by, {@code null} if none
+   */
+  public EndpointCircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * define the circuit breaker hedges are recorded by, usually the circuit breaker of the {@link DefaultFacebookClient}.
+   * A hedge is skipped if the circuit of its endpoint is open.
+   *
+   * @param circuitBreaker
+   *          the circuit breaker, {@code null} to send hedges without a circuit breaker
+   */
+  public void setCircuitBreaker(EndpointCircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  /**
+   * Returns the time after that the request is hedged, {@code null} if it is not hedged.
+   */
+  private Duration hedgeDelay(String url) {
+    if (maxHedgeRatio <= 0) {
+      return null;
+    }
+    Duration latency = latencyStats.percentile(url, hedgePercentile);
+    if (latency == null) {
+      return null;
+    }
+    return latency.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : latency;
+  }
+
+  private boolean tryAcquireHedge() {
+    while (true) {
+      long hedges = hedgeCount.get();
+      if (hedges + 1 > requestCount.get() * maxHedgeRatio) {
+        return false;
+      }
+      if (hedgeCount.compareAndSet(hedges, hedges + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * The identical requests (at most two) sent for one {@code GET}.
+   */
+  private final class HedgedGet {
+
+    private final Request request;
+
+    private final CompletableFuture<Response> result = new CompletableFuture<>();
+
+    private final List<CompletableFuture<Response>> attempts = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger pendingAttempts = new AtomicInteger();
+
+    private final long startNanos = System.nanoTime();
+
+    HedgedGet(Request request) {
+      this.request = request;
+      // cancelling the result cancels all requests
+      result.whenComplete((response, throwable) -> cancelAttempts());
+    }
+
+    /**
+     * Sends the hedge if the rate limiter and the circuit breaker allow it without waiting.
+     *
+     * @return {@code true} if the hedge was sent
+     */
+    boolean sendHedge() {
+      RequestRateLimiter limiter = requestRateLimiter;
+      if (limiter != null && !limiter.tryAcquire(accessToken(request), request.getFullUrl())) {
+        HTTP_LOGGER.debug("Rate limit reached, not hedging GET request to {}", request.getFullUrl());
+        return false;
+      }
+
+      EndpointCircuitBreaker breaker = circuitBreaker;
+      if (breaker != null) {
+        try {
+          breaker.acquire(request.getFullUrl());
+        } catch (FacebookCircuitBreakerOpenException e) {
+          HTTP_LOGGER.debug("Circuit breaker is open, not hedging GET request to {}", request.getFullUrl());
+          return false;
+        }
+      }
+
+      send(breaker);
+      return true;
+    }
+
+    /**
+     * Sends the request, its outcome is recorded by the circuit breaker if one is given.
+     */
+    void send(EndpointCircuitBreaker breaker) {
+      long attemptStartNanos = System.nanoTime();
+      pendingAttempts.incrementAndGet();
+      CompletableFuture<Response> attempt;
+      try {
+        attempt = delegate.executeGetAsync(request);
+      } catch (RuntimeException e) {
+        attempt = CompletableFuture.failedFuture(e);
+      }
+      attempts.add(attempt);
+      if (result.isDone()) {
+        // the other request has finished in the meantime
+        attempt.cancel(true);
+        if (breaker != null) {
+          breaker.record(request.getFullUrl(), Duration.ZERO, false);
+        }
+        return;
+      }
+
+      CompletableFuture<Response> sentAttempt = attempt;
+      attempt.whenComplete((response, throwable) -> {
+        if (breaker != null) {
+          // a cancelled request lost against the other request, so it counts as a success
+          boolean failed = !sentAttempt.isCancelled() && (response == null || response.getStatusCode() == null
+              || response.getStatusCode() >= HTTP_INTERNAL_ERROR);
+          breaker.record(request.getFullUrl(), Duration.ofNanos(System.nanoTime() - attemptStartNanos), failed);
+        }
+        if (throwable == null) {
+          // the latency the caller observed, not the one of the faster request
+          latencyStats.record(request.getFullUrl(), Duration.ofNanos(System.nanoTime() - startNanos));
+          // cancel the slower request before the caller sees the response
+          cancelAttempts();
+          result.complete(response);
+        } else if (!sentAttempt.isCancelled() && pendingAttempts.decrementAndGet() == 0) {
+          // the request fails only if no other attempt is still running
+          result.completeExceptionally(throwable);
+        }
+      });
+    }
+
+    private void cancelAttempts() {
+      for (CompletableFuture<Response> attempt : attempts) {
+        if (!attempt.isDone() && attempt.cancel(true)) {
+          // the cancelled request was at least as slow as the whole hedged request
+          latencyStats.record(request.getFullUrl(), Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+      }
+    }
+  }
+}
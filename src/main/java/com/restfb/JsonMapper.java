@@ -29,6 +29,7 @@ import java.lang.annotation.Target;
 import java.util.List;
 
 import com.restfb.exception.FacebookJsonMappingException;
+import com.restfb.util.StringUtils;
 
 /**
  * Specifies how a Facebook JSON-to-Java (and vice-versa) mapper must operate.
@@ -76,6 +77,50 @@ public interface JsonMapper {
    */
   <T> List<T> toJavaList(String json, Class<T> type);
 
+  /**
+   * Given UTF-8 encoded JSON, create and return a new instance of a corresponding Java object of type {@code type}.
+   * <p>
+   * Implementations that can parse bytes directly should override this method. The default implementation decodes the
+   * JSON and calls {@link #toJavaObject(String, Class)}.
+   *
+   * @param <T>
+   *          Java type to map to.
+   * @param json
+   *          The UTF-8 encoded JSON to be mapped to a Java type.
+   * @param type
+   *          Java type token.
+   * @return A Java object (of type {@code type}) representation of the JSON input.
+   * @throws FacebookJsonMappingException
+   *           If an error occurs while mapping JSON to Java.
+   * @since 2026.8.0
+   */
+  default <T> T toJavaObjectFromBytes(byte[] json, Class<T> type) {
+    return toJavaObject(StringUtils.trimToEmpty(StringUtils.toString(json)), type);
+  }
+
+  /**
+   * Given UTF-8 encoded JSON, create and return a new instance of a corresponding Java {@link java.util.List} which
+   * contains elements of type {@code type}.
+   * <p>
+   * Implementations that can parse bytes directly should override this method. The default implementation decodes the
+   * JSON and calls {@link #toJavaList(String, Class)}.
+   *
+   * @param <T>
+   *          Java type to map to for each element of the list.
+   * @param json
+   *          The UTF-8 encoded JSON to be mapped to a Java type.
+   * @param type
+   *          Java type token.
+   * @return A Java object (of type {@code List} which contains elements of type {@code type}) representation of the
+   *         JSON input.
+   * @throws FacebookJsonMappingException
+   *           If an error occurs while mapping JSON to Java.
+   * @since 2026.8.0
+   */
+  default <T> List<T> toJavaListFromBytes(byte[] json, Class<T> type) {
+    return toJavaList(StringUtils.trimToEmpty(StringUtils.toString(json)), type);
+  }
+
   /**
    * Given a Java {@code object}, create and return a JSON string that represents it.
    * <p>
@@ -25,6 +25,7 @@ import static com.restfb.util.StringUtils.isBlank;
 import static com.restfb.util.StringUtils.trimToEmpty;
 import static java.lang.String.format;
 
+import java.time.Duration;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,6 +38,16 @@ import com.restfb.exception.FacebookJsonMappingException;
  * @author <a href="http://restfb.com">Mark Allen</a>
  */
 public final class Parameter {
+  /**
+   * Name of the parameter that carries the timeout of a request. It is not sent to Facebook.
+   */
+  static final String TIMEOUT_PARAM_NAME = "restfb_request_timeout_ms";
+
+  /**
+   * Name of the parameter that carries the priority of a request. It is not sent to Facebook.
+   */
+  static final String PRIORITY_PARAM_NAME = "restfb_request_priority";
+
   /**
    * Parameter name.
    */
@@ -127,6 +138,41 @@ public final class Parameter {
     return Parameter.with("locale", locale.getLanguage());
   }
 
+  /**
+   * convenience factory method which creates a {@code Parameter} object that sets the timeout of a single request.
+   * <p>
+   * The parameter is not sent to Facebook, it overrides the default timeout of the {@link WebRequestor} for this
+   * request. The timeout has a resolution of milliseconds, shorter timeouts are rounded up to 1 ms.
+   *
+   * @param timeout
+   *          the timeout of the request
+   * @return Parameter object
+   * @since 2026.8.0
+   */
+  public static Parameter withTimeout(Duration timeout) {
+    if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("The timeout must be positive, but was " + timeout);
+    }
+    return Parameter.with(TIMEOUT_PARAM_NAME, Math.max(1, timeout.toMillis()));
+  }
+
+  /**
+   * convenience factory method which creates a {@code Parameter} object that sets the priority of the request. The
+   * priority is used by a {@link RequestScheduler} and not sent to Facebook.
+   *
+   * @param priority
+   *          the priority of the request
+   *
+   * @return Parameter object
+   * @since 2026.8.0
+   */
+  public static Parameter withPriority(RequestPriority priority) {
+    if (priority == null) {
+      throw new IllegalArgumentException("The priority must not be null");
+    }
+    return Parameter.with(PRIORITY_PARAM_NAME, priority.name());
+  }
+
   /**
    * convenience factory method which creates a {@code Parameter} object to fetch data from API with given limit
    *
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static com.restfb.util.UrlUtils.extractObjectIdFromUrl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.restfb.exception.FacebookRateLimitException;
+
+/**
+ * Enforces hard client-side request limits before a request is handed to the {@link WebRequestor}.
+ * <p>
+ * Every limit is a token bucket: it allows {@code permits} requests per {@code period} and bursts of up to
+ * {@code permits} requests. Limits can be set per access token, per page and per ad account. The page and the ad account
+ * are taken from the first path segment of the request, ad accounts are recognized by their {@code act_} prefix.
+ * Requests to {@code me} are only limited by the access token limit.
+ * <p>
+ * A request that exceeds a limit waits until the bucket allows it. If the wait would be longer than {@code maxWait},
+ * the request fails with a {@link FacebookRateLimitException} and doesn't consume a permit.
+ * <p>
+ * The buckets are lock-free, so concurrent requests of different tenants don't contend. Access token buckets are keyed
+ * by a SHA-256 digest of the token, so the limiter never keeps a raw access token. Used with
+ * {@link DefaultFacebookClient#setRequestRateLimiter(RequestRateLimiter)}; one instance may be shared by several
+ * clients.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+ *   .accessTokenLimit(200, Duration.ofMinutes(1)).adAccountLimit(50, Duration.ofMinutes(1)).build();
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public final class RequestRateLimiter {
+
+  private static final String TOKEN_KEY_PREFIX = "token:";
+
+  private static final String PAGE_KEY_PREFIX = "page:";
+
+  private static final String AD_ACCOUNT_KEY_PREFIX = "act:";
+
+  private static final String AD_ACCOUNT_PREFIX = "act_";
+
+  private static final String ME = "me";
+
+  /**
+   * number of acquired permits after that idle buckets are removed
+   */
+  private static final int CLEANUP_INTERVAL = 1024;
+
+  private final Limit accessTokenLimit;
+
+  private final Limit pageLimit;
+
+  private final Limit adAccountLimit;
+
+  private final Duration maxWait;
+
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  private final AtomicInteger acquisitions = new AtomicInteger();
+
+  private RequestRateLimiter(RequestRateLimiterBuilder builder) {
+    this.accessTokenLimit = builder.accessTokenLimit;
+    this.pageLimit = builder.pageLimit;
+    this.adAccountLimit = builder.adAccountLimit;
+    this.maxWait = builder.maxWait;
+  }
+
+  /**
+   * Acquires a permit of every limit that applies to the request.
+   *
+   * @param accessToken
+   *          the access token the request is sent with, may be {@code null}
+   * @param requestUrl
+   *          the full URL of the request
+   * @return the time the request has to wait before it may be sent, {@link Duration#ZERO} if it may be sent immediately
+   * @throws FacebookRateLimitException
+   *           If the request would have to wait longer than {@code maxWait}.
+   */
+  public Duration acquire(String accessToken, String requestUrl) {
+    return acquire(AccessTokenKey.of(accessToken), requestUrl);
+  }
+
+  /**
+   * Acquires a permit of every limit that applies to the request, with the cached key of the access token.
+   */
+  Duration acquire(AccessTokenKey accessTokenKey, String requestUrl) {
+    long now = System.nanoTime();
+    cleanUpIfNecessary(now);
+
+    List<TokenBucket> reserved = new ArrayList<>(3);
+    long waitNanos = 0;
+    for (AppliedLimit limit : limits(accessTokenKey, requestUrl)) {
+      TokenBucket bucket = buckets.computeIfAbsent(limit.bucketKey, key -> new TokenBucket(limit.limit, now));
+      long bucketWaitNanos = bucket.reserve(now, maxWait.toNanos());
+      if (bucketWaitNanos > maxWait.toNanos()) {
+        reserved.forEach(TokenBucket::release);
+        Duration retryAfter = Duration.ofNanos(bucketWaitNanos);
+        throw new FacebookRateLimitException("Client-side " + limit.name + " limit " + limit.limit
+            + " is exceeded, retry after " + retryAfter, retryAfter);
+      }
+      reserved.add(bucket);
+      waitNanos = Math.max(waitNanos, bucketWaitNanos);
+    }
+    return Duration.ofNanos(waitNanos);
+  }
+
+  /**
+   * Acquires a permit of every limit that applies to the request only if the request may be sent immediately. Used for
+   * optional requests like hedges, which are rather skipped than delayed.
+   *
+   * @param accessToken
+   *          the access token the request is sent with, may be {@code null}
+   * @param requestUrl
+   *          the full URL of the request
+   * @return {@code true} if the permits were acquired, {@code false} if the request would have to wait
+   */
+  public boolean tryAcquire(String accessToken, String requestUrl) {
+    long now = System.nanoTime();
+    cleanUpIfNecessary(now);
+
+    List<TokenBucket> reserved = new ArrayList<>(3);
+    for (AppliedLimit limit : limits(AccessTokenKey.of(accessToken), requestUrl)) {
+      TokenBucket bucket = buckets.computeIfAbsent(limit.bucketKey, key -> new TokenBucket(limit.limit, now));
+      if (bucket.reserve(now, 0) > 0) {
+        reserved.forEach(TokenBucket::release);
+        return false;
+      }
+      reserved.add(bucket);
+    }
+    return true;
+  }
+
+  /**
+   * @return the limit per access token, {@code null} if not limited
+   */
+  public Limit getAccessTokenLimit() {
+    return accessTokenLimit;
+  }
+
+  /**
+   * @return the limit per page, {@code null} if not limited
+   */
+  public Limit getPageLimit() {
+    return pageLimit;
+  }
+
+  /**
+   * @return the limit per ad account, {@code null} if not limited
+   */
+  public Limit getAdAccountLimit() {
+    return adAccountLimit;
+  }
+
+  /**
+   * @return the longest time a request waits before it fails with a {@link FacebookRateLimitException}
+   */
+  public Duration getMaxWait() {
+    return maxWait;
+  }
+
+  @Override
+  public String toString() {
+    return "RequestRateLimiter[accessTokenLimit=" + accessTokenLimit + ", pageLimit=" + pageLimit + ", adAccountLimit="
+        + adAccountLimit + ", maxWait=" + maxWait + "]";
+  }
+
+  private List<AppliedLimit> limits(AccessTokenKey accessTokenKey, String requestUrl) {
+    List<AppliedLimit> limits = new ArrayList<>(3);
+    if (accessTokenLimit != null) {
+      limits.add(
+        new AppliedLimit("access token", TOKEN_KEY_PREFIX + accessTokenKey.getDigest(), accessTokenLimit));
+    }
+
+    String objectId = extractObjectIdFromUrl(requestUrl);
+    if (objectId == null || ME.equals(objectId)) {
+      return limits;
+    }
+
+    if (objectId.startsWith(AD_ACCOUNT_PREFIX)) {
+      if (adAccountLimit != null) {
+        limits.add(new AppliedLimit("ad account",
+          AD_ACCOUNT_KEY_PREFIX + objectId.substring(AD_ACCOUNT_PREFIX.length()), adAccountLimit));
+      }
+    } else if (pageLimit != null) {
+      limits.add(new AppliedLimit("page", PAGE_KEY_PREFIX + objectId, pageLimit));
+    }
+    return limits;
+  }
+
+  /**
+   * A limit that applies to a request, together with the key of its bucket.
+   */
+  private static final class AppliedLimit {
+
+    private final String name;
+
+    private final String bucketKey;
+
+    private final Limit limit;
+
+    AppliedLimit(String name, String bucketKey, Limit limit) {
+      this.name = name;
+      this.bucketKey = bucketKey;
+      this.limit = limit;
+    }
+  }
+
+  private void cleanUpIfNecessary(long now) {
+    if (acquisitions.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+      buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+  }
+
+  /**
+   * A limit of {@code permits} requests per {@code period}.
+   */
+  public static final class Limit {
+
+    private final int permits;
+
+    private final Duration period;
+
+    private Limit(int permits, Duration period) {
+      verifyParameterPresence("period", period);
+      if (permits < 1) {
+        throw new IllegalArgumentException("The number of permits must be at least 1, but was " + permits);
+      }
+      if (period.isNegative() || period.isZero()) {
+        throw new IllegalArgumentException("The period must be positive");
+      }
+      this.permits = permits;
+      this.period = period;
+    }
+
+    /**
+     * @return the number of requests allowed per period, this is also the maximum burst
+     */
+    public int getPermits() {
+      return permits;
+    }
+
+    /**
+     * @return the period the permits are refilled in
+     */
+    public Duration getPeriod() {
+      return period;
+    }
+
+    @Override
+    public String toString() {
+      return permits + "/" + period;
+    }
+  }
+
+  /**
+   * Lock-free token bucket based on the generic cell rate algorithm: instead of counting tokens, the bucket stores the
+   * time at that it is empty again, i.e. the theoretical arrival time of the next request.
+   */
+  private static final class TokenBucket {
+
+    private final long intervalNanos;
+
+    private final long capacityNanos;
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(Limit limit, long now) {
+      this.intervalNanos = Math.max(1, limit.getPeriod().toNanos() / limit.getPermits());
+      this.capacityNanos = intervalNanos * limit.getPermits();
+      this.theoreticalArrivalNanos = new AtomicLong(now);
+    }
+
+    /**
+     * Reserves a permit if the request doesn't have to wait longer than {@code maxWaitNanos}.
+     *
+     * @return the time the request has to wait, no permit is reserved if it is greater than {@code maxWaitNanos}
+     */
+    long reserve(long now, long maxWaitNanos) {
+      while (true) {
+        long current = theoreticalArrivalNanos.get();
+        long next = Math.max(current - now, 0) + now + intervalNanos;
+        long waitNanos = Math.max(0, next - capacityNanos - now);
+        if (waitNanos > maxWaitNanos || theoreticalArrivalNanos.compareAndSet(current, next)) {
+          return waitNanos;
+        }
+      }
+    }
+
+    void release() {
+      theoreticalArrivalNanos.addAndGet(-intervalNanos);
+    }
+
+    boolean isFull(long now) {
+      return theoreticalArrivalNanos.get() - now <= 0;
+    }
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link RequestRateLimiter}.
+   */
+  public static class RequestRateLimiterBuilder {
+    private Limit accessTokenLimit;
+    private Limit pageLimit;
+    private Limit adAccountLimit;
+    private Duration maxWait = Duration.ofMinutes(1);
+
+    /**
+     * Limits the requests per access token. Not limited by default.
+     *
+     * @param permits
+     *          The number of requests allowed per period.
+     * @param period
+     *          The period.
+     * @return This builder.
+     */
+    public RequestRateLimiterBuilder accessTokenLimit(int permits, Duration period) {
+      this.accessTokenLimit = new Limit(permits, period);
+      return this;
+    }
+
+    /**
+     * Limits the requests per page, i.e. per object in the first path segment that is no ad account. Not limited by
+     * default.
+     *
+     * @param permits
+     *          The number of requests allowed per period.
+     * @param period
+     *          The period.
+     * @return This builder.
+     */
+    public RequestRateLimiterBuilder pageLimit(int permits, Duration period) {
+      this.pageLimit = new Limit(permits, period);
+      return this;
+    }
+
+    /**
+     * Limits the requests per ad account. Not limited by default.
+     *
+     * @param permits
+     *          The number of requests allowed per period.
+     * @param period
+     *          The period.
+     * @return This builder.
+     */
+    public RequestRateLimiterBuilder adAccountLimit(int permits, Duration period) {
+      this.adAccountLimit = new Limit(permits, period);
+      return this;
+    }
+
+    /**
+     * Sets the longest time a request waits for a permit. Requests that would have to wait longer fail with a
+     * {@link FacebookRateLimitException}. 1 minute is the default value, {@link Duration#ZERO} fails immediately.
+     *
+     * @param maxWait
+     *          The longest time a request waits.
+     * @return This builder.
+     */
+    public RequestRateLimiterBuilder maxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    /**
+     * Generates a {@link RequestRateLimiter} instance with the configuration of this builder.
+     *
+     * @return A {@link RequestRateLimiter} instance.
+     * @throws IllegalArgumentException
+     *           If a value is out of range.
+     */
+    public RequestRateLimiter build() {
+      verifyParameterPresence("maxWait", maxWait);
+
+      if (maxWait.isNegative()) {
+        throw new IllegalArgumentException("The maximum wait must not be negative");
+      }
+
+      return new RequestRateLimiter(this);
+    }
+  }
+}
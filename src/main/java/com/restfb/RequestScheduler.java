@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.restfb.util.ConcurrencyUtils;
+
+/**
+ * Caps the number of requests in flight and sends pending requests in the order of their {@link RequestPriority}.
+ * <p>
+ * At most {@code maxConcurrentRequests} requests are in flight at the same time, and at most
+ * {@code maxConcurrentRequestsPerToken} of them use the same access token. Further requests wait in a queue without
+ * blocking a thread. When a request completes, the pending request with the highest priority that its access token
+ * allows is sent next, requests with the same priority are sent in the order they were submitted. So interactive
+ * requests with {@link RequestPriority#HIGH} overtake background requests with {@link RequestPriority#LOW}, and a
+ * single access token cannot use up all slots.
+ * <p>
+ * Used with a {@link SchedulingWebRequestor}. One scheduler can be shared by several clients to enforce a common cap.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(32)
+ *   .maxConcurrentRequestsPerToken(8).build();
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public final class RequestScheduler {
+
+  private static final Comparator<PendingRequest<?>> PENDING_ORDER =
+      Comparator.<PendingRequest<?>, RequestPriority> comparing(pendingRequest -> pendingRequest.priority)
+        .thenComparingLong(pendingRequest -> pendingRequest.sequence);
+
+  private final int maxConcurrentRequests;
+
+  private final int maxConcurrentRequestsPerToken;
+
+  private final Object lock = new Object();
+
+  /**
+   * Pending requests per access token.
+   */
+  private final Map<String, TokenQueue> tokenQueues = new HashMap<>();
+
+  /**
+   * The first pending request of every access token that has a free slot, so the next request is found without looking
+   * at the requests of access tokens that reached their limit.
+   */
+  private final NavigableSet<PendingRequest<?>> sendableRequests = new TreeSet<>(PENDING_ORDER);
+
+  private int inFlight;
+
+  private int pendingCount;
+
+  private long sequence;
+
+  private RequestScheduler(RequestSchedulerBuilder builder) {
+    this.maxConcurrentRequests = builder.maxConcurrentRequests;
+    this.maxConcurrentRequestsPerToken = builder.maxConcurrentRequestsPerToken;
+  }
+
+  /**
+   * Sends the request as soon as the limits allow it.
+   * <p>
+   * Cancelling the returned future removes a pending request from the queue and cancels a request in flight.
+   *
+   * @param accessToken
+   *          the access token of the request, may be {@code null}
+   * @param priority
+   *          the priority of the request, {@code null} for {@link RequestPriority#NORMAL}
+   * @param request
+   *          sends the request, called once
+   * @param <T>
+   *          the result type
+   * @return future that completes with the result of the request
+   */
+  public <T> CompletableFuture<T> submit(String accessToken, RequestPriority priority,
+      Supplier<CompletableFuture<T>> request) {
+    PendingRequest<T> pendingRequest = new PendingRequest<>(accessToken == null ? "" : accessToken,
+      priority == null ? RequestPriority.NORMAL : priority, request);
+    synchronized (lock) {
+      pendingRequest.sequence = sequence++;
+      TokenQueue tokenQueue = tokenQueues.computeIfAbsent(pendingRequest.accessToken, token -> new TokenQueue());
+      unmarkSendable(tokenQueue);
+      tokenQueue.pendingRequests.add(pendingRequest);
+      pendingCount++;
+      markSendable(tokenQueue);
+    }
+    pendingRequest.result.whenComplete((result, throwable) -> {
+      if (pendingRequest.result.isCancelled()) {
+        pendingRequest.cancel();
+      }
+    });
+    dispatch(pendingRequest);
+    return pendingRequest.result;
+  }
+
+  /**
+   * @return the number of requests in flight
+   */
+  public int getInFlightCount() {
+    synchronized (lock) {
+      return inFlight;
+    }
+  }
+
+  /**
+   * @return the number of requests waiting to be sent
+   */
+  public int getPendingCount() {
+    synchronized (lock) {
+      return pendingCount;
+    }
+  }
+
+  /**
+   * @return the maximum number of requests in flight
+   */
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  /**
+   * @return the maximum number of requests in flight per access token
+   */
+  public int getMaxConcurrentRequestsPerToken() {
+    return maxConcurrentRequestsPerToken;
+  }
+
+  @Override
+  public String toString() {
+    return "RequestScheduler[maxConcurrentRequests=" + maxConcurrentRequests + ", maxConcurrentRequestsPerToken="
+        + maxConcurrentRequestsPerToken + "]";
+  }
+
+  /**
+   * Sends pending requests while there are free slots. Only the request of the submitting thread is sent on the calling
+   * thread, all others are sent on the default executor, so a thread is never blocked by the synchronous requestor of
+   * another request.
+   */
+  private void dispatch(PendingRequest<?> submitted) {
+    while (true) {
+      PendingRequest<?> next;
+      synchronized (lock) {
+        next = pollSendable();
+        if (next == null) {
+          return;
+        }
+      }
+      if (next == submitted) {
+        next.send();
+      } else {
+        ConcurrencyUtils.defaultExecutor().execute(next::send);
+      }
+    }
+  }
+
+  /**
+   * Removes the pending request with the highest priority that may be sent now and reserves its slot.
+   */
+  private PendingRequest<?> pollSendable() {
+    if (inFlight >= maxConcurrentRequests) {
+      return null;
+    }
+    PendingRequest<?> pendingRequest = sendableRequests.pollFirst();
+    if (pendingRequest == null) {
+      return null;
+    }
+    TokenQueue tokenQueue = tokenQueues.get(pendingRequest.accessToken);
+    tokenQueue.pendingRequests.pollFirst();
+    pendingCount--;
+    tokenQueue.inFlight++;
+    inFlight++;
+    markSendable(tokenQueue);
+    return pendingRequest;
+  }
+
+  private void release(String accessToken) {
+    synchronized (lock) {
+      TokenQueue tokenQueue = tokenQueues.get(accessToken);
+      unmarkSendable(tokenQueue);
+      tokenQueue.inFlight--;
+      inFlight--;
+      markSendable(tokenQueue);
+      removeIfUnused(accessToken, tokenQueue);
+    }
+    dispatch(null);
+  }
+
+  /**
+   * Adds the first pending request of the access token to the sendable requests if the access token has a free slot.
+   */
+  private void markSendable(TokenQueue tokenQueue) {
+    if (!tokenQueue.pendingRequests.isEmpty() && tokenQueue.inFlight < maxConcurrentRequestsPerToken) {
+      sendableRequests.add(tokenQueue.pendingRequests.first());
+    }
+  }
+
+  /**
+   * Removes the first pending request of the access token from the sendable requests before its queue or slots change.
+   */
+  private void unmarkSendable(TokenQueue tokenQueue) {
+    if (!tokenQueue.pendingRequests.isEmpty()) {
+      sendableRequests.remove(tokenQueue.pendingRequests.first());
+    }
+  }
+
+  private void removeIfUnused(String accessToken, TokenQueue tokenQueue) {
+    if (tokenQueue.inFlight == 0 && tokenQueue.pendingRequests.isEmpty()) {
+      tokenQueues.remove(accessToken);
+    }
+  }
+
+  private final class TokenQueue {
+
+    private final NavigableSet<PendingRequest<?>> pendingRequests = new TreeSet<>(PENDING_ORDER);
+
+    private int inFlight;
+  }
+
+  private final class PendingRequest<T> {
+
+    private final String accessToken;
+
+    private final RequestPriority priority;
+
+    private final Supplier<CompletableFuture<T>> request;
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private long sequence;
+
+    private volatile CompletableFuture<T> call;
+
+    PendingRequest(String accessToken, RequestPriority priority, Supplier<CompletableFuture<T>> request) {
+      this.accessToken = accessToken;
+      this.priority = priority;
+      this.request = request;
+    }
+
+    void send() {
+      if (result.isDone()) {
+        // cancelled while its slot was reserved
+        release(accessToken);
+        return;
+      }
+
+      CompletableFuture<T> newCall;
+      try {
+        newCall = request.get();
+      } catch (RuntimeException e) {
+        newCall = CompletableFuture.failedFuture(e);
+      }
+      call = newCall;
+      newCall.whenComplete((response, throwable) -> {
+        release(accessToken);
+        if (throwable == null) {
+          result.complete(response);
+        } else {
+          result.completeExceptionally(throwable);
+        }
+      });
+      if (result.isCancelled()) {
+        newCall.cancel(true);
+      }
+    }
+
+    void cancel() {
+      synchronized (lock) {
+        TokenQueue tokenQueue = tokenQueues.get(accessToken);
+        if (tokenQueue != null && tokenQueue.pendingRequests.contains(this)) {
+          unmarkSendable(tokenQueue);
+          tokenQueue.pendingRequests.remove(this);
+          pendingCount--;
+          markSendable(tokenQueue);
+          removeIfUnused(accessToken, tokenQueue);
+          return;
+        }
+      }
+      CompletableFuture<T> currentCall = call;
+      if (currentCall != null) {
+        currentCall.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Builder for the {@link RequestScheduler}.
+   */
+  public static class RequestSchedulerBuilder {
+    private int maxConcurrentRequests = 64;
+    private int maxConcurrentRequestsPerToken = 16;
+
+    /**
+     * Sets the maximum number of requests in flight, {@code 64} is the default value.
+     *
+     * @param maxConcurrentRequests
+     *          The maximum number of requests in flight.
+     * @return This builder.
+     */
+    public RequestSchedulerBuilder maxConcurrentRequests(int maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of requests in flight that use the same access token, {@code 16} is the default value.
+     *
+     * @param maxConcurrentRequestsPerToken
+     *          The maximum number of requests in flight per access token.
+     * @return This builder.
+     */
+    public RequestSchedulerBuilder maxConcurrentRequestsPerToken(int maxConcurrentRequestsPerToken) {
+      this.maxConcurrentRequestsPerToken = maxConcurrentRequestsPerToken;
+      return this;
+    }
+
+    /**
+     * Generates a {@link RequestScheduler} instance with the configuration of this builder.
+     *
+     * @return A {@link RequestScheduler} instance.
+     * @throws IllegalArgumentException
+     *           If a value is out of range.
+     */
+    public RequestScheduler build() {
+      if (maxConcurrentRequests < 1 || maxConcurrentRequestsPerToken < 1) {
+        throw new IllegalArgumentException("The maximum numbers of concurrent requests must be at least 1");
+      }
+      return new RequestScheduler(this);
+    }
+  }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.restfb.exception.FacebookGraphException;
+import com.restfb.exception.FacebookNetworkException;
+
+/**
+ * Describes how often and how fast failed requests are retried.
+ * <p>
+ * A retry waits for an exponential backoff with <em>full jitter</em>: the n-th retry waits a random time between zero
+ * and {@code min(maxBackoff, initialBackoff * 2^(n-1))}. The randomization spreads the retries of many clients over
+ * time, so they don't hit the Graph API in waves during an incident. All attempts, including the backoff, have to fit
+ * into the optional total {@code deadline}.
+ * <p>
+ * Used with {@link DefaultFacebookClient#setRetryPolicy(RetryPolicy)}, requests that failed with a
+ * {@link FacebookNetworkException} (including RST_STREAM and GOAWAY errors) or with a {@link FacebookGraphException}
+ * marked as transient are retried. Only {@code GET} requests are retried by default, because {@code POST} and
+ * {@code DELETE} requests may have been applied although the response was lost. Retrying them has to be enabled with
+ * {@link RetryPolicyBuilder#retryPost(boolean)}.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * RetryPolicy retryPolicy = new RetryPolicy.RetryPolicyBuilder().maxAttempts(4)
+ *   .initialBackoff(Duration.ofMillis(500)).deadline(Duration.ofSeconds(30)).build();
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public final class RetryPolicy {
+
+  private final int maxAttempts;
+
+  private final Duration initialBackoff;
+
+  private final Duration maxBackoff;
+
+  private final Duration deadline;
+
+  private final boolean retryPost;
+
+  private RetryPolicy(RetryPolicyBuilder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.deadline = builder.deadline;
+    this.retryPost = builder.retryPost;
+  }
+
+  /**
+   * Checks if requests with the given HTTP method may be retried.
+   *
+   * @param httpMethod
+   *          the HTTP method, for example {@code "GET"}
+   * @return {@code true} for {@code GET} requests, for other requests only if {@link #isRetryPost()} is enabled
+   */
+  public boolean isRetryableMethod(String httpMethod) {
+    return "GET".equalsIgnoreCase(httpMethod) || retryPost;
+  }
+
+  /**
+   * Checks if a request that failed with the given exception may be retried.
+   *
+   * @param throwable
+   *          the exception the request failed with
+   * @return {@code true} for network errors and transient Graph API errors
+   */
+  public boolean isRetryableException(Throwable throwable) {
+    if (throwable instanceof FacebookNetworkException) {
+      return true;
+    }
+    return throwable instanceof FacebookGraphException
+        && Boolean.TRUE.equals(((FacebookGraphException) throwable).getIsTransient());
+  }
+
+  /**
+   * Returns the time to wait before the given retry.
+   *
+   * @param retry
+   *          the number of the retry, starting with {@code 1} for the second attempt
+   * @return a random backoff between zero and the exponential backoff for this retry
+   */
+  public Duration backoff(int retry) {
+    long initialNanos = initialBackoff.toNanos();
+    long maxNanos = maxBackoff.toNanos();
+    int shift = Math.max(0, Math.min(retry - 1, 62));
+    long exponentialNanos = initialNanos > (maxNanos >> shift) ? maxNanos : initialNanos << shift;
+    long cappedNanos = Math.min(exponentialNanos, maxNanos);
+    return cappedNanos <= 0 ? Duration.ZERO : Duration.ofNanos(ThreadLocalRandom.current().nextLong(cappedNanos + 1));
+  }
+
+  /**
+   * Checks if another attempt may be started after the given backoff.
+   *
+   * @param attemptsMade
+   *          the number of attempts made so far
+   * @param startNanos
+   *          the start of the first attempt as returned by {@link System#nanoTime()}
+   * @param backoff
+   *          the backoff before the next attempt
+   * @return {@code true} if the maximum number of attempts is not reached and the next attempt starts before the
+   *         deadline
+   */
+  public boolean canRetry(int attemptsMade, long startNanos, Duration backoff) {
+    if (attemptsMade >= maxAttempts) {
+      return false;
+    }
+    return deadline == null || System.nanoTime() - startNanos + backoff.toNanos() < deadline.toNanos();
+  }
+
+  /**
+   * @return the maximum number of attempts, including the first one
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * @return the backoff limit of the first retry
+   */
+  public Duration getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  /**
+   * @return the upper limit of every backoff
+   */
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  /**
+   * @return the total time all attempts may take, {@code null} if there is no deadline
+   */
+  public Duration getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * @return {@code true} if {@code POST} and {@code DELETE} requests are retried, too
+   */
+  public boolean isRetryPost() {
+    return retryPost;
+  }
+
+  @Override
+  public String toString() {
+    return "RetryPolicy[maxAttempts=" + maxAttempts + ", initialBackoff=" + initialBackoff + ", maxBackoff="
+        + maxBackoff + ", deadline=" + deadline + ", retryPost=" + retryPost + "]";
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link RetryPolicy}.
+   */
+  public static class RetryPolicyBuilder {
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(10);
+    private Duration deadline;
+    private boolean retryPost;
+
+    /**
+     * Sets the maximum number of attempts including the first one, {@code 3} is the default value.
+     *
+     * @param maxAttempts
+     *          The maximum number of attempts.
+     * @return This builder.
+     */
+    public RetryPolicyBuilder maxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the backoff limit of the first retry, every further retry doubles the limit. 200 milliseconds is the default
+     * value.
+     *
+     * @param initialBackoff
+     *          The backoff limit of the first retry.
+     * @return This builder.
+     */
+    public RetryPolicyBuilder initialBackoff(Duration initialBackoff) {
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the upper limit of every backoff, 10 seconds is the default value.
+     *
+     * @param maxBackoff
+     *          The upper limit of every backoff.
+     * @return This builder.
+     */
+    public RetryPolicyBuilder maxBackoff(Duration maxBackoff) {
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the total time all attempts may take. No retry is started if its backoff would end after the deadline. There
+     * is no deadline by default.
+     *
+     * @param deadline
+     *          The total time all attempts may take, {@code null} for no deadline.
+     * @return This builder.
+     */
+    public RetryPolicyBuilder deadline(Duration deadline) {
+      this.deadline = deadline;
+      return this;
+    }
+
+    /**
+     * Enables retries of {@code POST} and {@code DELETE} requests. Only enable this if the requests are idempotent,
+     * because a failed request may have been applied although its response was lost. Attachments of a retried request
+     * must be readable more than once. Disabled by default.
+     *
+     * @param retryPost
+     *          {@code true} to retry {@code POST} and {@code DELETE} requests, too.
+     * @return This builder.
+     */
+    public RetryPolicyBuilder retryPost(boolean retryPost) {
+      this.retryPost = retryPost;
+      return this;
+    }
+
+    /**
+     * Generates a {@link RetryPolicy} instance with the configuration of this builder.
+     *
+     * @return A {@link RetryPolicy} instance.
+     * @throws IllegalArgumentException
+     *           If a value is out of range.
+     */
+    public RetryPolicy build() {
+      verifyParameterPresence("initialBackoff", initialBackoff);
+      verifyParameterPresence("maxBackoff", maxBackoff);
+
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("The maximum number of attempts must be at least 1, but was " + maxAttempts);
+      }
+      if (initialBackoff.isNegative() || maxBackoff.isNegative()) {
+        throw new IllegalArgumentException("The backoff must not be negative");
+      }
+      if (deadline != null && (deadline.isNegative() || deadline.isZero())) {
+        throw new IllegalArgumentException("The deadline must be positive");
+      }
+
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.WebRequestorSupport.accessToken;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * WebRequestor that sends all requests through a {@link RequestScheduler}, which caps the number of requests in flight
+ * globally and per access token and sends pending requests in the order of their {@link RequestPriority}.
+ * <p>
+ * The priority of a request is set with {@link Parameter#withPriority(RequestPriority)}, the pages of a connection are
+ * fetched with the priority of the connection. The access token is taken from the HTTP header or the
+ * {@code access_token} parameter of the request URL.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(32).build();
+ * FacebookClient client = new DefaultFacebookClient(accessToken,
+ *   new SchedulingWebRequestor(new DefaultWebRequestor(), scheduler), Version.LATEST);
+ *
+ * client.fetchObject("me", User.class, Parameter.withPriority(RequestPriority.HIGH));
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public class SchedulingWebRequestor implements WebRequestor {
+
+  private final WebRequestor delegate;
+
+  private final RequestScheduler scheduler;
+
+  /**
+   * Creates a scheduling requestor.
+   *
+   * @param delegate
+   *          the requestor that sends the requests
+   * @param scheduler
+   *          the scheduler, may be shared with other requestors
+   */
+  public SchedulingWebRequestor(WebRequestor delegate, RequestScheduler scheduler) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.scheduler = Objects.requireNonNull(scheduler, "scheduler must not be null");
+  }
+
+  @Override
+  public Response executeGet(Request request) throws IOException {
+    return WebRequestorSupport.await(executeGetAsync(request));
+  }
+
+  @Override
+  public CompletableFuture<Response> executeGetAsync(Request request) {
+    return scheduler.submit(accessToken(request), request.getPriority(), () -> delegate.executeGetAsync(request));
+  }
+
+  @Override
+  public Response executePost(Request request) throws IOException {
+    return WebRequestorSupport.await(executePostAsync(request));
+  }
+
+  @Override
+  public CompletableFuture<Response> executePostAsync(Request request) {
+    return scheduler.submit(accessToken(request), request.getPriority(), () -> delegate.executePostAsync(request));
+  }
+
+  @Override
+  public Response executeDelete(Request request) throws IOException {
+    return WebRequestorSupport.await(executeDeleteAsync(request));
+  }
+
+  @Override
+  public CompletableFuture<Response> executeDeleteAsync(Request request) {
+    return scheduler.submit(accessToken(request), request.getPriority(),
+      () -> delegate.executeDeleteAsync(request));
+  }
+
+  /**
+   * @return the scheduler the requests are sent through
+   */
+  public RequestScheduler getScheduler() {
+    return scheduler;
+  }
+}
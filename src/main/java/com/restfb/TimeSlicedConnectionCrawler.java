@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.restfb.util.ConcurrencyUtils;
+
+/**
+ * Crawls a time-based connection, like a page feed or insights, by splitting a {@code since}/{@code until} range into
+ * windows and paging every window with its own
+ * {@link FacebookClient#fetchConnection(String, Class, Parameter...) fetchConnection} call.
+ * <p>
+ * Up to {@code parallelism} windows are fetched at the same time, so a long serial cursor crawl turns into several
+ * shorter ones that run in parallel. The windows are adjacent and don't overlap: every window except the last one ends
+ * one second before the next one starts, the last one ends with the {@code until} instant of the range.
+ * <p>
+ * The windows are streamed page by page: a window fetches its next page only when the caller starts to consume the
+ * current one, so at most {@code parallelism} pages are buffered, regardless of the size of a window. The trade-off is
+ * that a window doesn't run ahead of the caller; with the ordered {@link #stream()} the later windows wait after their
+ * first page until the caller reaches them.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * TimeSlicedConnectionCrawler&lt;Post&gt; crawler =
+ *     new TimeSlicedConnectionCrawler.TimeSlicedConnectionCrawlerBuilder&lt;&gt;(facebookClient, "me/feed", Post.class)
+ *       .since(since).until(until).window(Duration.ofDays(7)).parallelism(4).build();
+ *
+ * try (Stream&lt;Post&gt; posts = crawler.stream()) {
+ *   posts.forEach(post -&gt; process(post));
+ * }
+ * </pre>
+ *
+ * @param <T>
+ *          The Facebook type
+ * @since 2026.8.0
+ */
+public class TimeSlicedConnectionCrawler<T> {
+
+  private final FacebookClient facebookClient;
+
+  private final String connection;
+
+  private final Class<T> connectionType;
+
+  private final List<TimeWindow> windows;
+
+  private final int parallelism;
+
+  private final Executor executor;
+
+  private final List<Parameter> parameters;
+
+  /**
+   * Designed to be invoked by instances of {@link TimeSlicedConnectionCrawlerBuilder}.
+   *
+   * @param builder
+   *          the builder holding the crawler configuration
+   */
+  protected TimeSlicedConnectionCrawler(TimeSlicedConnectionCrawlerBuilder<T> builder) {
+    this.facebookClient = builder.facebookClient;
+    this.connection = builder.connection;
+    this.connectionType = builder.connectionType;
+    this.parallelism = builder.parallelism;
+    this.executor = builder.executor;
+    this.parameters = Collections.unmodifiableList(new ArrayList<>(builder.parameters));
+    this.windows = Collections.unmodifiableList(createWindows(builder.since, builder.until, builder.window));
+  }
+
+  private static List<TimeWindow> createWindows(Instant since, Instant until, Duration window) {
+    List<TimeWindow> windowList = new ArrayList<>();
+    Instant windowStart = since;
+    while (windowStart.isBefore(until)) {
+      Instant nextStart = windowStart.plus(window);
+      if (nextStart.isBefore(until)) {
+        windowList.add(new TimeWindow(windowStart, nextStart.minusSeconds(1)));
+      } else {
+        windowList.add(new TimeWindow(windowStart, until));
+      }
+      windowStart = nextStart;
+    }
+    return windowList;
+  }
+
+  /**
+   * Returns the time windows this crawler fetches, in chronological order.
+   *
+   * @return the time windows
+   */
+  public List<TimeWindow> getWindows() {
+    return windows;
+  }
+
+  /**
+   * Crawls the connection and returns the items ordered by window.
+   * <p>
+   * The windows are returned in chronological order, the items of a window in the order the Graph API returned them.
+   * While the caller consumes a window, the first pages of the following windows are fetched in the background. At most
+   * {@code parallelism} windows are fetched at any time, each of them buffers at most one page. Closing the stream
+   * cancels pages that have not been fetched yet.
+   *
+   * @return the ordered stream of items
+   */
+  public Stream<T> stream() {
+    OrderedWindowSpliterator spliterator = new OrderedWindowSpliterator();
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+  }
+
+  /**
+   * Crawls the connection and returns the items of a page as soon as it is fetched.
+   * <p>
+   * The order of the windows is not defined, the items of a window keep the order the Graph API returned them. At most
+   * {@code parallelism} windows are fetched at any time, each of them buffers at most one page. Closing the stream
+   * cancels pages that have not been fetched yet.
+   *
+   * @return the unordered stream of items
+   */
+  public Stream<T> unorderedStream() {
+    UnorderedWindowSpliterator spliterator = new UnorderedWindowSpliterator();
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+  }
+
+  /**
+   * Fetches the first page of the given window. The following pages are fetched with
+   * {@link Connection#fetchNextPage()} when the caller consumes the window.
+   *
+   * @param window
+   *          the time window to fetch
+   * @return the first page of the window
+   */
+  protected Connection<T> fetchFirstPage(TimeWindow window) {
+    List<Parameter> windowParameters = new ArrayList<>(parameters);
+    windowParameters.add(Parameter.with("since", window.getSince().getEpochSecond()));
+    windowParameters.add(Parameter.with("until", window.getUntil().getEpochSecond()));
+
+    return facebookClient.fetchConnection(connection, connectionType, windowParameters.toArray(new Parameter[0]));
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * A window that is fetched page by page. Only the page the caller consumes next is fetched, so a window buffers at
+   * most one page.
+   */
+  private final class WindowCursor {
+    private CompletableFuture<Connection<T>> nextPage;
+
+    private WindowCursor(TimeWindow window) {
+      nextPage = CompletableFuture.supplyAsync(() -> fetchFirstPage(window), executor);
+    }
+
+    /**
+     * Waits for the next page and starts to fetch the page after it.
+     *
+     * @return the items of the page
+     */
+    private List<T> takePage() {
+      Connection<T> page = join(nextPage);
+      nextPage = page.hasNext() ? CompletableFuture.supplyAsync(page::fetchNextPage, executor) : null;
+      return page.getData();
+    }
+
+    private boolean isExhausted() {
+      return nextPage == null;
+    }
+
+    private void whenFetched(Runnable action) {
+      nextPage.whenComplete((page, throwable) -> action.run());
+    }
+
+    private void cancel() {
+      if (nextPage != null) {
+        nextPage.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Base spliterator that flattens the fetched pages into single items.
+   */
+  private abstract class WindowSpliterator extends Spliterators.AbstractSpliterator<T> {
+    protected final Iterator<TimeWindow> pendingWindows = windows.iterator();
+    private Iterator<T> items = Collections.emptyIterator();
+
+    protected WindowSpliterator(int characteristics) {
+      super(Long.MAX_VALUE, characteristics);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      while (!items.hasNext()) {
+        List<T> nextPage = nextPage();
+        if (nextPage == null) {
+          return false;
+        }
+        items = nextPage.iterator();
+      }
+
+      action.accept(items.next());
+      return true;
+    }
+
+    /**
+     * @return the items of the next fetched page or {@code null} if all windows are consumed
+     */
+    protected abstract List<T> nextPage();
+
+    protected abstract void cancel();
+  }
+
+  private final class OrderedWindowSpliterator extends WindowSpliterator {
+    private final Deque<WindowCursor> inFlight = new ArrayDeque<>();
+
+    private OrderedWindowSpliterator() {
+      super(Spliterator.ORDERED);
+    }
+
+    @Override
+    protected List<T> nextPage() {
+      while (true) {
+        while (inFlight.size() < parallelism && pendingWindows.hasNext()) {
+          inFlight.add(new WindowCursor(pendingWindows.next()));
+        }
+
+        WindowCursor current = inFlight.peek();
+        if (current == null) {
+          return null;
+        }
+        if (!current.isExhausted()) {
+          return current.takePage();
+        }
+        inFlight.poll();
+      }
+    }
+
+    @Override
+    protected void cancel() {
+      inFlight.forEach(WindowCursor::cancel);
+      inFlight.clear();
+    }
+  }
+
+  private final class UnorderedWindowSpliterator extends WindowSpliterator {
+    private final BlockingQueue<WindowCursor> fetched = new LinkedBlockingQueue<>();
+    private final List<WindowCursor> inFlight = new ArrayList<>();
+
+    private UnorderedWindowSpliterator() {
+      super(0);
+    }
+
+    @Override
+    protected List<T> nextPage() {
+      while (inFlight.size() < parallelism && pendingWindows.hasNext()) {
+        WindowCursor cursor = new WindowCursor(pendingWindows.next());
+        inFlight.add(cursor);
+        cursor.whenFetched(() -> fetched.add(cursor));
+      }
+
+      if (inFlight.isEmpty()) {
+        return null;
+      }
+
+      try {
+        WindowCursor cursor = fetched.take();
+        List<T> page = cursor.takePage();
+        if (cursor.isExhausted()) {
+          inFlight.remove(cursor);
+        } else {
+          cursor.whenFetched(() -> fetched.add(cursor));
+        }
+        return page;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cancel();
+        throw new IllegalStateException("Interrupted while waiting for the next time window", e);
+      }
+    }
+
+    @Override
+    protected void cancel() {
+      inFlight.forEach(WindowCursor::cancel);
+      inFlight.clear();
+      fetched.clear();
+    }
+  }
+
+  /**
+   * A time window of the crawled range, both instants are inclusive.
+   */
+  public static final class TimeWindow {
+    private final Instant since;
+    private final Instant until;
+
+    TimeWindow(Instant since, Instant until) {
+      this.since = since;
+      this.until = until;
+    }
+
+    /**
+     * @return the start of the window, sent as {@code since} parameter
+     */
+    public Instant getSince() {
+      return since;
+    }
+
+    /**
+     * @return the end of the window, sent as {@code until} parameter
+     */
+    public Instant getUntil() {
+      return until;
+    }
+
+    @Override
+    public String toString() {
+      return "TimeWindow[" + since + " - " + until + "]";
+    }
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link TimeSlicedConnectionCrawler}.
+   *
+   * @param <T>
+   *          The Facebook type
+   */
+  public static class TimeSlicedConnectionCrawlerBuilder<T> {
+    private final FacebookClient facebookClient;
+    private final String connection;
+    private final Class<T> connectionType;
+    private final List<Parameter> parameters = new ArrayList<>();
+    private Instant since;
+    private Instant until;
+    private Duration window;
+    private int parallelism = 4;
+    private Executor executor = ConcurrencyUtils.defaultExecutor();
+
+    /**
+     * Creates a crawler builder for the given connection.
+     *
+     * @param facebookClient
+     *          The client used to fetch the windows.
+     * @param connection
+     *          The name of the connection, for example {@code "me/feed"}.
+     * @param connectionType
+     *          Connection type token.
+     */
+    public TimeSlicedConnectionCrawlerBuilder(FacebookClient facebookClient, String connection,
+        Class<T> connectionType) {
+      this.facebookClient = facebookClient;
+      this.connection = connection;
+      this.connectionType = connectionType;
+    }
+
+    /**
+     * Sets the start of the crawled range.
+     *
+     * @param since
+     *          The start of the range.
+     * @return This builder.
+     */
+    public TimeSlicedConnectionCrawlerBuilder<T> since(Instant since) {
+      this.since = since;
+      return this;
+    }
+
+    /**
+     * Sets the end of the crawled range.
+     *
+     * @param until
+     *          The end of the range.
+     * @return This builder.
+     */
+    public TimeSlicedConnectionCrawlerBuilder<T> until(Instant until) {
+      this.until = until;
+      return this;
+    }
+
+    /**
+     * Sets the length of a single time window, must be at least one second.
+     *
+     * @param window
+     *          The window length.
+     * @return This builder.
+     */
+    public TimeSlicedConnectionCrawlerBuilder<T> window(Duration window) {
+      this.window = window;
+      return this;
+    }
+
+    /**
+     * Sets the number of windows fetched at the same time, {@code 4} is the default value.
+     *
+     * @param parallelism
+     *          The number of windows fetched at the same time.
+     * @return This builder.
+     */
+    public TimeSlicedConnectionCrawlerBuilder<T> parallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the executor the windows are fetched on, the shared {@link ConcurrencyUtils#defaultExecutor() default
+     * executor} is used if none is set.
+     *
+     * @param executor
+     *          The executor.
+     * @return This builder.
+     */
+    public TimeSlicedConnectionCrawlerBuilder<T> executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets additional parameters that are sent with every window request, for example the {@code fields} parameter.
+     *
+     * @param parameters
+     *          The additional parameters.
+     * @return This builder.
+     */
+    public TimeSlicedConnectionCrawlerBuilder<T> parameters(Parameter... parameters) {
+      this.parameters.clear();
+      Collections.addAll(this.parameters, parameters);
+      return this;
+    }
+
+    /**
+     * Generates a {@link TimeSlicedConnectionCrawler} instance with the configuration of this builder.
+     *
+     * @return A {@link TimeSlicedConnectionCrawler} instance.
+     * @throws NullPointerException
+     *           If a required value is missing.
+     * @throws IllegalArgumentException
+     *           If a value is invalid.
+     */
+    public TimeSlicedConnectionCrawler<T> build() {
+      verifyParameterPresence("facebookClient", facebookClient);
+      verifyParameterPresence("connection", connection);
+      verifyParameterPresence("connectionType", connectionType);
+      verifyParameterPresence("since", since);
+      verifyParameterPresence("until", until);
+      verifyParameterPresence("window", window);
+      verifyParameterPresence("executor", executor);
+
+      if (!since.isBefore(until)) {
+        throw new IllegalArgumentException("The 'since' instant must be before the 'until' instant.");
+      }
+      if (window.getSeconds() < 1) {
+        throw new IllegalArgumentException("The window must be at least one second long.");
+      }
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("The parallelism must be at least 1.");
+      }
+      for (Parameter parameter : parameters) {
+        if ("since".equals(parameter.name) || "until".equals(parameter.name)) {
+          throw new IllegalArgumentException("The 'since' and 'until' parameters are set by the crawler.");
+        }
+      }
+
+      return new TimeSlicedConnectionCrawler<>(this);
+    }
+  }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static com.restfb.logging.RestFBLogger.CLIENT_LOGGER;
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static com.restfb.util.UrlUtils.extractObjectIdFromUrl;
+import static com.restfb.util.UrlUtils.extractPathFromUrl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.restfb.DebugHeaderInfo.BusinessUseCaseUsage;
+import com.restfb.DebugHeaderInfo.HeaderUsage;
+import com.restfb.DebugHeaderInfo.InnerBusinessUseCaseUsage;
+import com.restfb.exception.FacebookRateLimitException;
+
+/**
+ * Paces requests based on the usage headers the Graph API returns with every response.
+ * <p>
+ * The governor tracks the usage percentages of the {@code x-app-usage}, {@code x-page-usage},
+ * {@code x-ad-account-usage} and {@code x-business-use-case-usage} headers per app, per access token and per ad
+ * account or business object. Once a usage crosses the {@code slowdownThreshold}, requests to the same target are
+ * delayed. The delay grows linearly up to {@code maxDelay} when the usage reaches 100%. If Facebook reports an
+ * {@code estimated_time_to_regain_access}, requests to the affected object wait until that time is over.
+ * <p>
+ * Waits longer than {@code maxWait} are not performed; the request fails with a {@link FacebookRateLimitException}
+ * instead. Usage data that was not refreshed within the {@code usageWindow} is forgotten.
+ * <p>
+ * Used with {@link DefaultFacebookClient#setUsageRateGovernor(UsageRateGovernor)}. One instance may be shared by
+ * several clients that use the same app, so they see each other's usage.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * UsageRateGovernor governor = new UsageRateGovernor.UsageRateGovernorBuilder().slowdownThreshold(80)
+ *   .maxDelay(Duration.ofSeconds(5)).build();
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public final class UsageRateGovernor {
+
+  private static final String APP_KEY = "app";
+
+  private static final String TOKEN_KEY_PREFIX = "token:";
+
+  private static final String AD_ACCOUNT_KEY_PREFIX = "act:";
+
+  private static final String OBJECT_KEY_PREFIX = "object:";
+
+  private static final String AD_ACCOUNT_PREFIX = "act_";
+
+  private final double slowdownThreshold;
+
+  private final Duration maxDelay;
+
+  private final Duration maxWait;
+
+  private final Duration usageWindow;
+
+  private final Map<String, Usage> usages = new ConcurrentHashMap<>();
+
+  private UsageRateGovernor(UsageRateGovernorBuilder builder) {
+    this.slowdownThreshold = builder.slowdownThreshold;
+    this.maxDelay = builder.maxDelay;
+    this.maxWait = builder.maxWait;
+    this.usageWindow = builder.usageWindow;
+  }
+
+  /**
+   * Returns the time a request has to wait before it may be sent.
+   *
+   * @param accessToken
+   *          the access token the request is sent with, may be {@code null}
+   * @param requestUrl
+   *          the full URL of the request
+   * @return the delay, {@link Duration#ZERO} if the request may be sent immediately
+   * @throws FacebookRateLimitException
+   *           If the delay is longer than {@code maxWait}.
+   */
+  public Duration delay(String accessToken, String requestUrl) {
+    return delay(AccessTokenKey.of(accessToken), requestUrl);
+  }
+
+  /**
+   * Returns the time a request has to wait before it may be sent, with the cached key of the access token.
+   */
+  Duration delay(AccessTokenKey accessTokenKey, String requestUrl) {
+    long now = System.nanoTime();
+    long delayNanos = keys(accessTokenKey, requestUrl).map(key -> currentUsage(key, now)).filter(Objects::nonNull)
+      .mapToLong(usage -> usage.delayNanos(now)).max().orElse(0L);
+
+    if (delayNanos > maxWait.toNanos()) {
+      Duration retryAfter = Duration.ofNanos(delayNanos);
+      throw new FacebookRateLimitException(
+        "Usage limit of the Graph API is reached for " + extractPathFromUrl(requestUrl) + ", retry after " + retryAfter,
+        retryAfter);
+    }
+    return Duration.ofNanos(delayNanos);
+  }
+
+  /**
+   * Records the usage headers of a response.
+   *
+   * @param accessToken
+   *          the access token the request was sent with, may be {@code null}
+   * @param requestUrl
+   *          the full URL of the request
+   * @param debugHeaderInfo
+   *          the parsed response headers, may be {@code null}
+   */
+  public void record(String accessToken, String requestUrl, DebugHeaderInfo debugHeaderInfo) {
+    if (debugHeaderInfo != null) {
+      record(AccessTokenKey.of(accessToken), requestUrl, debugHeaderInfo);
+    }
+  }
+
+  /**
+   * Records the usage headers of a response, with the cached key of the access token.
+   */
+  void record(AccessTokenKey accessTokenKey, String requestUrl, DebugHeaderInfo debugHeaderInfo) {
+    if (debugHeaderInfo == null) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    recordPercentage(APP_KEY, percentage(debugHeaderInfo.getAppUsage()), now);
+    recordPercentage(TOKEN_KEY_PREFIX + accessTokenKey.getDigest(), percentage(debugHeaderInfo.getPageUsage()), now);
+
+    String objectId = extractObjectIdFromUrl(requestUrl);
+    if (objectId != null && objectId.startsWith(AD_ACCOUNT_PREFIX)) {
+      recordPercentage(AD_ACCOUNT_KEY_PREFIX + objectId.substring(AD_ACCOUNT_PREFIX.length()),
+        percentage(debugHeaderInfo.getAdAccountUsage()), now);
+    }
+
+    BusinessUseCaseUsage businessUseCaseUsage = debugHeaderInfo.getBusinessUseCaseUsage();
+    if (businessUseCaseUsage != null) {
+      for (String businessId : businessUseCaseUsage.getBusinessIds()) {
+        recordBusinessUseCaseUsage(businessId, businessUseCaseUsage.get(businessId), now);
+      }
+    }
+  }
+
+  /**
+   * @return the usage percentage from which on requests are delayed
+   */
+  public double getSlowdownThreshold() {
+    return slowdownThreshold;
+  }
+
+  /**
+   * @return the delay of requests when a usage reached 100%
+   */
+  public Duration getMaxDelay() {
+    return maxDelay;
+  }
+
+  /**
+   * @return the longest time a request waits before it fails with a {@link FacebookRateLimitException}
+   */
+  public Duration getMaxWait() {
+    return maxWait;
+  }
+
+  /**
+   * @return the time after that usage data is forgotten if it was not refreshed
+   */
+  public Duration getUsageWindow() {
+    return usageWindow;
+  }
+
+  @Override
+  public String toString() {
+    return "UsageRateGovernor[slowdownThreshold=" + slowdownThreshold + ", maxDelay=" + maxDelay + ", maxWait="
+        + maxWait + ", usageWindow=" + usageWindow + "]";
+  }
+
+  private void recordBusinessUseCaseUsage(String businessId, List<InnerBusinessUseCaseUsage> innerUsages, long now) {
+    if (innerUsages == null || innerUsages.isEmpty()) {
+      return;
+    }
+
+    double percentage = -1;
+    long blockedNanos = 0;
+    for (InnerBusinessUseCaseUsage innerUsage : innerUsages) {
+      percentage = Math.max(percentage,
+        max(innerUsage.getCallCount(), innerUsage.getTotalCputime(), innerUsage.getTotalTime()));
+      Integer minutesToRegainAccess = innerUsage.getEstimatedTimeToRegainAccess();
+      if (minutesToRegainAccess != null && minutesToRegainAccess > 0) {
+        blockedNanos = Math.max(blockedNanos, Duration.ofMinutes(minutesToRegainAccess).toNanos());
+      }
+    }
+
+    if (blockedNanos > 0) {
+      CLIENT_LOGGER.debug("Business use case usage of {} is blocked for {} ms", businessId,
+        Duration.ofNanos(blockedNanos).toMillis());
+    }
+    usages.put(OBJECT_KEY_PREFIX + businessId, new Usage(percentage, now, now + blockedNanos));
+  }
+
+  private void recordPercentage(String key, double percentage, long now) {
+    if (percentage >= 0) {
+      usages.put(key, new Usage(percentage, now, now));
+    }
+  }
+
+  private Usage currentUsage(String key, long now) {
+    Usage usage = usages.get(key);
+    if (usage != null && usage.isExpired(now, usageWindow.toNanos())) {
+      usages.remove(key, usage);
+      return null;
+    }
+    return usage;
+  }
+
+  private Stream<String> keys(AccessTokenKey accessTokenKey, String requestUrl) {
+    String objectId = extractObjectIdFromUrl(requestUrl);
+    if (objectId == null) {
+      return Stream.of(APP_KEY, TOKEN_KEY_PREFIX + accessTokenKey.getDigest());
+    }
+
+    String businessId =
+        objectId.startsWith(AD_ACCOUNT_PREFIX) ? objectId.substring(AD_ACCOUNT_PREFIX.length()) : objectId;
+    return Stream.of(APP_KEY, TOKEN_KEY_PREFIX + accessTokenKey.getDigest(),
+      AD_ACCOUNT_KEY_PREFIX + businessId, OBJECT_KEY_PREFIX + businessId);
+  }
+
+  private static double percentage(HeaderUsage headerUsage) {
+    if (headerUsage == null) {
+      return -1;
+    }
+    if (headerUsage.isAdAccountHeader()) {
+      return headerUsage.getAccIdUtilPct() == null ? -1 : headerUsage.getAccIdUtilPct();
+    }
+    return max(headerUsage.getCallCount(), headerUsage.getCallVolume(), headerUsage.getTotalTime(),
+      headerUsage.getTotalCputime(), headerUsage.getCpuTime());
+  }
+
+  private static double max(Integer... values) {
+    double max = -1;
+    for (Integer value : values) {
+      if (value != null) {
+        max = Math.max(max, value);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * The last known usage of a target.
+   */
+  private final class Usage {
+
+    private final double percentage;
+
+    private final long recordedNanos;
+
+    private final long blockedUntilNanos;
+
+    Usage(double percentage, long recordedNanos, long blockedUntilNanos) {
+      this.percentage = percentage;
+      this.recordedNanos = recordedNanos;
+      this.blockedUntilNanos = blockedUntilNanos;
+    }
+
+    boolean isExpired(long now, long windowNanos) {
+      return now - recordedNanos > windowNanos && now - blockedUntilNanos > 0;
+    }
+
+    long delayNanos(long now) {
+      long blockedNanos = Math.max(0, blockedUntilNanos - now);
+      if (percentage < slowdownThreshold) {
+        return blockedNanos;
+      }
+
+      double factor = Math.min(1.0, (percentage - slowdownThreshold) / Math.max(1.0, 100 - slowdownThreshold));
+      return Math.max(blockedNanos, (long) (maxDelay.toNanos() * factor));
+    }
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link UsageRateGovernor}.
+   */
+  public static class UsageRateGovernorBuilder {
+    private double slowdownThreshold = 75;
+    private Duration maxDelay = Duration.ofSeconds(10);
+    private Duration maxWait = Duration.ofMinutes(1);
+    private Duration usageWindow = Duration.ofMinutes(5);
+
+    /**
+     * Sets the usage percentage from which on requests are delayed, {@code 75} is the default value.
+     *
+     * @param slowdownThreshold
+     *          The usage percentage between 0 and 100.
+     * @return This builder.
+     */
+    public UsageRateGovernorBuilder slowdownThreshold(double slowdownThreshold) {
+      this.slowdownThreshold = slowdownThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the delay of requests when a usage reached 100%, 10 seconds is the default value.
+     *
+     * @param maxDelay
+     *          The delay at full usage.
+     * @return This builder.
+     */
+    public UsageRateGovernorBuilder maxDelay(Duration maxDelay) {
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * Sets the longest time a request waits. Requests that would have to wait longer fail with a
+     * {@link FacebookRateLimitException}. 1 minute is the default value.
+     *
+     * @param maxWait
+     *          The longest time a request waits.
+     * @return This builder.
+     */
+    public UsageRateGovernorBuilder maxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    /**
+     * Sets the time after that usage data is forgotten if no response refreshed it, 5 minutes is the default value.
+     *
+     * @param usageWindow
+     *          The time usage data is valid.
+     * @return This builder.
+     */
+    public UsageRateGovernorBuilder usageWindow(Duration usageWindow) {
+      this.usageWindow = usageWindow;
+      return this;
+    }
+
+    /**
+     * Generates a {@link UsageRateGovernor} instance with the configuration of this builder.
+     *
+     * @return A {@link UsageRateGovernor} instance.
+     * @throws IllegalArgumentException
+     *           If a value is out of range.
+     */
+    public UsageRateGovernor build() {
+      verifyParameterPresence("maxDelay", maxDelay);
+      verifyParameterPresence("maxWait", maxWait);
+      verifyParameterPresence("usageWindow", usageWindow);
+
+      if (slowdownThreshold < 0 || slowdownThreshold > 100) {
+        throw new IllegalArgumentException(
+          "The slowdown threshold must be between 0 and 100, but was " + slowdownThreshold);
+      }
+      if (maxDelay.isNegative() || maxWait.isNegative()) {
+        throw new IllegalArgumentException("The delay must not be negative");
+      }
+      if (usageWindow.isNegative() || usageWindow.isZero()) {
+        throw new IllegalArgumentException("The usage window must be positive");
+      }
+
+      return new UsageRateGovernor(this);
+    }
+  }
+}
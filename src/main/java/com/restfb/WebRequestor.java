@@ -25,13 +25,19 @@ import static com.restfb.util.StringUtils.isBlank;
 import static com.restfb.util.StringUtils.trimToEmpty;
 import static java.lang.String.format;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
@@ -56,9 +62,14 @@ public interface WebRequestor {
     private final Integer statusCode;
 
     /**
-     * HTTP response body as text.
+     * HTTP response body as text, decoded from {@link #bodyBytes} on first access.
      */
-    private final String body;
+    private volatile String body;
+
+    /**
+     * HTTP response body as UTF-8 encoded bytes, encoded from {@link #body} on first access.
+     */
+    private volatile byte[] bodyBytes;
 
     /**
      * HTTP headers returned by Facebook.
@@ -97,14 +108,40 @@ public interface WebRequestor {
      * Creates a response with status, body, debug info and headers.
      */
     public Response(Integer statusCode, String body, DebugHeaderInfo debugHeaderInfo, Map<String, List<String>> headers) {
+      this(statusCode, trimToEmpty(body), null, debugHeaderInfo, headers);
+    }
+
+    private Response(Integer statusCode, String body, byte[] bodyBytes, DebugHeaderInfo debugHeaderInfo,
+        Map<String, List<String>> headers) {
       this.statusCode = statusCode;
-      this.body = trimToEmpty(body);
+      this.body = body;
+      this.bodyBytes = bodyBytes;
       this.headers = headers == null ? null : Collections.unmodifiableMap(headers);
       if (debugHeaderInfo != null) {
         this.debugHeaderInfoRef.set(Optional.of(debugHeaderInfo));
       }
     }
 
+    /**
+     * Creates a response with the raw body as returned by Facebook.
+     * <p>
+     * The body is only decoded to text if {@link #getBody()} is called, so a {@link JsonMapper} can parse it with
+     * {@link JsonMapper#toJavaObjectFromBytes(byte[], Class)} without an intermediate {@code String}. The array is not
+     * copied and must not be modified afterwards.
+     *
+     * @param statusCode
+     *          The HTTP status code of the response.
+     * @param body
+     *          The UTF-8 encoded response body.
+     * @param headers
+     *          HTTP headers returned by Facebook (may be {@code null})
+     * @return the response
+     * @since 2026.8.0
+     */
+    public static Response fromBytes(Integer statusCode, byte[] body, Map<String, List<String>> headers) {
+      return new Response(statusCode, null, body == null ? new byte[0] : body, null, headers);
+    }
+
     /**
      * Gets the HTTP status code.
      * 
@@ -120,7 +157,62 @@ public interface WebRequestor {
      * @return The HTTP response body as text.
      */
     public String getBody() {
-      return body;
+      String decodedBody = body;
+      if (decodedBody == null) {
+        decodedBody = trimToEmpty(StringUtils.toString(bodyBytes));
+        body = decodedBody;
+      }
+      return decodedBody;
+    }
+
+    /**
+     * Gets the HTTP response body as UTF-8 encoded bytes.
+     * <p>
+     * The returned array is shared and must not be modified.
+     *
+     * @return The HTTP response body as bytes.
+     * @since 2026.8.0
+     */
+    public byte[] getBodyBytes() {
+      byte[] encodedBody = bodyBytes;
+      if (encodedBody == null) {
+        encodedBody = body.getBytes(StandardCharsets.UTF_8);
+        bodyBytes = encodedBody;
+      }
+      return encodedBody;
+    }
+
+    /**
+     * Gets the HTTP response body as stream, without copying it.
+     *
+     * @return The HTTP response body as stream.
+     * @since 2026.8.0
+     */
+    public InputStream getBodyAsStream() {
+      return new ByteArrayInputStream(getBodyBytes());
+    }
+
+    /**
+     * Gets the beginning of the HTTP response body as text, without decoding the whole body. Leading whitespace is
+     * skipped.
+     *
+     * @param maxLength
+     *          the maximum number of characters
+     * @return The beginning of the HTTP response body.
+     * @since 2026.8.0
+     */
+    public String getBodyPrefix(int maxLength) {
+      String prefix = body;
+      if (prefix == null) {
+        int start = 0;
+        while (start < bodyBytes.length && Character.isWhitespace(bodyBytes[start])) {
+          start++;
+        }
+        // a character has at most 4 bytes in UTF-8
+        int length = (int) Math.min(4L * maxLength, bodyBytes.length - start);
+        prefix = new String(bodyBytes, start, length, StandardCharsets.UTF_8);
+      }
+      return prefix.length() > maxLength ? prefix.substring(0, maxLength) : prefix;
     }
 
     /**
@@ -231,6 +323,10 @@ public interface WebRequestor {
 
     private List<BinaryAttachment> binaryAttachments;
 
+    private Duration timeout;
+
+    private RequestPriority priority = RequestPriority.NORMAL;
+
     /**
      * Simple http request with url and a header access token
      * 
@@ -328,6 +424,44 @@ public interface WebRequestor {
       return body != null;
     }
 
+    /**
+     * Sets the timeout of this request, overriding the default timeout of the {@link WebRequestor}.
+     *
+     * @param timeout
+     *          the timeout, {@code null} to use the default timeout
+     * @since 2026.8.0
+     */
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+
+    /**
+     * @return the timeout of this request, {@code null} if the default timeout of the {@link WebRequestor} is used
+     * @since 2026.8.0
+     */
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    /**
+     * Sets the priority of this request, used by a {@link RequestScheduler}.
+     *
+     * @param priority
+     *          the priority, {@code null} for {@link RequestPriority#NORMAL}
+     * @since 2026.8.0
+     */
+    public void setPriority(RequestPriority priority) {
+      this.priority = priority == null ? RequestPriority.NORMAL : priority;
+    }
+
+    /**
+     * @return the priority of this request
+     * @since 2026.8.0
+     */
+    public RequestPriority getPriority() {
+      return priority;
+    }
+
     public boolean isReelUpload() {
       List<BinaryAttachment> attachments = getBinaryAttachments();
       if (attachments.size() == 1) {
@@ -380,4 +514,62 @@ public interface WebRequestor {
    */
   Response executeDelete(Request request) throws IOException;
 
+  /**
+   * Given a Facebook API endpoint URL, execute a {@code GET} against it without blocking the calling thread.
+   * <p>
+   * The default implementation delegates to {@link #executeGet(Request)} and therefore runs on the calling thread,
+   * implementations that support non-blocking I/O should override this method.
+   *
+   * @param request
+   *          The request data for the {@code GET} request
+   * @return future that completes with the HTTP response data, or exceptionally with the {@link IOException} that
+   *         occurred while performing the {@code GET} operation.
+   * @since 2026.8.0
+   */
+  default CompletableFuture<Response> executeGetAsync(Request request) {
+    return toFuture(() -> executeGet(request));
+  }
+
+  /**
+   * Given a Facebook API endpoint URL and parameter string, execute a {@code POST} to the endpoint URL without blocking
+   * the calling thread.
+   * <p>
+   * The default implementation delegates to {@link #executePost(Request)} and therefore runs on the calling thread,
+   * implementations that support non-blocking I/O should override this method.
+   *
+   * @param request
+   *          The request data used for the {@code POST} request.
+   * @return future that completes with the HTTP response data, or exceptionally with the {@link IOException} that
+   *         occurred while performing the {@code POST}.
+   * @since 2026.8.0
+   */
+  default CompletableFuture<Response> executePostAsync(Request request) {
+    return toFuture(() -> executePost(request));
+  }
+
+  /**
+   * Given a Facebook API endpoint URL and parameter string, execute a {@code DELETE} to the endpoint URL without
+   * blocking the calling thread.
+   * <p>
+   * The default implementation delegates to {@link #executeDelete(Request)} and therefore runs on the calling thread,
+   * implementations that support non-blocking I/O should override this method.
+   *
+   * @param request
+   *          The request data used for the {@code DELETE} request.
+   * @return future that completes with the HTTP response data, or exceptionally with the {@link IOException} that
+   *         occurred while performing the {@code DELETE}.
+   * @since 2026.8.0
+   */
+  default CompletableFuture<Response> executeDeleteAsync(Request request) {
+    return toFuture(() -> executeDelete(request));
+  }
+
+  private static CompletableFuture<Response> toFuture(Callable<Response> call) {
+    try {
+      return CompletableFuture.completedFuture(call.call());
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
 }
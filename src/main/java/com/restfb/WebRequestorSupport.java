@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import com.restfb.WebRequestor.Request;
+import com.restfb.WebRequestor.Response;
+import com.restfb.util.UrlUtils;
+
+/**
+ * Helper methods for {@link WebRequestor} decorators that implement the blocking methods on top of the asynchronous
+ * ones.
+ */
+final class WebRequestorSupport {
+
+  private static final String ACCESS_TOKEN_PARAM_NAME = "access_token";
+
+  private WebRequestorSupport() {
+    throw new IllegalStateException("WebRequestorSupport must not be instantiated");
+  }
+
+  /**
+   * Waits for the response and rethrows the exception the future failed with.
+   *
+   * @param responseFuture
+   *          the future of the response
+   * @return the response
+   * @throws IOException
+   *           If the request failed with an {@link IOException} or the thread was interrupted.
+   */
+  static Response await(CompletableFuture<Response> responseFuture) throws IOException {
+    try {
+      return responseFuture.get();
+    } catch (InterruptedException e) {
+      responseFuture.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while making request", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Returns the access token of the request. It is taken from the HTTP header or the {@code access_token} parameter of
+   * the request URL, connection pages carry it in the query of their URL instead of the parameters.
+   *
+   * @param request
+   *          the request
+   * @return the access token, {@code null} if the request has none
+   */
+  static String accessToken(Request request) {
+    if (request.hasHeaderAccessToken()) {
+      return request.getHeaderAccessToken();
+    }
+    List<String> accessTokens = UrlUtils.extractParametersFromUrl(request.getFullUrl()).get(ACCESS_TOKEN_PARAM_NAME);
+    return accessTokens == null || accessTokens.isEmpty() ? null : accessTokens.get(0);
+  }
+}
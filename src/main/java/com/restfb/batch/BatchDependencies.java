@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.batch;
+
+import static com.restfb.util.StringUtils.isBlank;
+import static com.restfb.util.UrlUtils.urlDecode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dependency graph of the requests of a batch.
+ * <p>
+ * A request depends on another request of the batch if it names it in {@code depends_on} or references its result with
+ * a JSONPath expression like <code>{result=get-friends:$.data.*.id}</code> in the relative URL or the body.
+ *
+ * @since 2026.8.0
+ */
+final class BatchDependencies {
+
+  /**
+   * Matches the request name of a JSONPath result reference, for example <code>{result=get-friends:$.data.*.id}</code>.
+   */
+  static final Pattern RESULT_REFERENCE = Pattern.compile("\\{result=([^:}]+):([^}]*)}");
+
+  private final List<BatchRequest> batchRequests;
+
+  private final List<Set<Integer>> dependencies = new ArrayList<>();
+
+  private final Map<String, Integer> indexByName = new HashMap<>();
+
+  BatchDependencies(List<BatchRequest> batchRequests) {
+    this.batchRequests = batchRequests;
+
+    for (int i = 0; i < batchRequests.size(); i++) {
+      String name = batchRequests.get(i).getName();
+      if (!isBlank(name) && indexByName.put(name, i) != null) {
+        throw new IllegalArgumentException("The batch contains more than one request named '" + name + "'");
+      }
+    }
+
+    for (BatchRequest batchRequest : batchRequests) {
+      Set<Integer> requestDependencies = new LinkedHashSet<>();
+      for (String name : referencedNames(batchRequest)) {
+        Integer index = indexByName.get(name);
+        if (index != null) {
+          requestDependencies.add(index);
+        }
+      }
+      dependencies.add(Collections.unmodifiableSet(requestDependencies));
+    }
+  }
+
+  /**
+   * Returns the names of all requests the given request depends on, including unknown names.
+   */
+  static Set<String> referencedNames(BatchRequest batchRequest) {
+    Set<String> names = new LinkedHashSet<>();
+    if (!isBlank(batchRequest.getDependsOn())) {
+      names.add(batchRequest.getDependsOn());
+    }
+    addReferencedNames(batchRequest.getRelativeUrl(), names);
+    addReferencedNames(batchRequest.getBody(), names);
+    return names;
+  }
+
+  private static void addReferencedNames(String value, Set<String> names) {
+    if (isBlank(value)) {
+      return;
+    }
+
+    Matcher matcher = RESULT_REFERENCE.matcher(urlDecode(value));
+    while (matcher.find()) {
+      names.add(matcher.group(1));
+    }
+  }
+
+  /**
+   * @return the number of requests in the batch
+   */
+  int size() {
+    return batchRequests.size();
+  }
+
+  /**
+   * Returns the indexes of the requests the request with the given index directly depends on.
+   */
+  Set<Integer> getDependencies(int index) {
+    return dependencies.get(index);
+  }
+
+  /**
+   * Returns the index of the request with the given name, {@code null} if the batch contains no such request.
+   */
+  Integer indexOf(String name) {
+    return indexByName.get(name);
+  }
+
+  /**
+   * Returns {@code true} if the request with the given index is connected to another request of the batch, either as
+   * dependency or as dependent.
+   */
+  boolean isConnected(int index) {
+    if (!dependencies.get(index).isEmpty()) {
+      return true;
+    }
+    return dependencies.stream().anyMatch(requestDependencies -> requestDependencies.contains(index));
+  }
+
+  /**
+   * Splits the batch into groups of requests that are connected by dependencies, ignoring the direction.
+   * <p>
+   * The indexes in a group are sorted ascending, the groups are sorted by their first index.
+   *
+   * @return the connected groups of request indexes
+   */
+  List<List<Integer>> components() {
+    int[] parent = new int[batchRequests.size()];
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+    }
+
+    for (int i = 0; i < parent.length; i++) {
+      for (Integer dependency : dependencies.get(i)) {
+        int rootA = find(parent, i);
+        int rootB = find(parent, dependency);
+        if (rootA != rootB) {
+          parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+      }
+    }
+
+    Map<Integer, List<Integer>> componentsByRoot = new TreeMap<>();
+    for (int i = 0; i < parent.length; i++) {
+      componentsByRoot.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(i);
+    }
+    return new ArrayList<>(componentsByRoot.values());
+  }
+
+  /**
+   * Orders the requests so that every request follows the requests it depends on. Independent requests keep their
+   * original order.
+   *
+   * @return the request indexes in topological order
+   * @throws IllegalArgumentException
+   *           If the dependencies contain a cycle.
+   */
+  List<Integer> topologicalOrder() {
+    int[] unresolvedDependencies = new int[batchRequests.size()];
+    List<List<Integer>> dependents = new ArrayList<>();
+    for (int i = 0; i < batchRequests.size(); i++) {
+      dependents.add(new ArrayList<>());
+    }
+    for (int i = 0; i < batchRequests.size(); i++) {
+      unresolvedDependencies[i] = dependencies.get(i).size();
+      for (Integer dependency : dependencies.get(i)) {
+        dependents.get(dependency).add(i);
+      }
+    }
+
+    PriorityQueue<Integer> ready = new PriorityQueue<>();
+    for (int i = 0; i < unresolvedDependencies.length; i++) {
+      if (unresolvedDependencies[i] == 0) {
+        ready.add(i);
+      }
+    }
+
+    List<Integer> order = new ArrayList<>();
+    while (!ready.isEmpty()) {
+      int index = ready.poll();
+      order.add(index);
+      for (Integer dependent : dependents.get(index)) {
+        if (--unresolvedDependencies[dependent] == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+
+    if (order.size() != batchRequests.size()) {
+      throw new IllegalArgumentException("The dependencies of the batch requests contain a cycle");
+    }
+    return order;
+  }
+
+  private static int find(int[] parent, int index) {
+    while (parent[index] != index) {
+      parent[index] = parent[parent[index]];
+      index = parent[index];
+    }
+    return index;
+  }
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.batch;
+
+import static com.restfb.logging.RestFBLogger.CLIENT_LOGGER;
+import static com.restfb.util.ObjectUtil.verifyParameterPresence;
+import static java.util.Arrays.asList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import com.restfb.FacebookClient;
+import com.restfb.RetryPolicy;
+import com.restfb.exception.FacebookNetworkException;
+import com.restfb.json.Json;
+import com.restfb.json.JsonValue;
+import com.restfb.json.ParseException;
+import com.restfb.util.ConcurrencyUtils;
+
+/**
+ * Executes a graph of batch requests of any size in as few batches as possible.
+ * <p>
+ * The Graph API rejects batches with more than {@link BatchRequest#MAX_BATCH_SIZE} requests. This executor splits the
+ * requests into chunks of at most {@code chunkSize} requests and sends up to {@code parallelism} independent chunks at
+ * the same time with {@link FacebookClient#executeBatch(List)}.
+ * <p>
+ * Requests can depend on each other by {@code depends_on} or by a JSONPath result reference like
+ * <code>{result=get-friends:$.data.*.id}</code>. Every chunk is sent in topological order, so the requests don't have
+ * to be ordered by hand. Connected requests are placed in the same chunk whenever they fit. Larger groups, like many
+ * ads created for new campaigns, are split into chunks that are sent one after another. Result references to an
+ * earlier chunk are resolved on the client side with the response of the referenced request, a request whose
+ * dependency failed is not sent and gets a {@code null} response.
+ * <p>
+ * With a {@link RetryPolicy} only the operations that failed transiently, with a 5xx status code or an error marked as
+ * {@code is_transient}, are sent again after a backoff, and their new responses replace the failed ones. Operations
+ * connected to other operations of the batch are never retried on their own, and operations that succeeded are never
+ * repeated. A failed response doesn't prove that the operation was not applied, so only {@code GET} operations are
+ * retried unless {@link RetryPolicy#isRetryPost()} is enabled.
+ * <p>
+ * The responses are returned in the order of the requests, just like {@link FacebookClient#executeBatch(List)} does.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * BatchExecutor batchExecutor = new BatchExecutor.BatchExecutorBuilder(facebookClient).parallelism(4).build();
+ * List&lt;BatchResponse&gt; responses = batchExecutor.execute(batchRequests);
+ * </pre>
+ *
+ * @since 2026.8.0
+ */
+public class BatchExecutor {
+
+  private final FacebookClient facebookClient;
+
+  private final int chunkSize;
+
+  private final int parallelism;
+
+  private final Executor executor;
+
+  private final RetryPolicy retryPolicy;
+
+  /**
+   * Designed to be invoked by instances of {@link BatchExecutorBuilder}.
+   *
+   * @param builder
+   *          the builder holding the executor configuration
+   */
+  protected BatchExecutor(BatchExecutorBuilder builder) {
+    this.facebookClient = builder.facebookClient;
+    this.chunkSize = builder.chunkSize;
+    this.parallelism = builder.parallelism;
+    this.executor = builder.executor;
+    this.retryPolicy = builder.retryPolicy;
+  }
+
+  /**
+   * Executes the given requests in as few batches as possible.
+   *
+   * @param batchRequests
+   *          The requests to execute.
+   * @return The responses in the order of the requests.
+   * @throws IllegalArgumentException
+   *           If the dependencies contain a cycle or a request name is used twice.
+   * @see #execute(List)
+   */
+  public List<BatchResponse> execute(BatchRequest... batchRequests) {
+    return execute(asList(batchRequests));
+  }
+
+  /**
+   * Executes the given requests in as few batches as possible.
+   * <p>
+   * The requests don't have to be in a valid batch order, every batch is sent in topological order of the
+   * dependencies. A request whose dependency failed or could not be resolved is not sent, its response is
+   * {@code null}.
+   *
+   * @param batchRequests
+   *          The requests to execute.
+   * @return The responses in the order of the requests.
+   * @throws IllegalArgumentException
+   *           If the dependencies contain a cycle or a request name is used twice.
+   * @throws com.restfb.exception.FacebookException
+   *           If a batch cannot be executed. No further batches are sent in this case.
+   */
+  public List<BatchResponse> execute(List<BatchRequest> batchRequests) {
+    verifyParameterPresence("batchRequests", batchRequests);
+    if (batchRequests.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    BatchDependencies batchDependencies = new BatchDependencies(batchRequests);
+    List<List<List<Integer>>> chains = createChains(batchDependencies);
+    BatchResponse[] batchResponses = new BatchResponse[batchRequests.size()];
+    executeChains(new BatchExecution(batchRequests, batchDependencies, batchResponses), chains);
+    return new ArrayList<>(Arrays.asList(batchResponses));
+  }
+
+  /**
+   * Plans the batches for the given requests.
+   * <p>
+   * The result is a list of chains, every chain is a list of chunks that have to be sent one after another, because
+   * later chunks reference results of earlier ones. Different chains are independent of each other. Larger groups of
+   * connected requests are split in topological order into a chain of full chunks. Groups that fit into one chunk are
+   * packed into as few chunks as possible, starting with the partial last chunks of these chains; every other packed
+   * chunk is a chain of its own.
+   */
+  List<List<List<Integer>>> createChains(BatchDependencies batchDependencies) {
+    List<Integer> topologicalOrder = batchDependencies.topologicalOrder();
+    int[] position = new int[topologicalOrder.size()];
+    for (int i = 0; i < topologicalOrder.size(); i++) {
+      position[topologicalOrder.get(i)] = i;
+    }
+    Comparator<Integer> byPosition = Comparator.comparingInt(index -> position[index]);
+
+    List<List<List<Integer>>> chains = new ArrayList<>();
+    List<List<Integer>> smallComponents = new ArrayList<>();
+    List<List<Integer>> trailingChunks = new ArrayList<>();
+
+    for (List<Integer> component : batchDependencies.components()) {
+      component.sort(byPosition);
+      if (component.size() <= chunkSize) {
+        smallComponents.add(component);
+      } else {
+        List<List<Integer>> chain = new ArrayList<>();
+        for (int from = 0; from < component.size(); from += chunkSize) {
+          chain.add(new ArrayList<>(component.subList(from, Math.min(from + chunkSize, component.size()))));
+        }
+        chains.add(chain);
+        List<Integer> lastChunk = chain.get(chain.size() - 1);
+        if (lastChunk.size() < chunkSize) {
+          trailingChunks.add(lastChunk);
+        }
+      }
+    }
+
+    // first fit decreasing keeps the number of chunks small, the small components don't depend on the earlier chunks
+    // of a chain, so they can fill up its last chunk
+    smallComponents.sort(Comparator.comparingInt(component -> -component.size()));
+    List<List<Integer>> chunks = new ArrayList<>();
+    for (List<Integer> component : smallComponents) {
+      List<Integer> chunk = Stream.concat(trailingChunks.stream(), chunks.stream())
+        .filter(c -> c.size() + component.size() <= chunkSize).findFirst().orElseGet(() -> {
+          List<Integer> newChunk = new ArrayList<>();
+          chunks.add(newChunk);
+          return newChunk;
+        });
+      chunk.addAll(component);
+    }
+
+    trailingChunks.forEach(chunk -> chunk.sort(byPosition));
+    chunks.sort(Comparator.comparingInt(chunk -> chunk.stream().mapToInt(Integer::intValue).min().orElse(0)));
+    for (List<Integer> chunk : chunks) {
+      chunk.sort(byPosition);
+      chains.add(Collections.singletonList(chunk));
+    }
+    return chains;
+  }
+
+  /**
+   * Sends the chains with up to {@code parallelism} concurrent batch calls.
+   */
+  private void executeChains(BatchExecution execution, List<List<List<Integer>>> chains) {
+    if (chains.size() == 1 || parallelism == 1) {
+      chains.forEach(execution::executeChain);
+      return;
+    }
+
+    AtomicInteger nextChain = new AtomicInteger();
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Runnable worker = () -> {
+      int chainIndex;
+      while (failure.get() == null && (chainIndex = nextChain.getAndIncrement()) < chains.size()) {
+        try {
+          execution.executeChain(chains.get(chainIndex));
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        }
+      }
+    };
+
+    int workerCount = Math.min(parallelism, chains.size());
+    CompletableFuture<?>[] workers = new CompletableFuture<?>[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      workers[i] = CompletableFuture.runAsync(worker, executor);
+    }
+    CompletableFuture.allOf(workers).join();
+
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  /**
+   * State of a single {@link #execute(List)} call. Chains write the responses of disjoint request indexes.
+   */
+  private final class BatchExecution {
+    private final List<BatchRequest> batchRequests;
+    private final BatchDependencies batchDependencies;
+    private final BatchResponse[] batchResponses;
+
+    private BatchExecution(List<BatchRequest> batchRequests, BatchDependencies batchDependencies,
+        BatchResponse[] batchResponses) {
+      this.batchRequests = batchRequests;
+      this.batchDependencies = batchDependencies;
+      this.batchResponses = batchResponses;
+    }
+
+    private void executeChain(List<List<Integer>> chain) {
+      Set<Integer> executed = new HashSet<>();
+      Set<Integer> skipped = new HashSet<>();
+
+      for (List<Integer> chunk : chain) {
+        List<Integer> sentIndexes = new ArrayList<>();
+        List<BatchRequest> sentRequests = new ArrayList<>();
+
+        for (Integer index : chunk) {
+          BatchRequest batchRequest = prepare(index, executed, skipped);
+          if (batchRequest == null) {
+            skipped.add(index);
+          } else {
+            sentIndexes.add(index);
+            sentRequests.add(batchRequest);
+          }
+        }
+
+        if (!sentRequests.isEmpty()) {
+          long startNanos = System.nanoTime();
+          List<BatchResponse> chunkResponses = executeBatch(sentRequests);
+          for (int i = 0; i < sentIndexes.size(); i++) {
+            batchResponses[sentIndexes.get(i)] = i < chunkResponses.size() ? chunkResponses.get(i) : null;
+          }
+          if (retryPolicy != null) {
+            retryTransientFailures(sentIndexes, sentRequests, startNanos);
+          }
+        }
+        executed.addAll(sentIndexes);
+      }
+    }
+
+    /**
+     * Sends the transiently failed, unconnected operations of a chunk again until they succeed or the retry policy is
+     * exhausted.
+     */
+    private void retryTransientFailures(List<Integer> sentIndexes, List<BatchRequest> sentRequests, long startNanos) {
+      Map<Integer, BatchRequest> failed = new LinkedHashMap<>();
+      for (int i = 0; i < sentIndexes.size(); i++) {
+        int index = sentIndexes.get(i);
+        BatchRequest sentRequest = sentRequests.get(i);
+        if (!batchDependencies.isConnected(index) && retryPolicy.isRetryableMethod(sentRequest.getMethod())
+            && isRetryable(batchResponses[index])) {
+          failed.put(index, sentRequest);
+        }
+      }
+
+      int attempts = 1;
+      while (!failed.isEmpty()) {
+        Duration backoff = retryPolicy.backoff(attempts);
+        if (!retryPolicy.canRetry(attempts, startNanos, backoff) || !sleep(backoff)) {
+          return;
+        }
+        attempts++;
+
+        List<Integer> retriedIndexes = new ArrayList<>(failed.keySet());
+        List<BatchResponse> retriedResponses;
+        try {
+          retriedResponses = executeBatch(new ArrayList<>(failed.values()));
+        } catch (FacebookNetworkException e) {
+          CLIENT_LOGGER.debug("Retry of {} batch operations failed: {}", retriedIndexes.size(), e.getMessage());
+          continue;
+        }
+
+        for (int i = 0; i < retriedIndexes.size(); i++) {
+          int index = retriedIndexes.get(i);
+          BatchResponse retriedResponse = i < retriedResponses.size() ? retriedResponses.get(i) : null;
+          if (retriedResponse != null) {
+            batchResponses[index] = retriedResponse;
+          }
+          if (retriedResponse == null || !isRetryable(retriedResponse)) {
+            failed.remove(index);
+          }
+        }
+      }
+    }
+
+    /**
+     * Resolves the references of the request to requests sent in earlier chunks.
+     *
+     * @return the request to send, {@code null} if the request must not be sent
+     */
+    private BatchRequest prepare(int index, Set<Integer> executed, Set<Integer> skipped) {
+      BatchRequest batchRequest = batchRequests.get(index);
+      Set<Integer> dependencies = batchDependencies.getDependencies(index);
+
+      if (dependencies.stream().anyMatch(skipped::contains)) {
+        return null;
+      }
+      if (dependencies.stream().noneMatch(executed::contains)) {
+        return batchRequest;
+      }
+      if (dependencies.stream().filter(executed::contains).anyMatch(dependency -> !succeeded(dependency))) {
+        return null;
+      }
+
+      try {
+        BiFunction<String, String, String> resolver = (name, path) -> {
+          Integer referenced = batchDependencies.indexOf(name);
+          if (referenced == null || !executed.contains(referenced)) {
+            return null;
+          }
+          BatchResponse referencedResponse = batchResponses[referenced];
+          if (referencedResponse == null || referencedResponse.getBody() == null) {
+            throw new IllegalStateException("The response of '" + name + "' is not available");
+          }
+          return BatchJsonPath.evaluate(referencedResponse.getBody(), path);
+        };
+
+        Integer dependsOnIndex = batchDependencies.indexOf(batchRequest.getDependsOn());
+        String dependsOn = dependsOnIndex != null && executed.contains(dependsOnIndex) ? null
+            : batchRequest.getDependsOn();
+        return batchRequest.copy(BatchJsonPath.replaceReferences(batchRequest.getRelativeUrl(), resolver),
+          BatchJsonPath.replaceReferences(batchRequest.getBody(), resolver), dependsOn);
+      } catch (RuntimeException e) {
+        // the referenced result is missing or doesn't match the expression, the Graph API fails such requests, too
+        return null;
+      }
+    }
+
+    private boolean succeeded(int index) {
+      BatchResponse batchResponse = batchResponses[index];
+      if (batchResponse == null) {
+        return batchRequests.get(index).isOmitResponseOnSuccess();
+      }
+      Integer code = batchResponse.getCode();
+      return code != null && code >= 200 && code < 300;
+    }
+  }
+
+  /**
+   * Checks if the operation failed transiently and may be sent again, that is if it failed with a 5xx status code or
+   * with an error marked as {@code is_transient}.
+   *
+   * @param batchResponse
+   *          the response of the operation
+   * @return {@code true} if the operation may be retried
+   */
+  protected boolean isRetryable(BatchResponse batchResponse) {
+    if (batchResponse == null || batchResponse.getCode() == null) {
+      return false;
+    }
+    if (batchResponse.getCode() >= 500) {
+      return true;
+    }
+    if (batchResponse.getCode() < 400 || batchResponse.getBody() == null) {
+      return false;
+    }
+
+    try {
+      JsonValue body = Json.parse(batchResponse.getBody());
+      if (body.isObject() && body.asObject().contains("error") && body.asObject().get("error").isObject()) {
+        return body.asObject().get("error").asObject().getBoolean("is_transient", false);
+      }
+    } catch (ParseException e) {
+      // no JSON error body, so the error is not marked as transient
+    }
+    return false;
+  }
+
+  private static boolean sleep(Duration backoff) {
+    try {
+      Thread.sleep(backoff.toMillis(), backoff.toNanosPart() % 1_000_000);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Sends a single chunk to the Graph API.
+   *
+   * @param chunkRequests
+   *          the requests of the chunk
+   * @return the responses of the chunk in the order of the requests
+   */
+  protected List<BatchResponse> executeBatch(List<BatchRequest> chunkRequests) {
+    return facebookClient.executeBatch(chunkRequests);
+  }
+
+  /**
+   * Builder pattern implementation used to construct instances of {@link BatchExecutor}.
+   */
+  public static class BatchExecutorBuilder {
+    private final FacebookClient facebookClient;
+    private int chunkSize = BatchRequest.MAX_BATCH_SIZE;
+    private int parallelism = 4;
+    private Executor executor = ConcurrencyUtils.defaultExecutor();
+    private RetryPolicy retryPolicy;
+
+    /**
+     * Creates a batch executor builder using the given client.
+     *
+     * @param facebookClient
+     *          The client used to send the batches.
+     */
+    public BatchExecutorBuilder(FacebookClient facebookClient) {
+      this.facebookClient = facebookClient;
+    }
+
+    /**
+     * Sets the maximum number of requests per batch call, {@link BatchRequest#MAX_BATCH_SIZE} is the default value.
+     *
+     * @param chunkSize
+     *          The maximum number of requests per batch call.
+     * @return This builder.
+     */
+    public BatchExecutorBuilder chunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of batch calls sent at the same time, {@code 4} is the default value.
+     *
+     * @param parallelism
+     *          The number of batch calls sent at the same time.
+     * @return This builder.
+     */
+    public BatchExecutorBuilder parallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the executor the batch calls are sent on, the shared
+     * {@link ConcurrencyUtils#defaultExecutor() default executor} is used if none is set.
+     *
+     * @param executor
+     *          The executor.
+     * @return This builder.
+     */
+    public BatchExecutorBuilder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the policy used to retry transiently failed operations, failed operations are not retried by default.
+     *
+     * @param retryPolicy
+     *          The retry policy, {@code null} to disable retries.
+     * @return This builder.
+     */
+    public BatchExecutorBuilder retryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    /**
+     * Generates a {@link BatchExecutor} instance with the configuration of this builder.
+     *
+     * @return A {@link BatchExecutor} instance.
+     * @throws NullPointerException
+     *           If the client or the executor is missing.
+     * @throws IllegalArgumentException
+     *           If the chunk size or the parallelism is out of range.
+     */
+    public BatchExecutor build() {
+      verifyParameterPresence("facebookClient", facebookClient);
+      verifyParameterPresence("executor", executor);
+
+      if (chunkSize < 1 || chunkSize > BatchRequest.MAX_BATCH_SIZE) {
+        throw new IllegalArgumentException(
+          "The chunk size must be between 1 and " + BatchRequest.MAX_BATCH_SIZE + ", but was " + chunkSize);
+      }
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("The parallelism must be at least 1, but was " + parallelism);
+      }
+
+      return new BatchExecutor(this);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.batch;
+
+import static com.restfb.util.UrlUtils.urlDecode;
+import static com.restfb.util.UrlUtils.urlEncode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.restfb.json.Json;
+import com.restfb.json.JsonArray;
+import com.restfb.json.JsonValue;
+
+/**
+ * Minimal JSONPath support to resolve batch result references like <code>{result=get-friends:$.data.*.id}</code> on
+ * the client side.
+ * <p>
+ * Supported are the root {@code $}, member names, the wildcard {@code *} and array indexes, written as {@code .0} or
+ * {@code [0]}. Multiple results are joined with commas, like the Graph API does.
+ *
+ * @since 2026.8.0
+ */
+final class BatchJsonPath {
+
+  private static final Pattern ENCODED_RESULT_REFERENCE =
+      Pattern.compile("%7Bresult%3D(.+?)%3A(.+?)%7D", Pattern.CASE_INSENSITIVE);
+
+  private BatchJsonPath() {
+    // Prevents instantiation
+  }
+
+  /**
+   * Evaluates the JSONPath expression on the given JSON and joins the results with commas.
+   *
+   * @param json
+   *          the JSON to evaluate the expression on
+   * @param path
+   *          the JSONPath expression, for example {@code $.data.*.id}
+   * @return the joined results
+   * @throws IllegalArgumentException
+   *           If the expression is not supported or doesn't match.
+   * @throws com.restfb.json.ParseException
+   *           If the JSON is invalid.
+   */
+  static String evaluate(String json, String path) {
+    if (!path.startsWith("$")) {
+      throw new IllegalArgumentException("The JSONPath expression must start with '$': " + path);
+    }
+
+    List<JsonValue> current = Collections.singletonList(Json.parse(json));
+    for (String segment : segments(path.substring(1))) {
+      List<JsonValue> next = new ArrayList<>();
+      for (JsonValue value : current) {
+        select(value, segment, next);
+      }
+      current = next;
+    }
+
+    if (current.isEmpty()) {
+      throw new IllegalArgumentException("The JSONPath expression " + path + " has no result");
+    }
+    return current.stream().map(value -> value.isString() ? value.asString() : value.toString())
+      .collect(Collectors.joining(","));
+  }
+
+  /**
+   * Replaces the result references in the given value, both the plain and the URL encoded form are recognized. The
+   * replacement is URL encoded.
+   *
+   * @param value
+   *          the relative URL or body containing the references
+   * @param resolver
+   *          called with the request name and the JSONPath expression, returns the replacement or {@code null} to keep
+   *          the reference
+   * @return the value with replaced references
+   */
+  static String replaceReferences(String value, BiFunction<String, String, String> resolver) {
+    if (value == null) {
+      return null;
+    }
+
+    String replaced = replace(value, BatchDependencies.RESULT_REFERENCE, false, resolver);
+    return replace(replaced, ENCODED_RESULT_REFERENCE, true, resolver);
+  }
+
+  private static String replace(String value, Pattern pattern, boolean encoded,
+      BiFunction<String, String, String> resolver) {
+    Matcher matcher = pattern.matcher(value);
+    StringBuilder result = new StringBuilder();
+    int position = 0;
+
+    while (matcher.find()) {
+      String name = encoded ? urlDecode(matcher.group(1)) : matcher.group(1);
+      String path = encoded ? urlDecode(matcher.group(2)) : matcher.group(2);
+      String replacement = resolver.apply(name, path);
+
+      result.append(value, position, matcher.start());
+      result.append(replacement == null ? matcher.group() : urlEncode(replacement));
+      position = matcher.end();
+    }
+
+    result.append(value.substring(position));
+    return result.toString();
+  }
+
+  private static List<String> segments(String path) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : path.replace("[", ".").replace("]", "").split("\\.")) {
+      if (!segment.isEmpty()) {
+        segments.add(segment);
+      }
+    }
+    return segments;
+  }
+
+  private static void select(JsonValue value, String segment, List<JsonValue> result) {
+    if ("*".equals(segment)) {
+      if (value.isArray()) {
+        value.asArray().forEach(result::add);
+      } else if (value.isObject()) {
+        value.asObject().forEach(member -> result.add(member.getValue()));
+      }
+      return;
+    }
+
+    if (value.isArray() && segment.chars().allMatch(Character::isDigit)) {
+      JsonArray array = value.asArray();
+      int index = Integer.parseInt(segment);
+      if (index < array.size()) {
+        result.add(array.get(index));
+      }
+      return;
+    }
+
+    if (value.isObject()) {
+      JsonValue member = value.asObject().get(segment);
+      if (member != null) {
+        result.add(member);
+      }
+    }
+  }
+}
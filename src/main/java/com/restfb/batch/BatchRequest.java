@@ -46,6 +46,14 @@ import com.restfb.util.ReflectionUtils;
  * @see BatchRequestBuilder
  */
 public class BatchRequest {
+
+  /**
+   * The maximum number of requests the Graph API accepts in a single batch.
+   *
+   * @since 2026.8.0
+   */
+  public static final int MAX_BATCH_SIZE = 50;
+
   @Facebook
   private String method;
 
@@ -117,6 +125,26 @@ public class BatchRequest {
     this.body = generateParameterString(bodyParameters);
   }
 
+  /**
+   * Creates a copy of this request with the given relative URL, body and dependency. Used to send a request on its own
+   * after the results it references have been resolved.
+   *
+   * @param relativeUrl
+   *          The endpoint to hit.
+   * @param body
+   *          The already encoded request body.
+   * @param dependsOn
+   *          The call in the same batch this call depends on, may be {@code null}.
+   * @return the copy of this request
+   */
+  BatchRequest copy(String relativeUrl, String body, String dependsOn) {
+    BatchRequest copy = new BatchRequest(relativeUrl, new ArrayList<>(), method,
+      headers == null ? null : new ArrayList<>(headers), new ArrayList<>(), attachedFiles, dependsOn, name,
+      omitResponseOnSuccess);
+    copy.body = body;
+    return copy;
+  }
+
   /**
    * Builder pattern implementation used to construct instances of <tt>{@link BatchRequest}</tt>.
    * <p>
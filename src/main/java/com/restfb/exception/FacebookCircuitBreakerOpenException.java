@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.exception;
+
+import java.time.Duration;
+
+/**
+ * Indicates that RestFB did not send a request, because the circuit breaker of the endpoint is open after too many
+ * failed or slow requests.
+ * <p>
+ * The request may be repeated after {@link #getRetryAfter()}.
+ *
+ * @since 2026.8.0
+ */
+public class FacebookCircuitBreakerOpenException extends FacebookException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String endpoint;
+
+  private final Duration retryAfter;
+
+  public FacebookCircuitBreakerOpenException(String endpoint, Duration retryAfter) {
+    super("Circuit breaker for endpoint " + endpoint + " is open, retry after " + retryAfter);
+    this.endpoint = endpoint;
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * @return the normalized endpoint path, for example {@code /{id}/insights}
+   */
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  /**
+   * @return the time after that the circuit breaker lets probe requests through
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -72,6 +72,16 @@ public class DefaultFacebookExceptionGenerator implements FacebookExceptionGener
     }
   }
 
+  @Override
+  public boolean mayContainError(String jsonStart) {
+    try {
+      skipResponseStatusExceptionParsing(jsonStart);
+      return true;
+    } catch (ResponseErrorJsonParsingException e) {
+      return false;
+    }
+  }
+
   private void throwLoginOauthExceptionIfNecessary(String json, Integer httpStatusCode) {
     JsonObject errorObject = silentlyCreateObjectFromString(json);
 
@@ -169,7 +179,7 @@ public class DefaultFacebookExceptionGenerator implements FacebookExceptionGener
       throw new ResponseErrorJsonParsingException();
     }
 
-    int subStrEnd = Math.min(50, json.length());
+    int subStrEnd = Math.min(ERROR_DETECTION_LENGTH, json.length());
     Matcher matcher = ERROR_PATTERN.matcher(json.substring(0, subStrEnd));
     if (!matcher.find()) {
       throw new ResponseErrorJsonParsingException();
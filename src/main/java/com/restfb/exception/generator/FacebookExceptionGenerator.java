@@ -65,6 +65,11 @@ public interface FacebookExceptionGenerator {
 
   String ERROR_IS_TRANSIENT_NAME = "is_transient";
 
+  /**
+   * Number of characters at the beginning of a response body that are passed to {@link #mayContainError(String)}.
+   */
+  int ERROR_DETECTION_LENGTH = 50;
+
   /**
    * API error response 'error_subcode' attribute name.
    */
@@ -106,6 +111,22 @@ public interface FacebookExceptionGenerator {
    */
   void throwFacebookResponseStatusExceptionIfNecessary(String json, Integer httpStatusCode);
 
+  /**
+   * Checks if a response that starts with the given text may contain an error, so that the whole response body has to
+   * be passed to {@link #throwFacebookResponseStatusExceptionIfNecessary(String, Integer)}. This allows skipping the
+   * decoding of large successful responses.
+   * <p>
+   * The default implementation returns {@code true}, so every response is checked.
+   *
+   * @param jsonStart
+   *          The first {@value #ERROR_DETECTION_LENGTH} characters of the response body, without leading whitespace.
+   * @return {@code true} if the response body has to be checked for errors
+   * @since 2026.8.0
+   */
+  default boolean mayContainError(String jsonStart) {
+    return true;
+  }
+
   /**
    * If the {@code error} and {@code error_description} JSON fields are present, we've got a response status error for
    * this batch API call. Extracts relevant information from the JSON and throws an exception which encapsulates it for
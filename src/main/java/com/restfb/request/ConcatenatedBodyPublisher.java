@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.request;
+
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes the content of several {@link BodyPublisher}s one after the other, like {@code BodyPublishers.concat} in
+ * Java 16 and later.
+ * <p>
+ * Each part is subscribed to when the previous one is complete, and the outstanding demand of the subscriber is handed
+ * over to it, so file parts can still be sent by the file based publisher of the HTTP client.
+ */
+final class ConcatenatedBodyPublisher implements BodyPublisher {
+
+  private final List<BodyPublisher> parts;
+
+  private final long contentLength;
+
+  ConcatenatedBodyPublisher(List<BodyPublisher> parts) {
+    this.parts = List.copyOf(parts);
+    long length = 0;
+    for (BodyPublisher part : this.parts) {
+      if (part.contentLength() < 0) {
+        length = -1;
+        break;
+      }
+      length += part.contentLength();
+    }
+    this.contentLength = length;
+  }
+
+  @Override
+  public long contentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    ConcatenatedSubscription subscription = new ConcatenatedSubscription(subscriber, parts.iterator());
+    subscriber.onSubscribe(subscription);
+    subscription.subscribeNextPart();
+  }
+
+  private static final class ConcatenatedSubscription implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+    private final Iterator<BodyPublisher> parts;
+
+    /**
+     * requested by the subscriber but not delivered yet, the current part has been asked for exactly this amount
+     */
+    private long demand;
+
+    private Flow.Subscription current;
+
+    private boolean done;
+
+    ConcatenatedSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, Iterator<BodyPublisher> parts) {
+      this.subscriber = subscriber;
+      this.parts = parts;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        cancel();
+        subscriber.onError(new IllegalArgumentException("Requested " + n + " items, but must be positive"));
+        return;
+      }
+
+      Flow.Subscription subscription;
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        subscription = current;
+      }
+      if (subscription != null) {
+        subscription.request(n);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      Flow.Subscription subscription;
+      synchronized (this) {
+        done = true;
+        subscription = current;
+        current = null;
+      }
+      if (subscription != null) {
+        subscription.cancel();
+      }
+    }
+
+    void subscribeNextPart() {
+      BodyPublisher next;
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+        if (!parts.hasNext()) {
+          done = true;
+          next = null;
+        } else {
+          next = parts.next();
+        }
+      }
+
+      if (next == null) {
+        subscriber.onComplete();
+      } else {
+        next.subscribe(new PartSubscriber());
+      }
+    }
+
+    private final class PartSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        long initialDemand;
+        synchronized (ConcatenatedSubscription.this) {
+          if (done) {
+            initialDemand = -1;
+          } else {
+            current = subscription;
+            initialDemand = demand;
+          }
+        }
+        if (initialDemand < 0) {
+          subscription.cancel();
+        } else if (initialDemand > 0) {
+          subscription.request(initialDemand);
+        }
+      }
+
+      @Override
+      public void onNext(ByteBuffer item) {
+        synchronized (ConcatenatedSubscription.this) {
+          if (done) {
+            return;
+          }
+          if (demand != Long.MAX_VALUE) {
+            demand--;
+          }
+        }
+        subscriber.onNext(item);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+        synchronized (ConcatenatedSubscription.this) {
+          if (done) {
+            return;
+          }
+          done = true;
+          current = null;
+        }
+        subscriber.onError(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+        synchronized (ConcatenatedSubscription.this) {
+          current = null;
+        }
+        subscribeNextPart();
+      }
+    }
+  }
+}
@@ -24,32 +24,45 @@ package com.restfb.request;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.http.HttpRequest.BodyPublisher;
-import java.nio.charset.StandardCharsets;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.restfb.BinaryAttachment;
 import com.restfb.util.StringUtils;
 
 /**
- * Writes multipart/form-data requests to a temporary file and exposes them as a BodyPublisher.
+ * Streams multipart/form-data requests as a BodyPublisher.
+ * <p>
+ * The boundary headers and the attachment data are sent directly, without staging the request on disk. Attachments
+ * backed by a file are sent with {@link BodyPublishers#ofFile}, so their content is not copied into the Java heap. If
+ * the sizes of all attachments are known (see {@link BinaryAttachment#getContentLength()}), the publisher has a
+ * {@code Content-Length}, otherwise the request is sent with chunked transfer encoding. The attachment data is opened
+ * again each time the body is sent, for example after a redirect.
  */
 public class MultipartFormBodyPublisher implements Closeable {
 
-  private static final byte[] MULTIPART_CARRIAGE_RETURN_AND_NEWLINE = "\r\n".getBytes(StandardCharsets.UTF_8);
-  private static final byte[] MULTIPART_TWO_HYPHENS = "--".getBytes(StandardCharsets.UTF_8);
+  private static final String MULTIPART_CARRIAGE_RETURN_AND_NEWLINE = "\r\n";
+  private static final String MULTIPART_TWO_HYPHENS = "--";
 
-  private final TempFileBodyPublisher tempFileBodyPublisher;
-  private final OutputStream outputStream;
+  private final List<BodyPublisher> parts = new ArrayList<>();
+  private final Queue<AttachmentInputStream> openStreams = new ConcurrentLinkedQueue<>();
   private final String boundary;
-  private final int bufferSize;
 
-  public MultipartFormBodyPublisher(String boundary, int bufferSize) throws IOException {
+  public MultipartFormBodyPublisher(String boundary) {
     this.boundary = boundary;
-    this.bufferSize = bufferSize;
-    tempFileBodyPublisher = new TempFileBodyPublisher();
-    outputStream = tempFileBodyPublisher.outputStream();
+  }
+
+  /**
+   * @deprecated the body is streamed by the HTTP client, so the buffer size is not used anymore, use
+   *             {@link #MultipartFormBodyPublisher(String)} instead
+   */
+  @Deprecated
+  public MultipartFormBodyPublisher(String boundary, int bufferSize) {
+    this(boundary);
   }
 
   public void addAttachments(List<BinaryAttachment> attachments) throws IOException {
@@ -59,43 +72,110 @@ public class MultipartFormBodyPublisher implements Closeable {
   }
 
   private void addAttachment(BinaryAttachment attachment) throws IOException {
-    StringBuilder headers = new StringBuilder();
-    headers.append(new String(MULTIPART_TWO_HYPHENS, StandardCharsets.UTF_8)).append(boundary)
-      .append(new String(MULTIPART_CARRIAGE_RETURN_AND_NEWLINE, StandardCharsets.UTF_8))
-      .append("Content-Disposition: form-data; name=\"").append(attachment.getFormFieldName()).append("\"; filename=\"")
-      .append(attachment.getFilename()).append("\"")
-      .append(new String(MULTIPART_CARRIAGE_RETURN_AND_NEWLINE, StandardCharsets.UTF_8)).append("Content-Type: ")
-      .append(attachment.getContentType())
-      .append(new String(MULTIPART_CARRIAGE_RETURN_AND_NEWLINE, StandardCharsets.UTF_8))
-      .append(new String(MULTIPART_CARRIAGE_RETURN_AND_NEWLINE, StandardCharsets.UTF_8));
-
-    outputStream.write(headers.toString().getBytes(StringUtils.ENCODING_CHARSET));
-    try (InputStream data = attachment.getData()) {
-      write(data, outputStream);
-    }
-    outputStream.write((new String(MULTIPART_CARRIAGE_RETURN_AND_NEWLINE, StandardCharsets.UTF_8)
-        + new String(MULTIPART_TWO_HYPHENS, StandardCharsets.UTF_8) + boundary
-        + new String(MULTIPART_TWO_HYPHENS, StandardCharsets.UTF_8)
-        + new String(MULTIPART_CARRIAGE_RETURN_AND_NEWLINE, StandardCharsets.UTF_8))
-      .getBytes(StringUtils.ENCODING_CHARSET));
+    String headers = MULTIPART_TWO_HYPHENS + boundary + MULTIPART_CARRIAGE_RETURN_AND_NEWLINE
+        + "Content-Disposition: form-data; name=\"" + attachment.getFormFieldName() + "\"; filename=\""
+        + attachment.getFilename() + "\"" + MULTIPART_CARRIAGE_RETURN_AND_NEWLINE + "Content-Type: "
+        + attachment.getContentType() + MULTIPART_CARRIAGE_RETURN_AND_NEWLINE + MULTIPART_CARRIAGE_RETURN_AND_NEWLINE;
+    String trailer = MULTIPART_CARRIAGE_RETURN_AND_NEWLINE + MULTIPART_TWO_HYPHENS + boundary + MULTIPART_TWO_HYPHENS
+        + MULTIPART_CARRIAGE_RETURN_AND_NEWLINE;
+
+    parts.add(BodyPublishers.ofByteArray(headers.getBytes(StringUtils.ENCODING_CHARSET)));
+    parts.add(dataPublisher(attachment));
+    parts.add(BodyPublishers.ofByteArray(trailer.getBytes(StringUtils.ENCODING_CHARSET)));
   }
 
-  private void write(InputStream source, OutputStream destination) throws IOException {
-    byte[] buffer = new byte[bufferSize];
-    int read;
-    while ((read = source.read(buffer)) > 0) {
-      destination.write(buffer, 0, read);
+  private BodyPublisher dataPublisher(BinaryAttachment attachment) throws IOException {
+    if (attachment.getFile() != null) {
+      return BodyPublishers.ofFile(attachment.getFile());
+    }
+
+    long contentLength = attachment.getContentLength();
+    if (contentLength == 0) {
+      return BodyPublishers.noBody();
     }
+
+    BodyPublisher publisher = BodyPublishers.ofInputStream(() -> {
+      AttachmentInputStream stream = new AttachmentInputStream(attachment);
+      openStreams.add(stream);
+      return stream;
+    });
+    return contentLength > 0 ? BodyPublishers.fromPublisher(publisher, contentLength) : publisher;
+  }
+
+  /**
+   * @return the length of the request body, {@code -1} if the size of an attachment is unknown
+   */
+  public long contentLength() {
+    return new ConcatenatedBodyPublisher(parts).contentLength();
   }
 
-  public BodyPublisher build() throws IOException {
-    outputStream.flush();
-    outputStream.close();
-    return tempFileBodyPublisher.build();
+  public BodyPublisher build() {
+    return new ConcatenatedBodyPublisher(parts);
   }
 
+  /**
+   * Closes the attachment streams that were not sent completely, for example because the request was cancelled.
+   */
   @Override
   public void close() throws IOException {
-    tempFileBodyPublisher.close();
+    AttachmentInputStream stream;
+    while ((stream = openStreams.poll()) != null) {
+      stream.close();
+    }
+  }
+
+  /**
+   * Opens the attachment data when it is read for the first time.
+   */
+  private static final class AttachmentInputStream extends InputStream {
+    private final BinaryAttachment attachment;
+    private volatile InputStream data;
+    private volatile boolean closed;
+
+    AttachmentInputStream(BinaryAttachment attachment) {
+      this.attachment = attachment;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      int read = read(single, 0, 1);
+      return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (data == null) {
+        data = open();
+        if (closed) {
+          data.close();
+          throw new IOException("Stream closed");
+        }
+      }
+      return data.read(b, off, len);
+    }
+
+    /**
+     * Not synchronized, so a read that blocks in the attachment stream can be interrupted by closing it.
+     */
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      InputStream stream = data;
+      if (stream != null) {
+        stream.close();
+      }
+    }
+
+    private InputStream open() throws IOException {
+      try {
+        return attachment.getData();
+      } catch (RuntimeException e) {
+        throw new IOException("Unable to open the attachment data", e);
+      }
+    }
   }
 }
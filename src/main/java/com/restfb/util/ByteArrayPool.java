@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free pool of byte arrays that are used as scratch buffers to read streams, so that reading a stream does not
+ * allocate a new buffer every time.
+ * <p>
+ * The pool has a fixed number of slots. Buffers are taken with {@link #acquire()} and given back with
+ * {@link #release(byte[])}; if all slots are empty a new buffer is allocated, if all slots are full a released buffer
+ * is dropped. Buffers that grew beyond {@code maxPooledSize} are never kept. The pool does not use thread locals, so it
+ * works with virtual threads as well.
+ *
+ * @since 2026.8.0
+ */
+public final class ByteArrayPool {
+
+  /**
+   * Streams with a known length up to this size are read into an exactly sized array.
+   */
+  private static final int MAX_PRESIZED_LENGTH = 64 * 1024 * 1024;
+
+  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+  private final AtomicReferenceArray<byte[]> slots;
+
+  private final int bufferSize;
+
+  private final int maxPooledSize;
+
+  /**
+   * Creates a pool.
+   *
+   * @param capacity
+   *          the maximum number of pooled buffers
+   * @param bufferSize
+   *          the size of newly allocated buffers
+   * @param maxPooledSize
+   *          the maximum size of a buffer that is kept in the pool
+   */
+  public ByteArrayPool(int capacity, int bufferSize, int maxPooledSize) {
+    if (capacity < 1 || bufferSize < 1 || maxPooledSize < bufferSize) {
+      throw new IllegalArgumentException("The capacity and the buffer size must be positive and the maximum pooled "
+          + "size must not be smaller than the buffer size");
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.bufferSize = bufferSize;
+    this.maxPooledSize = maxPooledSize;
+  }
+
+  /**
+   * Takes a buffer from the pool, or allocates a new one if the pool is empty.
+   *
+   * @return a buffer with at least {@code bufferSize} bytes, its content is undefined
+   */
+  public byte[] acquire() {
+    int start = startSlot();
+    for (int i = 0; i < slots.length(); i++) {
+      int slot = (start + i) % slots.length();
+      byte[] buffer = slots.get(slot);
+      if (buffer != null && slots.compareAndSet(slot, buffer, null)) {
+        return buffer;
+      }
+    }
+    return new byte[bufferSize];
+  }
+
+  /**
+   * Gives a buffer back to the pool. The buffer must not be used afterwards.
+   *
+   * @param buffer
+   *          the buffer taken with {@link #acquire()}, possibly grown
+   */
+  public void release(byte[] buffer) {
+    if (buffer == null || buffer.length < bufferSize || buffer.length > maxPooledSize) {
+      return;
+    }
+    int start = startSlot();
+    for (int i = 0; i < slots.length(); i++) {
+      int slot = (start + i) % slots.length();
+      if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reads the stream until its end.
+   * <p>
+   * If the length of the stream is known, it is read into an array of exactly that size. Otherwise it is read into a
+   * pooled buffer and copied into an array of the right size once, so only the returned array is allocated.
+   *
+   * @param inputStream
+   *          the stream to read, it is not closed
+   * @param expectedLength
+   *          the number of bytes the stream has, {@code -1} if unknown
+   * @return the content of the stream
+   * @throws IOException
+   *           If the stream cannot be read or does not have {@code expectedLength} bytes.
+   */
+  public byte[] readFully(InputStream inputStream, long expectedLength) throws IOException {
+    if (expectedLength >= 0 && expectedLength <= MAX_PRESIZED_LENGTH) {
+      byte[] content = new byte[(int) expectedLength];
+      int read = inputStream.readNBytes(content, 0, content.length);
+      if (read < content.length) {
+        throw new IOException("Expected " + expectedLength + " bytes but read " + read);
+      }
+      if (inputStream.read() != -1) {
+        throw new IOException("Expected " + expectedLength + " bytes but read more");
+      }
+      return content;
+    }
+
+    byte[] buffer = acquire();
+    try {
+      int count = 0;
+      while (true) {
+        if (count == buffer.length) {
+          buffer = Arrays.copyOf(buffer, grow(buffer.length));
+        }
+        int read = inputStream.read(buffer, count, buffer.length - count);
+        if (read < 0) {
+          break;
+        }
+        count += read;
+      }
+      if (expectedLength >= 0 && count != expectedLength) {
+        throw new IOException("Expected " + expectedLength + " bytes but read " + count);
+      }
+      return Arrays.copyOf(buffer, count);
+    } finally {
+      release(buffer);
+    }
+  }
+
+  /**
+   * @return the size of newly allocated buffers
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * @return the maximum size of a buffer that is kept in the pool
+   */
+  public int getMaxPooledSize() {
+    return maxPooledSize;
+  }
+
+  @Override
+  public String toString() {
+    return "ByteArrayPool[capacity=" + slots.length() + ", bufferSize=" + bufferSize + ", maxPooledSize="
+        + maxPooledSize + "]";
+  }
+
+  private static int grow(int length) throws IOException {
+    if (length >= MAX_ARRAY_LENGTH) {
+      throw new IOException("Stream is too large to be read into an array");
+    }
+    return (int) Math.min(2L * length, MAX_ARRAY_LENGTH);
+  }
+
+  /**
+   * Threads start at different slots, so they rarely compete for the same slot.
+   */
+  private int startSlot() {
+    return (int) (Thread.currentThread().getId() % slots.length());
+  }
+}
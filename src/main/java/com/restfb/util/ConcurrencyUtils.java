@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.util;
+
+import static com.restfb.logging.RestFBLogger.UTILS_LOGGER;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A collection of concurrency-related utility methods.
+ *
+ * @since 2026.8.0
+ */
+public final class ConcurrencyUtils {
+
+  private static final String DEFAULT_THREAD_NAME_PREFIX = "restfb-worker";
+
+  /**
+   * System property that enables the virtual thread mode, see {@link #isVirtualThreadModeEnabled()}.
+   */
+  public static final String VIRTUAL_THREADS_PROPERTY = "com.restfb.useVirtualThreads";
+
+  private ConcurrencyUtils() {
+    // Prevents instantiation
+  }
+
+  /**
+   * Returns the shared executor RestFB uses for background work when the caller does not provide one, for example to
+   * prefetch connection pages.
+   * <p>
+   * The executor is created lazily, grows on demand and runs its tasks on daemon threads, so it never prevents the JVM
+   * from shutting down. In the virtual thread mode (see {@link #isVirtualThreadModeEnabled()}) every task runs on a new
+   * virtual thread.
+   *
+   * @return the shared default executor
+   */
+  public static Executor defaultExecutor() {
+    return DefaultExecutorHolder.EXECUTOR;
+  }
+
+  /**
+   * Checks if the virtual thread mode is enabled.
+   * <p>
+   * The mode is enabled with the system property {@value #VIRTUAL_THREADS_PROPERTY}{@code =true} and requires a Java
+   * runtime with virtual threads (Java 21 or later). In this mode, the {@link #defaultExecutor() default executor} and
+   * the {@link java.net.http.HttpClient} of the {@link com.restfb.DefaultWebRequestor} use virtual threads. If the
+   * runtime does not support virtual threads, platform threads are used and a warning is logged.
+   *
+   * @return {@code true} if RestFB runs its background work on virtual threads
+   */
+  public static boolean isVirtualThreadModeEnabled() {
+    return DefaultExecutorHolder.VIRTUAL_THREAD_MODE;
+  }
+
+  /**
+   * Checks if the Java runtime supports virtual threads, i.e. is Java 21 or later.
+   *
+   * @return {@code true} if virtual threads are supported
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VirtualThreadSupport.NEW_EXECUTOR_METHOD != null;
+  }
+
+  /**
+   * Creates an executor that runs every task on a new virtual thread.
+   * <p>
+   * The method is looked up at runtime, because RestFB is compiled for Java 11.
+   *
+   * @return the new executor
+   * @throws UnsupportedOperationException
+   *           If the Java runtime does not support virtual threads.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    Method newExecutorMethod = VirtualThreadSupport.NEW_EXECUTOR_METHOD;
+    if (newExecutorMethod == null) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+    return VirtualThreadSupport.invoke(newExecutorMethod);
+  }
+
+  /**
+   * Creates a {@link ThreadFactory} that produces daemon threads named {@code <prefix>-<number>}.
+   *
+   * @param prefix
+   *          the thread name prefix
+   * @return the thread factory
+   */
+  public static ThreadFactory daemonThreadFactory(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static final class DefaultExecutorHolder {
+    private static final boolean VIRTUAL_THREAD_MODE = useVirtualThreads();
+
+    private static final ExecutorService EXECUTOR = VIRTUAL_THREAD_MODE ? newVirtualThreadPerTaskExecutor()
+        : Executors.newCachedThreadPool(daemonThreadFactory(DEFAULT_THREAD_NAME_PREFIX));
+
+    private static boolean useVirtualThreads() {
+      if (!Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "false"))) {
+        return false;
+      }
+      if (!isVirtualThreadSupported()) {
+        UTILS_LOGGER.warn("{} is set, but virtual threads require Java 21 or later, using platform threads",
+          VIRTUAL_THREADS_PROPERTY);
+        return false;
+      }
+      return true;
+    }
+  }
+
+  private static final class VirtualThreadSupport {
+    private static final Method NEW_EXECUTOR_METHOD = findNewExecutorMethod();
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}. On Java 19 and 20 the method exists, but fails
+     * unless preview features are enabled, so it is called once to check that it works.
+     */
+    private static Method findNewExecutorMethod() {
+      try {
+        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        invoke(method).shutdown();
+        return method;
+      } catch (NoSuchMethodException | UnsupportedOperationException e) {
+        return null;
+      }
+    }
+
+    private static ExecutorService invoke(Method newExecutorMethod) {
+      try {
+        return (ExecutorService) newExecutorMethod.invoke(null);
+      } catch (IllegalAccessException e) {
+        throw new UnsupportedOperationException("Virtual threads are not accessible", e);
+      } catch (InvocationTargetException e) {
+        throw new UnsupportedOperationException("Virtual threads are not available", e.getCause());
+      }
+    }
+  }
+}
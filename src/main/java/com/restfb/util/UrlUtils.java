@@ -28,11 +28,14 @@ import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -42,6 +45,16 @@ import java.util.stream.Collectors;
  */
 public final class UrlUtils {
 
+  private static final Pattern VERSION_SEGMENT_PATTERN = Pattern.compile("v\\d+\\.\\d+");
+
+  private static final Pattern EDGE_SEGMENT_PATTERN = Pattern.compile("[a-z][a-z_]*");
+
+  /**
+   * first path segments that are endpoints of their own instead of an object
+   */
+  private static final Set<String> ROOT_ENDPOINT_SEGMENTS =
+      Set.of("me", "app", "oauth", "debug_token", "search", "ig_hashtag_search");
+
   /**
    * Prevents instantiation.
    */
@@ -208,4 +221,94 @@ public final class UrlUtils {
     }
     return url;
   }
-}
\ No newline at end of file
+
+  /**
+   * Extracts the Graph API object a request URL targets, i.e. the first path segment after the optional API version.
+   * <p>
+   * Example: {@code https://graph.facebook.com/v23.0/act_123/insights} targets {@code act_123}.
+   *
+   * @param url
+   *          The URL of the request.
+   * @return the object id, or {@code null} if the URL has no path or cannot be parsed
+   * @since 2026.8.0
+   */
+  public static String extractObjectIdFromUrl(String url) {
+    for (String segment : extractPathFromUrl(url).split("/")) {
+      if (!segment.isEmpty() && !VERSION_SEGMENT_PATTERN.matcher(segment).matches()) {
+        return segment;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Extracts the path of the given URL.
+   *
+   * @param url
+   *          The URL the path is extracted from.
+   * @return the path, or an empty string if the URL has no path or cannot be parsed
+   * @since 2026.8.0
+   */
+  public static String extractPathFromUrl(String url) {
+    if (url == null) {
+      return "";
+    }
+    try {
+      String path = URI.create(url).getPath();
+      return path == null ? "" : path;
+    } catch (IllegalArgumentException e) {
+      return "";
+    }
+  }
+
+  /**
+   * Normalizes the path of a Graph API request URL, so that requests to the same edge of different objects share one
+   * key. The API version is removed and object ids are replaced by {@code {id}}. The first segment is always an object,
+   * numeric ids as well as vanity names and usernames, unless it is a root endpoint like {@code me} or
+   * {@code debug_token}. Later segments are kept if they look like an edge name (lower case letters and underscores).
+   * <p>
+   * Example: {@code https://graph.facebook.com/v23.0/act_123/insights?level=ad} and
+   * {@code https://graph.facebook.com/cocacola/insights} are normalized to {@code /{id}/insights}.
+   *
+   * @param url
+   *          The URL of the request.
+   * @return the normalized path, {@code /} if the URL has no path
+   * @since 2026.8.0
+   */
+  public static String normalizeEndpointPath(String url) {
+    StringBuilder normalizedPath = new StringBuilder();
+    for (String segment : extractPathFromUrl(url).split("/")) {
+      if (segment.isEmpty() || VERSION_SEGMENT_PATTERN.matcher(segment).matches()) {
+        continue;
+      }
+      boolean edge = normalizedPath.length() == 0 ? ROOT_ENDPOINT_SEGMENTS.contains(segment)
+          : EDGE_SEGMENT_PATTERN.matcher(segment).matches();
+      normalizedPath.append('/').append(edge ? segment : "{id}");
+    }
+    return normalizedPath.length() == 0 ? "/" : normalizedPath.toString();
+  }
+
+  /**
+   * Sorts the query parameters of the given URL by name, so that URLs that only differ in the order of their parameters
+   * are equal. Parameters are not decoded, and repeated parameters keep their order.
+   * <p>
+   * Example: {@code https://graph.facebook.com/me?fields=id&access_token=123} is normalized to
+   * {@code https://graph.facebook.com/me?access_token=123&fields=id}.
+   *
+   * @param url
+   *          The URL of the request.
+   * @return the URL with sorted query parameters
+   * @since 2026.8.0
+   */
+  public static String normalizeQueryString(String url) {
+    int queryStart = url == null ? -1 : url.indexOf('?');
+    if (queryStart < 0) {
+      return url;
+    }
+    String parameters = Pattern.compile("&").splitAsStream(url.substring(queryStart + 1))
+      .filter(parameter -> !parameter.isEmpty())
+      .sorted(Comparator.comparing(parameter -> parameter.split("=", 2)[0]))
+      .collect(Collectors.joining("&"));
+    return url.substring(0, queryStart + 1) + parameters;
+  }
+}
@@ -26,7 +26,10 @@ import static java.lang.String.format;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.Supplier;
 
 import com.restfb.util.ObjectUtil;
@@ -54,6 +57,8 @@ public class BinaryAttachment {
 
   private Supplier<InputStream> dataSupplier;
 
+  private Path file;
+
   private String contentType;
 
   @Getter
@@ -230,6 +235,35 @@ public class BinaryAttachment {
     this.fieldName = fieldName;
   }
 
+  /**
+   * Creates a new binary attachment backed by a file.
+   *
+   * @param fieldName
+   *          The field name the binary belongs to, {@code null} to derive it from the filename.
+   * @param file
+   *          The file to upload.
+   * @param contentType
+   *          The attachment's contentType, {@code null} to detect it from the file.
+   * @throws IllegalArgumentException
+   *           If {@code file} has no filename or {@code fieldName} is blank.
+   * @throws NullPointerException
+   *           If {@code file} is {@code null}.
+   * @since 2026.8.0
+   */
+  protected BinaryAttachment(String fieldName, Path file, String contentType) {
+    ObjectUtil.verifyParameterPresence("file", file);
+    ObjectUtil.requireNotEmpty(file.getFileName() != null ? file.getFileName().toString() : null,
+      "Binary attachment filename cannot be blank.");
+    if (fieldName != null) {
+      ObjectUtil.requireNotEmpty(fieldName, FIELD_NAME_CANNOT_BE_NULL);
+    }
+
+    this.filename = file.getFileName().toString();
+    this.file = file;
+    this.fieldName = fieldName;
+    this.contentType = contentType;
+  }
+
   /**
    * Creates a binary attachment backed by a stream supplier.
    * 
@@ -371,6 +405,77 @@ public class BinaryAttachment {
     return new BinaryAttachment(fieldName, filename, data, contentType);
   }
 
+  /**
+   * Creates a binary attachment backed by a file.
+   * <p>
+   * The file is sent directly from disk, its content is never copied into the Java heap. The filename is taken from
+   * the file, the content type is detected from the file.
+   *
+   * @param file
+   *          The file to upload.
+   * @return A binary attachment.
+   * @throws NullPointerException
+   *           If {@code file} is {@code null}.
+   * @since 2026.8.0
+   */
+  public static BinaryAttachment with(Path file) {
+    return new BinaryAttachment(null, file, null);
+  }
+
+  /**
+   * Creates a binary attachment backed by a file.
+   *
+   * @param file
+   *          The file to upload.
+   * @param contentType
+   *          The attachment's contentType.
+   * @return A binary attachment.
+   * @throws NullPointerException
+   *           If {@code file} is {@code null}.
+   * @since 2026.8.0
+   */
+  public static BinaryAttachment with(Path file, String contentType) {
+    ObjectUtil.requireNotEmpty(contentType, "ContentType cannot be null.");
+    return new BinaryAttachment(null, file, contentType);
+  }
+
+  /**
+   * Creates a binary attachment backed by a file.
+   *
+   * @param fieldName
+   *          The field name the binary belongs to
+   * @param file
+   *          The file to upload.
+   * @return A binary attachment.
+   * @throws NullPointerException
+   *           If {@code file} is {@code null}.
+   * @since 2026.8.0
+   */
+  public static BinaryAttachment with(String fieldName, Path file) {
+    ObjectUtil.requireNotEmpty(fieldName, FIELD_NAME_CANNOT_BE_NULL);
+    return new BinaryAttachment(fieldName, file, null);
+  }
+
+  /**
+   * Creates a binary attachment backed by a file.
+   *
+   * @param fieldName
+   *          The field name the binary belongs to
+   * @param file
+   *          The file to upload.
+   * @param contentType
+   *          The attachment's contentType.
+   * @return A binary attachment.
+   * @throws NullPointerException
+   *           If {@code file} is {@code null}.
+   * @since 2026.8.0
+   */
+  public static BinaryAttachment with(String fieldName, Path file, String contentType) {
+    ObjectUtil.requireNotEmpty(fieldName, FIELD_NAME_CANNOT_BE_NULL);
+    ObjectUtil.requireNotEmpty(contentType, "ContentType cannot be null.");
+    return new BinaryAttachment(fieldName, file, contentType);
+  }
+
   @Override
   public int hashCode() {
     return ReflectionUtils.hashCode(this);
@@ -394,6 +499,12 @@ public class BinaryAttachment {
   public InputStream getData() {
     if (data != null) {
       return new ByteArrayInputStream(data);
+    } else if (file != null) {
+      try {
+        return Files.newInputStream(file);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to open " + file, e);
+      }
     } else if (dataSupplier != null) {
       InputStream stream = dataSupplier.get();
       ObjectUtil.verifyParameterPresence("dataSupplier result", stream);
@@ -403,6 +514,36 @@ public class BinaryAttachment {
     }
   }
 
+  /**
+   * The size of the attachment's data, if it is known without reading the data.
+   *
+   * @return the size in bytes, {@code -1} if unknown
+   * @since 2026.8.0
+   */
+  public long getContentLength() {
+    if (data != null) {
+      return data.length;
+    }
+    if (file != null) {
+      try {
+        return Files.size(file);
+      } catch (IOException ioe) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The file the attachment is backed by.
+   *
+   * @return the file, {@code null} if the attachment is not backed by a file
+   * @since 2026.8.0
+   */
+  public Path getFile() {
+    return file;
+  }
+
   /**
    * return the given content type or try to guess from stream or file name. Depending of the available data.
    * 
@@ -413,6 +554,17 @@ public class BinaryAttachment {
       return contentType;
     }
 
+    if (file != null) {
+      try {
+        contentType = Files.probeContentType(file);
+      } catch (IOException ioe) {
+        // ignore exception
+      }
+      if (contentType == null) {
+        contentType = URLConnection.getFileNameMap().getContentTypeFor(filename);
+      }
+    }
+
     if (dataSupplier != null) {
       try (InputStream stream = dataSupplier.get()) {
         if (stream != null) {
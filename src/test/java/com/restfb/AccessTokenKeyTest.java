@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AccessTokenKeyTest {
+
+  @Test
+  void digestDoesNotContainAccessToken() {
+    AccessTokenKey key = AccessTokenKey.of("secret-token");
+
+    assertThat(key.getDigest()).hasSize(32).matches("[0-9a-f]+").doesNotContain("secret");
+    assertThat(key).hasToString(key.getDigest());
+    assertThat(AccessTokenKey.of("secret-token").getDigest()).isEqualTo(key.getDigest());
+    assertThat(AccessTokenKey.of("other-token").getDigest()).isNotEqualTo(key.getDigest());
+  }
+
+  @Test
+  void keyOfAccessToken() {
+    assertThat(AccessTokenKey.of("token").isKeyOf("token")).isTrue();
+    assertThat(AccessTokenKey.of("token").isKeyOf("other-token")).isFalse();
+    assertThat(AccessTokenKey.of(null).isKeyOf(null)).isTrue();
+    assertThat(AccessTokenKey.of(null).getDigest()).isEqualTo(AccessTokenKey.of("").getDigest());
+  }
+}
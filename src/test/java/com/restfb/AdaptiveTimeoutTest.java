@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveTimeoutTest {
+
+  private static final String INSIGHTS_URL = "https://graph.facebook.com/v23.0/act_123/insights";
+
+  private final AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout.AdaptiveTimeoutBuilder().percentile(0.9)
+    .multiplier(2).minTimeout(Duration.ofMillis(100)).maxTimeout(Duration.ofSeconds(30)).windowSize(10)
+    .minimumSamples(5).build();
+
+  @Test
+  void usesMaxTimeoutWithoutEnoughSamples() {
+    record(INSIGHTS_URL, 4, Duration.ofMillis(80));
+
+    assertThat(adaptiveTimeout.timeout(INSIGHTS_URL)).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  @Test
+  void derivesTimeoutFromPercentile() {
+    record(INSIGHTS_URL, 9, Duration.ofMillis(200));
+    record(INSIGHTS_URL, 1, Duration.ofSeconds(5));
+
+    assertThat(adaptiveTimeout.timeout(INSIGHTS_URL)).isEqualTo(Duration.ofMillis(400));
+    assertThat(adaptiveTimeout.timeout("https://graph.facebook.com/v23.0/act_456/insights"))
+      .isEqualTo(Duration.ofMillis(400));
+    assertThat(adaptiveTimeout.timeout("https://graph.facebook.com/v23.0/me")).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  @Test
+  void boundsTimeout() {
+    record(INSIGHTS_URL, 10, Duration.ofMillis(10));
+    assertThat(adaptiveTimeout.timeout(INSIGHTS_URL)).isEqualTo(Duration.ofMillis(100));
+
+    record(INSIGHTS_URL, 10, Duration.ofSeconds(20));
+    assertThat(adaptiveTimeout.timeout(INSIGHTS_URL)).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  @Test
+  void invalidConfiguration() {
+    AdaptiveTimeout.AdaptiveTimeoutBuilder invalidPercentile =
+        new AdaptiveTimeout.AdaptiveTimeoutBuilder().percentile(0);
+    assertThrows(IllegalArgumentException.class, invalidPercentile::build);
+
+    AdaptiveTimeout.AdaptiveTimeoutBuilder invalidTimeouts = new AdaptiveTimeout.AdaptiveTimeoutBuilder()
+      .minTimeout(Duration.ofSeconds(10)).maxTimeout(Duration.ofSeconds(1));
+    assertThrows(IllegalArgumentException.class, invalidTimeouts::build);
+
+    AdaptiveTimeout.AdaptiveTimeoutBuilder invalidSamples =
+        new AdaptiveTimeout.AdaptiveTimeoutBuilder().windowSize(10).minimumSamples(20);
+    assertThrows(IllegalArgumentException.class, invalidSamples::build);
+  }
+
+  private void record(String url, int count, Duration latency) {
+    for (int i = 0; i < count; i++) {
+      adaptiveTimeout.record(url, latency);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.exception.FacebookGraphException;
+import com.restfb.exception.FacebookResponseContentException;
+import com.restfb.json.JsonObject;
+import com.restfb.types.FacebookType;
+import com.restfb.types.NamedFacebookType;
+
+class AutoBatchingFacebookClientTest {
+
+  private final BatchEchoWebRequestor webRequestor = new BatchEchoWebRequestor();
+
+  private final DefaultFacebookClient facebookClient =
+      new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+
+  @Test
+  void coalescesCallsIntoOneBatch() throws Exception {
+    try (AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient, Duration.ofMinutes(1), 50)) {
+      CompletableFuture<NamedFacebookType> first = client.fetchObject("first", NamedFacebookType.class);
+      CompletableFuture<NamedFacebookType> second =
+          client.fetchObject("second", NamedFacebookType.class, Parameter.with("fields", "id"));
+      CompletableFuture<Connection<FacebookType>> connection = client.fetchConnection("conn/feed", FacebookType.class);
+      CompletableFuture<Boolean> deleted = client.deleteObject("third");
+
+      assertThat(webRequestor.getBatches()).isEmpty();
+      client.flush();
+
+      assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("first");
+      assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo("second?fields=id");
+      assertThat(connection.get(5, TimeUnit.SECONDS).getData()).extracting(FacebookType::getId)
+        .containsExactly("conn/feed");
+      assertThat(deleted.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    assertThat(webRequestor.getBatches()).hasSize(1);
+    assertThat(webRequestor.getBatches().get(0)).extracting(operation -> operation.getString("method", null))
+      .containsExactly("GET", "GET", "GET", "DELETE");
+  }
+
+  @Test
+  void clientParametersAreNotSent() throws Exception {
+    try (AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient, Duration.ofMinutes(1), 50)) {
+      CompletableFuture<NamedFacebookType> fetched = client.fetchObject("first", NamedFacebookType.class,
+        Parameter.with("fields", "id"), Parameter.withTimeout(Duration.ofSeconds(2)),
+        Parameter.withPriority(RequestPriority.LOW));
+      CompletableFuture<FacebookType> published = client.publish("me/feed", FacebookType.class,
+        Parameter.with("message", "hi"), Parameter.withTimeout(Duration.ofSeconds(2)));
+      client.flush();
+
+      assertThat(fetched.get(5, TimeUnit.SECONDS).getId()).isEqualTo("first?fields=id");
+      published.get(5, TimeUnit.SECONDS);
+    }
+
+    assertThat(webRequestor.getBatches()).hasSize(1);
+    assertThat(webRequestor.getBatches().get(0).toString()).contains("fields=id", "message=hi")
+      .doesNotContain(Parameter.TIMEOUT_PARAM_NAME)
+      .doesNotContain(Parameter.PRIORITY_PARAM_NAME);
+  }
+
+  @Test
+  void sendsWhenMaxBatchSizeIsReached() throws Exception {
+    try (AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient, Duration.ofMinutes(1), 2)) {
+      CompletableFuture<NamedFacebookType> first = client.fetchObject("first", NamedFacebookType.class);
+      CompletableFuture<NamedFacebookType> second = client.fetchObject("second", NamedFacebookType.class);
+      CompletableFuture<NamedFacebookType> third = client.fetchObject("third", NamedFacebookType.class);
+
+      assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("first");
+      assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo("second");
+      assertThat(third).isNotDone();
+    }
+
+    assertThat(webRequestor.getBatches()).hasSize(2);
+  }
+
+  @Test
+  void sendsWhenWindowEnds() throws Exception {
+    try (AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient)) {
+      CompletableFuture<NamedFacebookType> first = client.fetchObject("first", NamedFacebookType.class);
+
+      assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("first");
+      assertThat(webRequestor.getBatches()).hasSize(1);
+    }
+  }
+
+  @Test
+  void invalidArgumentsCompleteExceptionally() {
+    try (AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient)) {
+      CompletableFuture<NamedFacebookType> fetch = client.fetchObject(null, NamedFacebookType.class);
+      CompletableFuture<Boolean> delete = client.deleteObject(null);
+
+      ExecutionException exception = assertThrows(ExecutionException.class, () -> fetch.get(5, TimeUnit.SECONDS));
+      assertThat(exception.getCause()).isInstanceOf(NullPointerException.class);
+      assertThat(delete).isCompletedExceptionally();
+      assertThat(webRequestor.getBatches()).isEmpty();
+    }
+  }
+
+  @Test
+  void mapsErrorsToTheFailedCallOnly() throws Exception {
+    try (AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient, Duration.ofMinutes(1), 50)) {
+      CompletableFuture<NamedFacebookType> ok = client.fetchObject("ok", NamedFacebookType.class);
+      CompletableFuture<NamedFacebookType> failed = client.fetchObject("error", NamedFacebookType.class);
+      client.flush();
+
+      assertThat(ok.get(5, TimeUnit.SECONDS).getId()).isEqualTo("ok");
+      ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+      assertThat(exception.getCause()).isInstanceOf(FacebookGraphException.class);
+      assertThat(((FacebookGraphException) exception.getCause()).getErrorCode()).isEqualTo(100);
+    }
+  }
+
+  @Test
+  void missingResponse() {
+    BatchEchoWebRequestor requestor = new BatchEchoWebRequestor() {
+      @Override
+      protected JsonObject respond(JsonObject operation) {
+        return null;
+      }
+    };
+    DefaultFacebookClient client = new DefaultFacebookClient("token", requestor, new DefaultJsonMapper(), Version.LATEST);
+
+    try (AutoBatchingFacebookClient autoBatchingClient = new AutoBatchingFacebookClient(client)) {
+      CompletableFuture<NamedFacebookType> future = autoBatchingClient.fetchObject("first", NamedFacebookType.class);
+      autoBatchingClient.flush();
+
+      ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+      assertThat(exception.getCause()).isInstanceOf(FacebookResponseContentException.class);
+    }
+  }
+
+  @Test
+  void closedClientRejectsCalls() {
+    AutoBatchingFacebookClient client = new AutoBatchingFacebookClient(facebookClient);
+    client.close();
+
+    CompletableFuture<NamedFacebookType> future = client.fetchObject("first", NamedFacebookType.class);
+    ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void invalidBatchSize() {
+    assertThrows(IllegalArgumentException.class,
+      () -> new AutoBatchingFacebookClient(facebookClient, Duration.ofMillis(10), 51));
+  }
+}
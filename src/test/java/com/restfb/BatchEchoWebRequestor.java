@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.restfb.json.Json;
+import com.restfb.json.JsonArray;
+import com.restfb.json.JsonObject;
+import com.restfb.json.JsonValue;
+
+/**
+ * Fake Web Requestor for batch unit tests, answers every operation of a batch with a response created by
+ * {@link #respond(JsonObject)}.
+ * <p>
+ * By default the response echoes the {@code relative_url} and {@code method} of the operation. Operations with a
+ * relative URL containing {@code "error"} get a Graph API error, connections starting with {@code "conn"} a connection
+ * with one item.
+ */
+public class BatchEchoWebRequestor extends FakeWebRequestor {
+
+  private final List<List<JsonObject>> batches = new CopyOnWriteArrayList<>();
+
+  @Override
+  public Response executePost(Request request) {
+    JsonArray operations = Json.parse(extractParameter(request.getParameters(), "batch")).asArray();
+    List<JsonObject> batch = new CopyOnWriteArrayList<>();
+    JsonArray responses = new JsonArray();
+    for (JsonValue operation : operations) {
+      batch.add(operation.asObject());
+      JsonObject response = respond(operation.asObject());
+      responses.add(response == null ? Json.NULL : response);
+    }
+    batches.add(batch);
+    return new Response(HTTP_OK, responses.toString());
+  }
+
+  /**
+   * Creates the response of a single batch operation.
+   *
+   * @param operation
+   *          the batch operation
+   * @return the response, {@code null} to simulate a missing response
+   */
+  protected JsonObject respond(JsonObject operation) {
+    String relativeUrl = operation.getString("relative_url", "");
+    String method = operation.getString("method", "GET");
+
+    if (relativeUrl.contains("error")) {
+      return response(400,
+        "{\"error\":{\"message\":\"Unsupported request\",\"type\":\"GraphMethodException\",\"code\":100}}");
+    }
+
+    if (relativeUrl.startsWith("conn")) {
+      return response(200, "{\"data\":[{\"id\":\"" + relativeUrl + "\"}]}");
+    }
+
+    if ("DELETE".equals(method)) {
+      return response(200, "{\"success\":true}");
+    }
+
+    return response(200, new JsonObject().add("id", relativeUrl).add("name", method).toString());
+  }
+
+  /**
+   * Creates a batch operation response.
+   *
+   * @param code
+   *          HTTP status code
+   * @param body
+   *          response body
+   * @return the response
+   */
+  public static JsonObject response(int code, String body) {
+    return new JsonObject().add("code", code).add("body", body);
+  }
+
+  /**
+   * @return the operations of all batches sent, in the order they arrived
+   */
+  public List<List<JsonObject>> getBatches() {
+    return batches;
+  }
+
+  private static String extractParameter(String parameters, String name) {
+    for (String parameter : parameters.split("&")) {
+      int separator = parameter.indexOf('=');
+      if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+        return URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+      }
+    }
+    throw new IllegalArgumentException("No parameter " + name + " in " + parameters);
+  }
+}
@@ -26,12 +26,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -88,6 +92,40 @@ class BinaryAttachmentTest {
     );
   }
 
+  @Test
+  void checkPath(@TempDir Path tempDir) throws IOException {
+    Path file = Files.write(tempDir.resolve("example.png"), "this is a short string".getBytes());
+    BinaryAttachment att = BinaryAttachment.with(file);
+    assertThat(att).hasFileName("example.png");
+    assertThat(att).hasContentType("image/png");
+    assertThat(att.getFile()).isEqualTo(file);
+    assertThat(att.getContentLength()).isEqualTo(22);
+    assertThat(att.getFormFieldName()).isEqualTo("example");
+    try (InputStream data = att.getData()) {
+      assertThat(data.readAllBytes()).isEqualTo("this is a short string".getBytes());
+    }
+  }
+
+  @Test
+  void checkPathWithFieldNameAndContentType(@TempDir Path tempDir) throws IOException {
+    Path file = Files.write(tempDir.resolve("video.bin"), new byte[10]);
+    BinaryAttachment att = BinaryAttachment.with("source", file, "video/mp4");
+    assertThat(att).hasContentType("video/mp4");
+    assertThat(att.getFormFieldName()).isEqualTo("source");
+  }
+
+  @Test
+  void checkPathNull() {
+    assertThrows(NullPointerException.class, () -> BinaryAttachment.with((Path) null));
+  }
+
+  @Test
+  void checkContentLength() {
+    assertThat(BinaryAttachment.with("myfile.jpg", new byte[5]).getContentLength()).isEqualTo(5);
+    assertThat(BinaryAttachment.with("myfile.jpg", () -> new ByteArrayInputStream(new byte[5])).getContentLength())
+      .isEqualTo(-1);
+  }
+
   @Test
   void checkContentTypeBytes_manual() {
     String attachmentData = "this is a short string";
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class CoalescingWebRequestorTest {
+
+  private static final String ME_URL = "https://graph.facebook.com/v23.0/me";
+
+  private final PendingWebRequestor delegate = new PendingWebRequestor();
+
+  private final CoalescingWebRequestor requestor = new CoalescingWebRequestor(delegate);
+
+  @Test
+  void concurrentIdenticalRequestsShareOneCall() throws Exception {
+    CompletableFuture<WebRequestor.Response> first = requestor.executeGetAsync(request("token", "fields=id,name"));
+    CompletableFuture<WebRequestor.Response> second = requestor.executeGetAsync(request("token", "fields=id,name"));
+
+    assertThat(delegate.calls).hasSize(1);
+    assertThat(requestor.getCoalescedCount()).isEqualTo(1);
+
+    WebRequestor.Response response = new WebRequestor.Response(HTTP_OK, "{\"id\":\"1\"}");
+    delegate.calls.get(0).complete(response);
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(requestor.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void parameterOrderIsIgnored() {
+    requestor.executeGetAsync(request("token", "fields=id&locale=de_DE"));
+    requestor.executeGetAsync(request("token", "locale=de_DE&fields=id"));
+
+    assertThat(delegate.calls).hasSize(1);
+  }
+
+  @Test
+  void differentTokensAreNotCoalesced() {
+    requestor.executeGetAsync(request("token1", "fields=id"));
+    requestor.executeGetAsync(request("token2", "fields=id"));
+    requestor.executeGetAsync(request(null, "fields=id&access_token=token3"));
+
+    assertThat(delegate.calls).hasSize(3);
+    assertThat(requestor.getCoalescedCount()).isZero();
+  }
+
+  @Test
+  void completedRequestIsNotReused() throws Exception {
+    requestor.executeGetAsync(request("token", "fields=id"));
+    delegate.calls.get(0).complete(new WebRequestor.Response(HTTP_OK, "{}"));
+
+    requestor.executeGetAsync(request("token", "fields=id"));
+
+    assertThat(delegate.calls).hasSize(2);
+  }
+
+  @Test
+  void failureIsSharedWithAllCallers() throws Exception {
+    CompletableFuture<WebRequestor.Response> first = requestor.executeGetAsync(request("token", "fields=id"));
+    CompletableFuture<WebRequestor.Response> second = requestor.executeGetAsync(request("token", "fields=id"));
+    delegate.calls.get(0).completeExceptionally(new IOException("connection reset"));
+
+    assertThat(first).isCompletedExceptionally();
+    assertThat(second).isCompletedExceptionally();
+
+    delegate.calls.clear();
+    CompletableFuture<WebRequestor.Response> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IOException("connection reset"));
+    delegate.responses.add(failed);
+    IOException exception =
+        assertThrows(IOException.class, () -> requestor.executeGet(request("token", "fields=id")));
+    assertThat(exception).hasMessage("connection reset");
+  }
+
+  @Test
+  void callIsCancelledOnlyWhenAllCallersCancel() throws Exception {
+    CompletableFuture<WebRequestor.Response> first = requestor.executeGetAsync(request("token", "fields=id"));
+    CompletableFuture<WebRequestor.Response> second = requestor.executeGetAsync(request("token", "fields=id"));
+    CompletableFuture<WebRequestor.Response> call = delegate.calls.get(0);
+
+    first.cancel(true);
+    assertThat(call).isNotDone();
+
+    second.cancel(true);
+    assertThat(call).isCancelled();
+    assertThat(requestor.getInFlightCount()).isZero();
+
+    requestor.executeGetAsync(request("token", "fields=id"));
+    assertThat(delegate.calls).hasSize(2);
+  }
+
+  @Test
+  void postIsNotCoalesced() throws Exception {
+    requestor.executePost(request("token", "message=hello"));
+    requestor.executePost(request("token", "message=hello"));
+
+    assertThat(delegate.postCount).isEqualTo(2);
+  }
+
+  private static WebRequestor.Request request(String accessToken, String parameters) {
+    return new WebRequestor.Request(ME_URL, accessToken, parameters);
+  }
+
+  private static class PendingWebRequestor implements WebRequestor {
+
+    final List<CompletableFuture<Response>> calls = new CopyOnWriteArrayList<>();
+
+    final List<CompletableFuture<Response>> responses = new CopyOnWriteArrayList<>();
+
+    int postCount;
+
+    @Override
+    public Response executeGet(Request request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<Response> executeGetAsync(Request request) {
+      CompletableFuture<Response> call = responses.isEmpty() ? new CompletableFuture<>() : responses.remove(0);
+      calls.add(call);
+      return call;
+    }
+
+    @Override
+    public Response executePost(Request request) {
+      postCount++;
+      return new Response(HTTP_OK, "{}");
+    }
+
+    @Override
+    public Response executeDelete(Request request) {
+      return new Response(HTTP_OK, "{}");
+    }
+  }
+}
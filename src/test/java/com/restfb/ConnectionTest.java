@@ -25,9 +25,21 @@ import static java.net.HttpURLConnection.HTTP_OK;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.Test;
@@ -152,6 +164,236 @@ class ConnectionTest extends AbstractJsonMapperTests {
     assertThrows(NoSuchElementException.class, it::next);
   }
 
+  @Test
+  void checkCheckpoint_resume() throws IOException, ClassNotFoundException {
+    AtomicInteger requests = new AtomicInteger();
+    Connection<FacebookType> connection = create3PageConnection(requests);
+    ConnectionIterator<FacebookType> it = connection.iterator();
+    int firstPageSize = it.next().size();
+
+    ConnectionCheckpoint checkpoint = serializeAndRestore(it.checkpoint());
+    assertThat(checkpoint.getFetchedCount()).isEqualTo(firstPageSize);
+    assertThat(checkpoint.getNextPageUrl()).contains("page2");
+    assertThat(checkpoint.getConnectionTypeName()).isEqualTo(FacebookType.class.getName());
+    assertThat(checkpoint.isComplete()).isFalse();
+
+    ConnectionIterator<FacebookType> resumed = checkpoint.resume(connection.getFacebookClient(), FacebookType.class);
+    long counter = firstPageSize;
+    while (resumed.hasNext()) {
+      counter += resumed.next().size();
+    }
+
+    assertThat(counter).isEqualTo(18);
+    assertThat(requests).hasValue(3);
+    assertThat(resumed.checkpoint().getFetchedCount()).isEqualTo(18);
+    assertThat(resumed.checkpoint().isComplete()).isTrue();
+    assertThrows(IllegalStateException.class,
+      () -> resumed.checkpoint().resume(connection.getFacebookClient(), FacebookType.class));
+  }
+
+  @Test
+  void checkCheckpoint_prefetchingIterator() {
+    Connection<FacebookType> connection = create3PageConnection();
+    ConnectionIterator<FacebookType> it = connection.prefetchingIterator(1, Runnable::run);
+    int fetched = it.next().size() + it.next().size();
+
+    ConnectionCheckpoint checkpoint = it.checkpoint();
+    assertThat(checkpoint.getFetchedCount()).isEqualTo(fetched);
+    assertThat(checkpoint.getNextPageUrl()).contains("page3");
+  }
+
+  @Test
+  void checkCheckpoint_invalidUsage() {
+    Connection<FacebookType> connection = create3PageConnection();
+    ConnectionIterator<FacebookType> it = connection.iterator();
+    assertThrows(IllegalStateException.class, it::checkpoint);
+
+    it.next();
+    ConnectionCheckpoint checkpoint = it.checkpoint();
+    assertThrows(IllegalArgumentException.class,
+      () -> checkpoint.resume(connection.getFacebookClient(), JsonObject.class));
+  }
+
+  @Test
+  void checkStream_reachAllElements() {
+    AtomicInteger requests = new AtomicInteger();
+    Connection<FacebookType> connection = create3PageConnection(requests);
+
+    assertThat(connection.stream().count()).isEqualTo(18);
+    assertThat(requests).hasValue(3);
+  }
+
+  @Test
+  void checkStream_keepsOrder() {
+    Connection<FacebookType> connection = create3PageConnection();
+
+    List<FacebookType> expected = StreamSupport.stream(connection.spliterator(), false).flatMap(List::stream)
+      .collect(Collectors.toList());
+
+    assertThat(connection.stream().collect(Collectors.toList())).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void checkStream_limitStopsPaging() {
+    AtomicInteger requests = new AtomicInteger();
+    Connection<FacebookType> connection = create3PageConnection(requests);
+    int firstPageSize = connection.getData().size();
+
+    assertThat(connection.stream().limit(firstPageSize).count()).isEqualTo(firstPageSize);
+    assertThat(requests).hasValue(1);
+
+    assertThat(connection.stream().limit(firstPageSize + 1L).count()).isEqualTo(firstPageSize + 1L);
+    assertThat(requests).hasValue(2);
+  }
+
+  @Test
+  void checkPublisher_fetchesOnDemand() {
+    AtomicInteger requests = new AtomicInteger();
+    Connection<FacebookType> connection = create3PageConnection(requests);
+    int firstPageSize = connection.getData().size();
+    RecordingSubscriber<FacebookType> subscriber = new RecordingSubscriber<>();
+
+    connection.publisher(Runnable::run).subscribe(subscriber);
+    assertThat(subscriber.items).isEmpty();
+
+    subscriber.subscription.request(firstPageSize);
+    assertThat(subscriber.items).hasSize(firstPageSize);
+    assertThat(requests).hasValue(1);
+
+    subscriber.subscription.request(1);
+    assertThat(subscriber.items).hasSize(firstPageSize + 1);
+    assertThat(requests).hasValue(2);
+    assertThat(subscriber.completed).isFalse();
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertThat(subscriber.items).hasSize(18);
+    assertThat(requests).hasValue(3);
+    assertThat(subscriber.completed).isTrue();
+    assertThat(subscriber.error).isNull();
+  }
+
+  @Test
+  void checkPublisher_cancelStopsPaging() {
+    AtomicInteger requests = new AtomicInteger();
+    Connection<FacebookType> connection = create3PageConnection(requests);
+    RecordingSubscriber<FacebookType> subscriber = new RecordingSubscriber<>();
+
+    connection.publisher(Runnable::run).subscribe(subscriber);
+    subscriber.subscription.request(2);
+    subscriber.subscription.cancel();
+    subscriber.subscription.request(Long.MAX_VALUE);
+
+    assertThat(subscriber.items).hasSize(2);
+    assertThat(subscriber.completed).isFalse();
+    assertThat(requests).hasValue(1);
+  }
+
+  @Test
+  void checkPublisher_rejectedExecution() {
+    Connection<FacebookType> connection = create3PageConnection();
+    RecordingSubscriber<FacebookType> subscriber = new RecordingSubscriber<>();
+    AtomicBoolean rejecting = new AtomicBoolean(true);
+    AtomicInteger executions = new AtomicInteger();
+    Executor executor = command -> {
+      executions.incrementAndGet();
+      if (rejecting.get()) {
+        throw new RejectedExecutionException("shut down");
+      }
+      command.run();
+    };
+
+    connection.publisher(executor).subscribe(subscriber);
+    subscriber.subscription.request(1);
+
+    assertThat(subscriber.error).isInstanceOf(RejectedExecutionException.class);
+
+    // the subscription is terminated, but later signals are still drained
+    rejecting.set(false);
+    subscriber.subscription.request(1);
+
+    assertThat(executions).hasValue(2);
+    assertThat(subscriber.items).isEmpty();
+    assertThat(subscriber.completed).isFalse();
+  }
+
+  @Test
+  void checkPublisher_invalidRequest() {
+    Connection<FacebookType> connection = create3PageConnection();
+    RecordingSubscriber<FacebookType> subscriber = new RecordingSubscriber<>();
+
+    connection.publisher(Runnable::run).subscribe(subscriber);
+    subscriber.subscription.request(0);
+
+    assertThat(subscriber.items).isEmpty();
+    assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void checkPrefetchingIterator_reachAllElements() {
+    Connection<FacebookType> connection = create3PageConnection();
+    ConnectionIterator<FacebookType> it = connection.prefetchingIterator(1);
+
+    long counter = 0;
+    while (it.hasNext()) {
+      counter += it.next().size();
+    }
+
+    assertThat(counter).isEqualTo(18);
+    assertThat(it.snapshot().getNextPageUrl()).isNull();
+    assertThrows(NoSuchElementException.class, it::next);
+  }
+
+  @Test
+  void checkPrefetchingIterator_fetchesAhead() {
+    Connection<FacebookType> connection = create3PageConnection();
+    AtomicInteger fetches = new AtomicInteger();
+    Executor countingExecutor = command -> {
+      fetches.incrementAndGet();
+      command.run();
+    };
+
+    ConnectionIterator<FacebookType> it = connection.prefetchingIterator(2, countingExecutor);
+    assertThat(fetches).hasValue(0);
+    assertThat(it.snapshot()).isEqualTo(connection);
+
+    it.next(); // first page, second and third page are requested in the background
+    assertThat(fetches).hasValue(2);
+    assertThat(it.snapshot()).isEqualTo(connection);
+
+    it.next(); // second page
+    assertThat(it.snapshot().getPreviousPageUrl()).isNotNull().contains("page1");
+    assertThat(it.snapshot().getNextPageUrl()).isNotNull().contains("page3");
+
+    it.next(); // third and last page, nothing left to prefetch
+    assertThat(it.hasNext()).isFalse();
+    assertThat(it.snapshot().getNextPageUrl()).isNull();
+  }
+
+  @Test
+  void checkPrefetchingIterator_closeCancelsPendingFetches() {
+    AtomicInteger requests = new AtomicInteger();
+    Connection<FacebookType> connection = create3PageConnection(requests);
+    List<Runnable> queuedFetches = new ArrayList<>();
+
+    Connection.PrefetchingItr<FacebookType> it = connection.prefetchingIterator(2, queuedFetches::add);
+    it.next(); // first page, the fetch of the second page is queued
+    assertThat(queuedFetches).hasSize(1);
+
+    it.close();
+    queuedFetches.forEach(Runnable::run);
+
+    assertThat(requests).hasValue(1);
+    assertThat(it.hasNext()).isFalse();
+    assertThrows(NoSuchElementException.class, it::next);
+    assertThat(it.checkpoint().getNextPageUrl()).contains("page2");
+  }
+
+  @Test
+  void checkPrefetchingIterator_invalidDepth() {
+    Connection<FacebookType> connection = create3PageConnection();
+    assertThrows(IllegalArgumentException.class, () -> connection.prefetchingIterator(0));
+  }
+
   @Test
   void checkIterator_withCursor() {
     Connection<FacebookType> connection = createCursorConnection(false);
@@ -229,10 +471,55 @@ class ConnectionTest extends AbstractJsonMapperTests {
     return facebookClient.fetchConnection("/cursor", FacebookType.class);
   }
 
+  private static ConnectionCheckpoint serializeAndRestore(ConnectionCheckpoint checkpoint)
+      throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(checkpoint);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      ConnectionCheckpoint restored = (ConnectionCheckpoint) in.readObject();
+      assertThat(restored).isEqualTo(checkpoint);
+      return restored;
+    }
+  }
+
+  private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+    private final List<T> items = new ArrayList<>();
+    private Flow.Subscription subscription;
+    private Throwable error;
+    private boolean completed;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+
   private Connection<FacebookType> create3PageConnection() {
+    return create3PageConnection(new AtomicInteger());
+  }
+
+  private Connection<FacebookType> create3PageConnection(AtomicInteger requestCounter) {
     FakeWebRequestor fakeWebRequestor = new FakeWebRequestor() {
       @Override
       public Response executeGet(Request request) {
+        requestCounter.incrementAndGet();
 
         String url = request.getFullUrl();
 
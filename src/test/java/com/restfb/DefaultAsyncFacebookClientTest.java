@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.batch.BatchRequest;
+import com.restfb.batch.BatchResponse;
+import com.restfb.exception.FacebookException;
+import com.restfb.exception.FacebookNetworkException;
+import com.restfb.exception.FacebookOAuthException;
+import com.restfb.types.FacebookType;
+import com.restfb.types.User;
+
+class DefaultAsyncFacebookClientTest extends AbstractJsonMapperTests {
+
+  @Test
+  void fetchObject() {
+    FakeWebRequestor webRequestor =
+        new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, "{\"id\":\"123\",\"name\":\"Tester\"}"));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    User user = client.fetchObject("me", User.class, Parameter.withFields("id,name")).join();
+
+    assertThat(user.getId()).isEqualTo("123");
+    assertThat(user.getName()).isEqualTo("Tester");
+    assertThat(webRequestor.getMethod()).isEqualTo("GET");
+    assertThat(webRequestor.getSavedUrl()).contains("/me?").contains("fields=id%2Cname");
+  }
+
+  @Test
+  void fetchObjects() {
+    FakeWebRequestor webRequestor = new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, "{}"));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    client.fetchObjects(Arrays.asList("1", " 2 "), FacebookType.class).join();
+
+    assertThat(webRequestor.getSavedUrl()).contains("ids=%5B%221%22%2C%222%22%5D");
+  }
+
+  @Test
+  void fetchConnection() {
+    FakeWebRequestor webRequestor =
+        new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, jsonFromClasspath("connection-p1")));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    Connection<FacebookType> connection = client.fetchConnection("me/feed", FacebookType.class).join();
+
+    assertThat(connection.getData()).hasSize(6);
+    assertThat(connection.hasNext()).isTrue();
+    assertThat(connection.getResponseMetadata()).isNotNull();
+    assertThat(connection.getResponseMetadata().getHttpMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  void publishAndDelete() {
+    FakeWebRequestor webRequestor = new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, "{\"success\":true}"));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    client.publish("me/feed", FacebookType.class, Parameter.withMessage("hello")).join();
+    assertThat(webRequestor.getMethod()).isEqualTo("POST");
+    assertThat(webRequestor.getParameters()).contains("message=hello");
+
+    assertThat(client.deleteObject("123").join()).isTrue();
+    assertThat(webRequestor.getMethod()).isEqualTo("DELETE");
+  }
+
+  @Test
+  void executeBatch() {
+    FakeWebRequestor webRequestor =
+        new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, jsonFromClasspath("batch/batch-simple")));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    List<BatchResponse> responses = client.executeBatch(new BatchRequest.BatchRequestBuilder("me").build()).join();
+
+    assertThat(responses).hasSize(2);
+    assertThat(webRequestor.getParameters()).contains("batch=");
+  }
+
+  @Test
+  void errorResponseCompletesExceptionally() {
+    FakeWebRequestor webRequestor = new FakeWebRequestor(new WebRequestor.Response(400,
+      "{\"error\":{\"message\":\"Invalid OAuth access token.\",\"type\":\"OAuthException\",\"code\":190}}"));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    CompletableFuture<User> future = client.fetchObject("me", User.class);
+
+    assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+      .hasCauseInstanceOf(FacebookOAuthException.class);
+  }
+
+  @Test
+  void invalidArgumentsCompleteExceptionally() {
+    FakeWebRequestor webRequestor = new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, "{}"));
+    AsyncFacebookClient client = createClient(webRequestor);
+
+    CompletableFuture<FacebookType> publish = client.publish(null, FacebookType.class);
+    CompletableFuture<Boolean> delete = client.deleteObject(null);
+    CompletableFuture<Connection<User>> connection = client.fetchConnection("me/friends", null);
+    CompletableFuture<User> reservedParameter =
+        client.fetchObject("me", User.class, Parameter.with("access_token", "token"));
+
+    assertThatThrownBy(publish::join).hasCauseInstanceOf(NullPointerException.class);
+    assertThatThrownBy(delete::join).hasCauseInstanceOf(NullPointerException.class);
+    assertThatThrownBy(connection::join).hasCauseInstanceOf(NullPointerException.class);
+    assertThatThrownBy(reservedParameter::join).hasCauseInstanceOf(IllegalArgumentException.class);
+    assertThat(webRequestor.getSavedUrl()).isNull();
+  }
+
+  @Test
+  void networkErrorCompletesExceptionallyWithInfoData() {
+    WebRequestor failingRequestor = new FakeWebRequestor() {
+      @Override
+      public CompletableFuture<Response> executeGetAsync(Request request) {
+        return CompletableFuture.failedFuture(new CompletionException(new IOException("connection reset")));
+      }
+    };
+    AsyncFacebookClient client = createClient(failingRequestor);
+
+    assertThatThrownBy(() -> client.fetchObject("me", User.class).join())
+      .hasCauseInstanceOf(FacebookNetworkException.class).satisfies(throwable -> {
+        FacebookException exception = (FacebookException) throwable.getCause();
+        assertThat(exception.getCause()).isInstanceOf(IOException.class);
+        assertThat(exception.getInfoData()).isPresent();
+        assertThat(exception.getInfoData().orElseThrow().getHttpMethod()).isEqualTo("GET");
+      });
+  }
+
+  private AsyncFacebookClient createClient(WebRequestor webRequestor) {
+    return new DefaultAsyncFacebookClient(
+      new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST));
+  }
+}
@@ -25,12 +25,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 import com.restfb.Body;
 import com.restfb.Parameter;
+import com.restfb.exception.FacebookCircuitBreakerOpenException;
 import com.restfb.exception.FacebookException;
 import com.restfb.exception.FacebookGoawayNetworkException;
 import com.restfb.exception.FacebookNetworkException;
+import com.restfb.exception.FacebookRateLimitException;
 import org.junit.jupiter.api.Test;
 
 import com.restfb.exception.FacebookRstStreamNetworkException;
@@ -115,6 +120,147 @@ class DefaultFacebookClientTest {
       });
   }
 
+  @Test
+  void retriesFailedGetRequest() {
+    FlakyWebRequestor webRequestor = new FlakyWebRequestor(2);
+    InfoTrackingFacebookClient client = new InfoTrackingFacebookClient(webRequestor);
+    client.setRetryPolicy(new RetryPolicy.RetryPolicyBuilder().maxAttempts(3).initialBackoff(Duration.ZERO).build());
+
+    client.invokeFailingMakeRequest();
+
+    assertThat(webRequestor.calls).isEqualTo(3);
+  }
+
+  @Test
+  void stopsRetryingAfterMaxAttempts() {
+    FlakyWebRequestor webRequestor = new FlakyWebRequestor(5);
+    InfoTrackingFacebookClient client = new InfoTrackingFacebookClient(webRequestor);
+    client.setRetryPolicy(new RetryPolicy.RetryPolicyBuilder().maxAttempts(3).initialBackoff(Duration.ZERO).build());
+
+    assertThatThrownBy(client::invokeFailingMakeRequest).isInstanceOf(FacebookNetworkException.class);
+    assertThat(webRequestor.calls).isEqualTo(3);
+  }
+
+  @Test
+  void doesNotRetryPostRequestByDefault() {
+    FlakyWebRequestor webRequestor = new FlakyWebRequestor(1);
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+    client.setRetryPolicy(new RetryPolicy.RetryPolicyBuilder().maxAttempts(3).initialBackoff(Duration.ZERO).build());
+
+    assertThatThrownBy(() -> client.publish("me/feed", JsonObject.class, Parameter.with("message", "hi")))
+      .isInstanceOf(FacebookNetworkException.class);
+    assertThat(webRequestor.calls).isEqualTo(1);
+  }
+
+  @Test
+  void retriesPostRequestIfEnabled() {
+    FlakyWebRequestor webRequestor = new FlakyWebRequestor(1);
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+    client.setRetryPolicy(
+      new RetryPolicy.RetryPolicyBuilder().maxAttempts(3).initialBackoff(Duration.ZERO).retryPost(true).build());
+
+    client.publish("me/feed", JsonObject.class, Parameter.with("message", "hi"));
+
+    assertThat(webRequestor.calls).isEqualTo(2);
+  }
+
+  @Test
+  void retriesFailedAsyncGetRequest() {
+    FlakyWebRequestor webRequestor = new FlakyWebRequestor(2);
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+    client.setRetryPolicy(new RetryPolicy.RetryPolicyBuilder().maxAttempts(3).initialBackoff(Duration.ZERO).build());
+
+    client.makeRequestWithMetadataAsync("me", false, false, null, null).join();
+
+    assertThat(webRequestor.calls).isEqualTo(3);
+  }
+
+  @Test
+  void usageRateGovernorFailsFastOnExhaustedUsage() {
+    Map<String, List<String>> headers =
+        Map.of("x-app-usage", List.of("{\"call_count\":100,\"total_time\":10,\"total_cputime\":10}"));
+    CountingWebRequestor webRequestor =
+        new CountingWebRequestor(new WebRequestor.Response(200, "{\"id\":\"1\"}", null, headers));
+    InfoTrackingFacebookClient client = new InfoTrackingFacebookClient(webRequestor);
+    client.setUsageRateGovernor(new UsageRateGovernor.UsageRateGovernorBuilder().maxDelay(Duration.ofSeconds(10))
+      .maxWait(Duration.ofSeconds(1)).build());
+
+    client.invokeFailingMakeRequest();
+
+    assertThatThrownBy(client::invokeFailingMakeRequest).isInstanceOf(FacebookRateLimitException.class);
+    assertThatThrownBy(() -> client.makeRequestWithMetadataAsync("me", false, false, null, null).join())
+      .hasCauseInstanceOf(FacebookRateLimitException.class);
+    assertThat(webRequestor.calls).isEqualTo(1);
+  }
+
+  @Test
+  void requestRateLimiterRejectsRequestsOverLimit() {
+    CountingWebRequestor webRequestor = new CountingWebRequestor(new WebRequestor.Response(200, "{\"id\":\"1\"}"));
+    InfoTrackingFacebookClient client = new InfoTrackingFacebookClient(webRequestor);
+    client.setRequestRateLimiter(new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(1, Duration.ofHours(1)).maxWait(Duration.ZERO).build());
+
+    client.invokeFailingMakeRequest();
+
+    assertThatThrownBy(client::invokeFailingMakeRequest).isInstanceOf(FacebookRateLimitException.class);
+    assertThat(webRequestor.calls).isEqualTo(1);
+  }
+
+  @Test
+  void circuitBreakerFailsFastOnFailingEndpoint() {
+    CountingWebRequestor webRequestor = new CountingWebRequestor(new WebRequestor.Response(503, ""));
+    InfoTrackingFacebookClient client = new InfoTrackingFacebookClient(webRequestor);
+    client.setCircuitBreaker(
+      new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(2).minimumCalls(2).build());
+
+    assertThatThrownBy(client::invokeFailingMakeRequest).isInstanceOf(FacebookNetworkException.class);
+    assertThatThrownBy(client::invokeFailingMakeRequest).isInstanceOf(FacebookNetworkException.class);
+
+    assertThatThrownBy(client::invokeFailingMakeRequest).isInstanceOf(FacebookCircuitBreakerOpenException.class);
+    assertThatThrownBy(() -> client.makeRequestWithMetadataAsync("me", false, false, null, null).join())
+      .hasCauseInstanceOf(FacebookCircuitBreakerOpenException.class);
+    assertThat(webRequestor.calls).isEqualTo(2);
+  }
+
+  @Test
+  void timeoutParameterIsPassedToRequest() {
+    CountingWebRequestor webRequestor = new CountingWebRequestor(new WebRequestor.Response(200, "{\"id\":\"1\"}"));
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+
+    client.fetchObject("me", JsonObject.class, Parameter.withFields("id"),
+      Parameter.withTimeout(Duration.ofSeconds(2)));
+
+    assertThat(webRequestor.lastRequest.getTimeout()).isEqualTo(Duration.ofSeconds(2));
+    assertThat(webRequestor.lastRequest.getFullUrl()).contains("fields=id").doesNotContain("timeout");
+  }
+
+  @Test
+  void subMillisecondTimeoutIsRoundedUp() {
+    CountingWebRequestor webRequestor = new CountingWebRequestor(new WebRequestor.Response(200, "{\"id\":\"1\"}"));
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+
+    client.fetchObject("me", JsonObject.class, Parameter.withTimeout(Duration.ofNanos(500_000)));
+
+    assertThat(webRequestor.lastRequest.getTimeout()).isEqualTo(Duration.ofMillis(1));
+  }
+
+  @Test
+  void priorityParameterIsPassedToRequest() {
+    CountingWebRequestor webRequestor = new CountingWebRequestor(new WebRequestor.Response(200, "{\"id\":\"1\"}"));
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+
+    client.fetchObject("me", JsonObject.class, Parameter.withFields("id"), Parameter.withPriority(RequestPriority.LOW));
+
+    assertThat(webRequestor.lastRequest.getPriority()).isEqualTo(RequestPriority.LOW);
+    assertThat(webRequestor.lastRequest.getFullUrl()).contains("fields=id").doesNotContain("priority");
+  }
+
   private static class TestableFacebookClient extends DefaultFacebookClient {
     TestableFacebookClient() {
       super("token", new DefaultWebRequestor(), new DefaultJsonMapper(), Version.LATEST);
@@ -153,6 +299,71 @@ class DefaultFacebookClientTest {
     }
   }
 
+  private static class CountingWebRequestor implements WebRequestor {
+
+    private final Response response;
+
+    private int calls;
+
+    private Request lastRequest;
+
+    CountingWebRequestor(Response response) {
+      this.response = response;
+    }
+
+    @Override
+    public Response executeGet(Request request) {
+      calls++;
+      lastRequest = request;
+      return response;
+    }
+
+    @Override
+    public Response executePost(Request request) {
+      calls++;
+      return response;
+    }
+
+    @Override
+    public Response executeDelete(Request request) {
+      calls++;
+      return response;
+    }
+  }
+
+  private static class FlakyWebRequestor implements WebRequestor {
+
+    private final int failures;
+
+    private int calls;
+
+    FlakyWebRequestor(int failures) {
+      this.failures = failures;
+    }
+
+    @Override
+    public Response executeGet(Request request) throws IOException {
+      return respond();
+    }
+
+    @Override
+    public Response executePost(Request request) throws IOException {
+      return respond();
+    }
+
+    @Override
+    public Response executeDelete(Request request) throws IOException {
+      return respond();
+    }
+
+    private synchronized Response respond() throws IOException {
+      if (++calls <= failures) {
+        throw new IOException("network broken");
+      }
+      return new Response(200, "{\"id\":\"1\"}");
+    }
+  }
+
   private static int countOccurrences(String value, String substring) {
     int count = 0;
     int index = 0;
@@ -25,6 +25,8 @@ import static com.restfb.testutils.RestfbAssertions.assertThat;
 import static com.restfb.testutils.RestfbAssertions.assertThatThrownBy;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -33,16 +35,22 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.sun.net.httpserver.HttpServer;
 
@@ -51,6 +59,10 @@ class DefaultWebRequestorHttpClientIntegrationTest {
   private static HttpServer server;
   private static String baseUrl;
   private static final AtomicReference<String> lastPostBody = new AtomicReference<>("");
+  private static final AtomicReference<String> lastAcceptEncoding = new AtomicReference<>();
+  private static final AtomicReference<String> lastContentLength = new AtomicReference<>();
+  private static final AtomicReference<String> lastTransferEncoding = new AtomicReference<>();
+  private static final String JSON_BODY = "{\"data\":[{\"id\":\"1\",\"name\":\"compressed\"}]}";
 
   @BeforeAll
   static void startServer() throws IOException {
@@ -69,6 +81,28 @@ class DefaultWebRequestorHttpClientIntegrationTest {
       exchange.getResponseBody().write(requestBody);
       exchange.close();
     });
+    server.createContext("/upload", exchange -> {
+      lastContentLength.set(exchange.getRequestHeaders().getFirst("Content-Length"));
+      lastTransferEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+      lastPostBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.createContext("/gzip", exchange -> {
+      lastAcceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+      sendEncoded(exchange, "gzip", gzip(JSON_BODY));
+    });
+    server.createContext("/deflate", exchange -> sendEncoded(exchange, "deflate", deflate(JSON_BODY, false)));
+    server.createContext("/rawdeflate", exchange -> sendEncoded(exchange, "deflate", deflate(JSON_BODY, true)));
+    server.createContext("/etag", exchange -> {
+      exchange.getResponseHeaders().add("ETag", "\"v1\"");
+      if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+      } else {
+        sendEncoded(exchange, "gzip", gzip(JSON_BODY));
+      }
+    });
     server.start();
     baseUrl = "http://localhost:" + server.getAddress().getPort();
   }
@@ -119,12 +153,188 @@ class DefaultWebRequestorHttpClientIntegrationTest {
     }
   }
 
+  @Test
+  void executePostStreamsAttachmentsWithContentLength() throws IOException {
+    byte[] data = "binary content".getBytes(StandardCharsets.UTF_8);
+
+    postAttachment(BinaryAttachment.with("file.txt", data, "text/plain"));
+
+    assertThat(lastContentLength.get()).isEqualTo(String.valueOf(lastPostBody.get().length()));
+    assertThat(lastTransferEncoding.get()).isNull();
+    assertThat(lastPostBody.get()).isEqualTo(expectedMultipartBody());
+  }
+
+  @Test
+  void executePostStreamsAttachmentsOfUnknownSizeChunked() throws IOException {
+    byte[] data = "binary content".getBytes(StandardCharsets.UTF_8);
+
+    postAttachment(BinaryAttachment.with("file.txt", () -> new ByteArrayInputStream(data), "text/plain"));
+
+    assertThat(lastContentLength.get()).isNull();
+    assertThat(lastTransferEncoding.get()).isEqualTo("chunked");
+    assertThat(lastPostBody.get()).isEqualTo(expectedMultipartBody());
+  }
+
+  @Test
+  void executePostStreamsFileAttachmentsWithContentLength(@TempDir Path tempDir) throws IOException {
+    Path file = Files.write(tempDir.resolve("file.txt"), "binary content".getBytes(StandardCharsets.UTF_8));
+
+    postAttachment(BinaryAttachment.with(file, "text/plain"));
+
+    assertThat(lastContentLength.get()).isEqualTo(String.valueOf(lastPostBody.get().length()));
+    assertThat(lastTransferEncoding.get()).isNull();
+    assertThat(lastPostBody.get()).isEqualTo(expectedMultipartBody());
+  }
+
+  private static void postAttachment(BinaryAttachment attachment) throws IOException {
+    DefaultWebRequestor requestor = new DefaultWebRequestor();
+    WebRequestor.Request request =
+        new WebRequestor.Request(baseUrl + "/upload", null, "message=hi", Collections.singletonList(attachment));
+
+    WebRequestor.Response response = requestor.executePost(request);
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+  }
+
+  private static String expectedMultipartBody() {
+    String boundary = "**boundarystringwhichwill**neverbeencounteredinthewild**";
+    return "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n"
+        + "Content-Type: text/plain\r\n\r\nbinary content\r\n--" + boundary + "--\r\n";
+  }
+
+  @Test
+  void executeGetRequestsCompressionOnlyIfEnabled() throws IOException {
+    DefaultWebRequestor requestor = new DefaultWebRequestor();
+    requestor.executeGet(new WebRequestor.Request(baseUrl + "/gzip", null));
+    assertThat(lastAcceptEncoding.get()).isNull();
+
+    requestor.setResponseCompression(true);
+    requestor.executeGet(new WebRequestor.Request(baseUrl + "/gzip", null));
+    assertThat(lastAcceptEncoding.get()).isEqualTo("gzip, deflate");
+  }
+
+  @Test
+  void executeGetDecodesGzip() throws IOException {
+    assertDecoded(baseUrl + "/gzip");
+  }
+
+  @Test
+  void executeGetDecodesDeflate() throws IOException {
+    assertDecoded(baseUrl + "/deflate");
+    assertDecoded(baseUrl + "/rawdeflate");
+  }
+
+  @Test
+  void executeGetAsyncDecodesGzip() throws Exception {
+    DefaultWebRequestor requestor = new DefaultWebRequestor();
+    requestor.setResponseCompression(true);
+
+    WebRequestor.Response response =
+        requestor.executeGetAsync(new WebRequestor.Request(baseUrl + "/gzip", null)).get(5, TimeUnit.SECONDS);
+
+    assertThat(response.getBody()).isEqualTo(JSON_BODY);
+  }
+
+  @Test
+  void etagCacheStoresDecodedBody() throws IOException {
+    ETagWebRequestor requestor = new ETagWebRequestor();
+    requestor.setResponseCompression(true);
+
+    WebRequestor.Response first = requestor.executeGet(new WebRequestor.Request(baseUrl + "/etag", null));
+    WebRequestor.Response second = requestor.executeGet(new WebRequestor.Request(baseUrl + "/etag", null));
+
+    assertThat(first.getBody()).isEqualTo(JSON_BODY);
+    assertThat(second.getStatusCode()).isEqualTo(304);
+    assertThat(second.getBody()).isEqualTo(JSON_BODY);
+  }
+
+  @Test
+  void executeGetAsyncFailsOnIncompleteBody() throws Exception {
+    IncompleteResponseServer incompleteServer = new IncompleteResponseServer();
+    incompleteServer.start();
+
+    try {
+      DefaultWebRequestor requestor = new DefaultWebRequestor();
+      WebRequestor.Request request = new WebRequestor.Request(incompleteServer.url(), null);
+
+      assertThatThrownBy(() -> requestor.executeGetAsync(request).get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(IOException.class);
+    } finally {
+      incompleteServer.stop();
+    }
+  }
+
+  @Test
+  void executeGetFailsOnIncompleteEncodedBody() throws Exception {
+    IncompleteResponseServer incompleteServer =
+        new IncompleteResponseServer(gzip(JSON_BODY), "Content-Encoding: gzip");
+    incompleteServer.start();
+
+    try {
+      DefaultWebRequestor requestor = new DefaultWebRequestor();
+      requestor.setResponseCompression(true);
+      WebRequestor.Request request = new WebRequestor.Request(incompleteServer.url(), null);
+
+      assertThatThrownBy(() -> requestor.executeGet(request)).isInstanceOf(IOException.class)
+        .hasMessageContaining("Incomplete response body");
+    } finally {
+      incompleteServer.stop();
+    }
+  }
+
+  private static void assertDecoded(String url) throws IOException {
+    DefaultWebRequestor requestor = new DefaultWebRequestor();
+    requestor.setResponseCompression(true);
+
+    WebRequestor.Response response = requestor.executeGet(new WebRequestor.Request(url, null));
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).isEqualTo(JSON_BODY);
+    assertThat(response.getHeaders()).doesNotContainKeys("content-encoding", "Content-encoding", "content-length",
+      "Content-length");
+  }
+
+  private static void sendEncoded(com.sun.net.httpserver.HttpExchange exchange, String encoding, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().add("Content-Encoding", encoding);
+    exchange.sendResponseHeaders(200, body.length);
+    exchange.getResponseBody().write(body);
+    exchange.close();
+  }
+
+  private static byte[] gzip(String value) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzipStream = new GZIPOutputStream(output)) {
+      gzipStream.write(value.getBytes(StandardCharsets.UTF_8));
+    }
+    return output.toByteArray();
+  }
+
+  private static byte[] deflate(String value, boolean raw) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+    try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(output, deflater)) {
+      deflaterStream.write(value.getBytes(StandardCharsets.UTF_8));
+    } finally {
+      deflater.end();
+    }
+    return output.toByteArray();
+  }
+
   private static final class IncompleteResponseServer {
     private final ServerSocket serverSocket;
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final byte[] fullBody;
+    private final String[] extraHeaders;
 
     private IncompleteResponseServer() throws IOException {
+      this("{\"message\":\"hi\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private IncompleteResponseServer(byte[] fullBody, String... extraHeaders) throws IOException {
       serverSocket = new ServerSocket(0);
+      this.fullBody = fullBody;
+      this.extraHeaders = extraHeaders;
     }
 
     private void start() {
@@ -145,13 +355,15 @@ class DefaultWebRequestorHttpClientIntegrationTest {
       try (Socket socket = serverSocket.accept()) {
         consumeRequest(socket.getInputStream());
 
-        byte[] fullBody = "{\"message\":\"hi\"}".getBytes(StandardCharsets.UTF_8);
         byte[] truncatedBody = Arrays.copyOf(fullBody, fullBody.length - 2);
 
         OutputStream outputStream = socket.getOutputStream();
         writeString(outputStream, "HTTP/1.1 200 OK\r\n");
         writeString(outputStream, "Content-Type: application/json\r\n");
         writeString(outputStream, "Content-Length: " + fullBody.length + "\r\n");
+        for (String extraHeader : extraHeaders) {
+          writeString(outputStream, extraHeader + "\r\n");
+        }
         writeString(outputStream, "Connection: close\r\n\r\n");
         outputStream.write(truncatedBody);
         outputStream.flush();
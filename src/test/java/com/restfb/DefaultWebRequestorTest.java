@@ -22,14 +22,19 @@
 package com.restfb;
 
 import static com.restfb.testutils.RestfbAssertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.Test;
 
@@ -162,6 +167,154 @@ class DefaultWebRequestorTest {
     }
   }
 
+  @Test
+  void checkGetAsync_withAccessToken() throws Exception {
+    RequestCapture capture = new RequestCapture();
+    try (TestServer server = TestServer.start("/async", exchange -> {
+      capture.capture(exchange);
+      respond(exchange, 200, "pong");
+    })) {
+      CompletableFuture<WebRequestor.Response> future =
+          requestor.executeGetAsync(new WebRequestor.Request(server.url("/async"), "accesstoken"));
+      WebRequestor.Response response = future.get();
+
+      assertThat(response.getStatusCode()).isEqualTo(200);
+      assertThat(response.getBody()).isEqualTo("pong");
+      assertThat(capture.getHeaders().getFirst("Authorization")).isEqualTo("Bearer accesstoken");
+      assertThat(capture.getMethod()).isEqualTo("GET");
+    }
+  }
+
+  @Test
+  void checkPostAsync_WithBinaryAttachment() throws Exception {
+    RequestCapture capture = new RequestCapture();
+    try (TestServer server = TestServer.start("/async-upload", exchange -> {
+      capture.capture(exchange);
+      respond(exchange, 200, "ok");
+    })) {
+      BinaryAttachment attachment = BinaryAttachment.with("photo", "test.txt",
+        () -> new CloseTrackingInputStream("hello".getBytes(StandardCharsets.UTF_8)), "text/plain");
+      WebRequestor.Request request = new WebRequestor.Request(server.url("/async-upload"), null, "",
+        Collections.singletonList(attachment));
+      WebRequestor.Response response = requestor.executePostAsync(request).get();
+
+      assertThat(response.getStatusCode()).isEqualTo(200);
+      assertThat(capture.getMethod()).isEqualTo("POST");
+      assertThat(capture.bodyAsString()).contains("hello");
+    }
+  }
+
+  @Test
+  void checkDeleteAsync() throws Exception {
+    RequestCapture capture = new RequestCapture();
+    try (TestServer server = TestServer.start("/async-delete", exchange -> {
+      capture.capture(exchange);
+      respond(exchange, 200, "true");
+    })) {
+      WebRequestor.Response response =
+          requestor.executeDeleteAsync(new WebRequestor.Request(server.url("/async-delete"), null)).get();
+
+      assertThat(response.getBody()).isEqualTo("true");
+      assertThat(capture.getMethod()).isEqualTo("DELETE");
+    }
+  }
+
+  @Test
+  void checkGetAsync_failsWithIOException() throws IOException {
+    String url;
+    try (TestServer server = TestServer.start("/gone", exchange -> respond(exchange, 200, "pong"))) {
+      url = server.url("/gone");
+    }
+
+    CompletableFuture<WebRequestor.Response> future = requestor.executeGetAsync(new WebRequestor.Request(url, null));
+
+    ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void checkETagRequestor_notModifiedAsync() throws Exception {
+    ETagWebRequestor etagRequestor = new ETagWebRequestor();
+    try (TestServer server = TestServer.start("/etag", exchange -> {
+      if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return;
+      }
+      exchange.getResponseHeaders().add("ETag", "\"v1\"");
+      respond(exchange, 200, "{\"id\":\"1\"}");
+    })) {
+      WebRequestor.Request request = new WebRequestor.Request(server.url("/etag"), null);
+      assertThat(etagRequestor.executeGetAsync(request).get().getStatusCode()).isEqualTo(200);
+
+      WebRequestor.Response cached = etagRequestor.executeGetAsync(request).get();
+      assertThat(cached.getStatusCode()).isEqualTo(304);
+      assertThat(cached.getBody()).isEqualTo("{\"id\":\"1\"}");
+    }
+  }
+
+  @Test
+  void checkAsyncDefaultMethods_delegateToBlockingCalls() throws Exception {
+    FakeWebRequestor fakeWebRequestor = new FakeWebRequestor();
+    WebRequestor.Response response =
+        fakeWebRequestor.executeGetAsync(new WebRequestor.Request("https://graph.facebook.com/me", null)).get();
+
+    assertThat(response.getBody()).isEqualTo("https://graph.facebook.com/me");
+    assertThat(fakeWebRequestor.getMethod()).isEqualTo("GET");
+  }
+
+  @Test
+  void checkGet_requestTimeoutOverridesDefault() throws IOException {
+    try (TestServer server = TestServer.start("/slow", exchange -> {
+      sleep(Duration.ofMillis(500));
+      respond(exchange, 200, "pong");
+    })) {
+      WebRequestor.Request request = new WebRequestor.Request(server.url("/slow"), null);
+      request.setTimeout(Duration.ofMillis(50));
+
+      assertThrows(HttpTimeoutException.class, () -> requestor.executeGet(request));
+    }
+  }
+
+  @Test
+  void checkGet_defaultTimeout() throws IOException {
+    DefaultWebRequestor impatientRequestor = new DefaultWebRequestor();
+    impatientRequestor.setDefaultTimeout(Duration.ofMillis(50));
+    try (TestServer server = TestServer.start("/slow-default", exchange -> {
+      sleep(Duration.ofMillis(500));
+      respond(exchange, 200, "pong");
+    })) {
+      WebRequestor.Request request = new WebRequestor.Request(server.url("/slow-default"), null);
+
+      assertThrows(HttpTimeoutException.class, () -> impatientRequestor.executeGet(request));
+    }
+  }
+
+  @Test
+  void checkGet_adaptiveTimeoutRecordsLatency() throws Exception {
+    DefaultWebRequestor adaptiveRequestor = new DefaultWebRequestor();
+    AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout.AdaptiveTimeoutBuilder().minimumSamples(2).build();
+    adaptiveRequestor.setAdaptiveTimeout(adaptiveTimeout);
+    try (TestServer server = TestServer.start("/adaptive", exchange -> respond(exchange, 200, "pong"))) {
+      String url = server.url("/adaptive");
+      assertThat(adaptiveTimeout.timeout(url)).isEqualTo(adaptiveTimeout.getMaxTimeout());
+
+      adaptiveRequestor.executeGet(new WebRequestor.Request(url, null));
+      adaptiveRequestor.executeGetAsync(new WebRequestor.Request(url, null)).get();
+
+      assertThat(adaptiveTimeout.getLatencyStats().percentile(url, 0.5)).isNotNull();
+      assertThat(adaptiveTimeout.timeout(url)).isEqualTo(adaptiveTimeout.getMinTimeout());
+    }
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
     byte[] payload = body.getBytes(StandardCharsets.UTF_8);
     exchange.getResponseHeaders().add("facebook-api-version", "v19.0");
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.exception.FacebookCircuitBreakerOpenException;
+
+class EndpointCircuitBreakerTest {
+
+  private static final String INSIGHTS_URL = "https://graph.facebook.com/v23.0/act_123/insights";
+
+  private static final String OTHER_INSIGHTS_URL = "https://graph.facebook.com/v23.0/act_456/insights?level=ad";
+
+  private static final String FEED_URL = "https://graph.facebook.com/v23.0/123/feed";
+
+  private static final Duration FAST = Duration.ofMillis(50);
+
+  @Test
+  void opensAfterFailureRateIsReached() {
+    EndpointCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    record(breaker, INSIGHTS_URL, 2, false);
+    record(breaker, INSIGHTS_URL, 1, true);
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.CLOSED);
+
+    record(breaker, INSIGHTS_URL, 1, true);
+
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+    assertThatThrownBy(() -> breaker.acquire(OTHER_INSIGHTS_URL))
+      .isInstanceOf(FacebookCircuitBreakerOpenException.class).satisfies(throwable -> {
+        FacebookCircuitBreakerOpenException exception = (FacebookCircuitBreakerOpenException) throwable;
+        assertThat(exception.getEndpoint()).isEqualTo("/{id}/insights");
+        assertThat(exception.getRetryAfter()).isPositive();
+      });
+  }
+
+  @Test
+  void otherEndpointsStayClosed() {
+    EndpointCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    record(breaker, INSIGHTS_URL, 4, true);
+
+    breaker.acquire(FEED_URL);
+    assertThat(breaker.getState(FEED_URL)).isEqualTo(EndpointCircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opensOnSlowCalls() {
+    EndpointCircuitBreaker breaker = new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(4)
+      .minimumCalls(4).slowCallRateThreshold(50).slowCallDuration(Duration.ofSeconds(10)).build();
+
+    for (int i = 0; i < 4; i++) {
+      breaker.acquire(INSIGHTS_URL);
+      breaker.record(INSIGHTS_URL, i % 2 == 0 ? Duration.ofSeconds(30) : FAST, false);
+    }
+
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void closesAfterSuccessfulProbes() {
+    EndpointCircuitBreaker breaker = breaker(Duration.ofNanos(1));
+    record(breaker, INSIGHTS_URL, 4, true);
+
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.HALF_OPEN);
+    breaker.acquire(INSIGHTS_URL);
+    breaker.acquire(INSIGHTS_URL);
+    assertThatThrownBy(() -> breaker.acquire(INSIGHTS_URL))
+      .isInstanceOf(FacebookCircuitBreakerOpenException.class);
+
+    breaker.record(INSIGHTS_URL, FAST, false);
+    breaker.record(INSIGHTS_URL, FAST, false);
+
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void reopensAfterFailedProbe() throws InterruptedException {
+    EndpointCircuitBreaker breaker = breaker(Duration.ofMillis(200));
+    record(breaker, INSIGHTS_URL, 4, true);
+
+    Thread.sleep(250);
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.HALF_OPEN);
+    breaker.acquire(INSIGHTS_URL);
+    breaker.record(INSIGHTS_URL, FAST, true);
+
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+    assertThatThrownBy(() -> breaker.acquire(INSIGHTS_URL))
+      .isInstanceOf(FacebookCircuitBreakerOpenException.class);
+  }
+
+  @Test
+  void removesIdleCircuits() {
+    EndpointCircuitBreaker breaker = new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(4)
+      .minimumCalls(4).failureRateThreshold(50).idleTimeout(Duration.ZERO).build();
+    record(breaker, INSIGHTS_URL, 4, true);
+
+    for (int i = 0; i < 2000; i++) {
+      // a new edge for every request, so every request gets its own circuit
+      String edge = Integer.toString(i, 10).chars().mapToObj(digit -> String.valueOf((char) ('a' + digit - '0')))
+        .collect(Collectors.joining());
+      breaker.acquire("https://graph.facebook.com/v23.0/123/" + edge);
+    }
+
+    assertThat(breaker.getCircuitCount()).isLessThan(1024);
+    // the open circuit is kept
+    assertThat(breaker.getState(INSIGHTS_URL)).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void objectsShareTheCircuitOfTheirEndpoint() {
+    EndpointCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    breaker.acquire("https://graph.facebook.com/v23.0/cocacola/posts");
+    breaker.acquire("https://graph.facebook.com/v23.0/pepsi/posts");
+    breaker.acquire("https://graph.facebook.com/v23.0/123_456/comments");
+    breaker.acquire("https://graph.facebook.com/v23.0/789_012/comments");
+
+    assertThat(breaker.getCircuitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    EndpointCircuitBreaker.EndpointCircuitBreakerBuilder tooManyMinimumCalls =
+        new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(10).minimumCalls(20);
+    assertThrows(IllegalArgumentException.class, tooManyMinimumCalls::build);
+
+    EndpointCircuitBreaker.EndpointCircuitBreakerBuilder invalidThreshold =
+        new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().failureRateThreshold(0);
+    assertThrows(IllegalArgumentException.class, invalidThreshold::build);
+
+    EndpointCircuitBreaker.EndpointCircuitBreakerBuilder noProbes =
+        new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().probeCalls(0);
+    assertThrows(IllegalArgumentException.class, noProbes::build);
+  }
+
+  private static EndpointCircuitBreaker breaker(Duration openDuration) {
+    return new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(4).minimumCalls(4)
+      .failureRateThreshold(50).openDuration(openDuration).probeCalls(2).build();
+  }
+
+  private static void record(EndpointCircuitBreaker breaker, String url, int calls, boolean failed) {
+    for (int i = 0; i < calls; i++) {
+      breaker.acquire(url);
+      breaker.record(url, FAST, failed);
+    }
+  }
+}
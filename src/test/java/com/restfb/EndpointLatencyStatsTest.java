@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class EndpointLatencyStatsTest {
+
+  @Test
+  void objectsShareTheLatenciesOfTheirEndpoint() {
+    EndpointLatencyStats stats = new EndpointLatencyStats(10, 2);
+
+    stats.record("https://graph.facebook.com/v23.0/cocacola/posts", Duration.ofMillis(100));
+    stats.record("https://graph.facebook.com/v23.0/pepsi/posts", Duration.ofMillis(300));
+
+    assertThat(stats.getEndpointCount()).isEqualTo(1);
+    assertThat(stats.percentile("https://graph.facebook.com/v23.0/fanta/posts", 0.95))
+      .isEqualTo(Duration.ofMillis(300));
+  }
+
+  @Test
+  void removesIdleEndpoints() {
+    EndpointLatencyStats stats = new EndpointLatencyStats(10, 1, Duration.ZERO);
+
+    for (int i = 0; i < 2000; i++) {
+      // a new edge for every request, so every request gets its own window
+      StringBuilder edge = new StringBuilder();
+      for (char digit : Integer.toString(i).toCharArray()) {
+        edge.append((char) ('a' + digit - '0'));
+      }
+      stats.record("https://graph.facebook.com/v23.0/123/" + edge, Duration.ofMillis(100));
+    }
+
+    assertThat(stats.getEndpointCount()).isLessThan(1024);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> new EndpointLatencyStats(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new EndpointLatencyStats(10, 11));
+    assertThrows(IllegalArgumentException.class, () -> new EndpointLatencyStats(10, 1, Duration.ofMillis(-1)));
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class HedgingWebRequestorTest {
+
+  private static final String ME_URL = "https://graph.facebook.com/v23.0/me";
+
+  private final ScriptedWebRequestor delegate = new ScriptedWebRequestor();
+
+  private final EndpointLatencyStats latencyStats = new EndpointLatencyStats(10, 5);
+
+  private final HedgingWebRequestor requestor = new HedgingWebRequestor(delegate, latencyStats);
+
+  @Test
+  void hedgedRequestWinsAndCancelsSlowRequest() throws Exception {
+    warmUp(Duration.ofMillis(20));
+    requestor.setMaxHedgeRatio(1);
+    CompletableFuture<WebRequestor.Response> slow = new CompletableFuture<>();
+    delegate.responses.add(slow);
+    delegate.responses.add(CompletableFuture.completedFuture(new WebRequestor.Response(HTTP_OK, "hedge")));
+
+    WebRequestor.Response response = requestor.executeGetAsync(meRequest()).get(5, TimeUnit.SECONDS);
+
+    assertThat(response.getBody()).isEqualTo("hedge");
+    assertThat(delegate.calls).hasSize(2);
+    assertThat(slow).isCancelled();
+    assertThat(requestor.getHedgeCount()).isEqualTo(1);
+  }
+
+  @Test
+  void noHedgeWithoutLatencySamples() throws Exception {
+    requestor.setMaxHedgeRatio(1);
+    CompletableFuture<WebRequestor.Response> slow = new CompletableFuture<>();
+    delegate.responses.add(slow);
+
+    CompletableFuture<WebRequestor.Response> result = requestor.executeGetAsync(meRequest());
+    Thread.sleep(100);
+    slow.complete(new WebRequestor.Response(HTTP_OK, "primary"));
+
+    assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("primary");
+    assertThat(delegate.calls).hasSize(1);
+    assertThat(requestor.getHedgeCount()).isZero();
+  }
+
+  @Test
+  void hedgeBudgetLimitsHedgedRequests() throws Exception {
+    warmUp(Duration.ofMillis(10));
+    requestor.setMaxHedgeRatio(0.5);
+    CompletableFuture<WebRequestor.Response> slow = new CompletableFuture<>();
+    delegate.responses.add(slow);
+
+    // the first request would need a ratio of 1 to be hedged
+    CompletableFuture<WebRequestor.Response> result = requestor.executeGetAsync(meRequest());
+    Thread.sleep(100);
+    slow.complete(new WebRequestor.Response(HTTP_OK, "primary"));
+
+    assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("primary");
+    assertThat(delegate.calls).hasSize(1);
+  }
+
+  @Test
+  void failedRequestWaitsForHedge() throws Exception {
+    warmUp(Duration.ofMillis(20));
+    requestor.setMaxHedgeRatio(1);
+    CompletableFuture<WebRequestor.Response> primary = new CompletableFuture<>();
+    CompletableFuture<WebRequestor.Response> hedge = new CompletableFuture<>();
+    delegate.responses.add(primary);
+    delegate.responses.add(hedge);
+
+    CompletableFuture<WebRequestor.Response> result = requestor.executeGetAsync(meRequest());
+    waitForCalls(2);
+    primary.completeExceptionally(new IOException("connection reset"));
+    assertThat(result).isNotDone();
+
+    hedge.complete(new WebRequestor.Response(HTTP_OK, "hedge"));
+    assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("hedge");
+  }
+
+  @Test
+  void failsWhenAllRequestsFail() throws Exception {
+    delegate.responses.add(CompletableFuture.failedFuture(new IOException("connection reset")));
+
+    IOException exception = assertThrows(IOException.class, () -> requestor.executeGet(meRequest()));
+    assertThat(exception).hasMessage("connection reset");
+  }
+
+  @Test
+  void postIsNeverHedged() throws Exception {
+    warmUp(Duration.ofMillis(10));
+    requestor.setMaxHedgeRatio(1);
+    requestor.executePost(meRequest());
+    assertThat(delegate.calls).hasSize(1);
+  }
+
+  @Test
+  void latencyOfCallerIsRecorded() throws Exception {
+    warmUp(Duration.ofMillis(20));
+    requestor.setMaxHedgeRatio(1);
+    delegate.responses.add(new CompletableFuture<>());
+    delegate.responses.add(CompletableFuture.completedFuture(new WebRequestor.Response(HTTP_OK, "hedge")));
+
+    requestor.executeGetAsync(meRequest()).get(5, TimeUnit.SECONDS);
+
+    // the fast hedge must not lower the latencies the next hedge delay is derived from
+    assertThat(latencyStats.percentile(ME_URL, 0)).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+  }
+
+  @Test
+  void noHedgeWithoutRateLimitPermit() throws Exception {
+    warmUp(Duration.ofMillis(10));
+    requestor.setMaxHedgeRatio(1);
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(1, Duration.ofHours(1)).build();
+    requestor.setRequestRateLimiter(limiter);
+    // the permit of the request sent by the client
+    limiter.acquire("token", ME_URL);
+    CompletableFuture<WebRequestor.Response> slow = new CompletableFuture<>();
+    delegate.responses.add(slow);
+
+    CompletableFuture<WebRequestor.Response> result =
+        requestor.executeGetAsync(new WebRequestor.Request(ME_URL, "token"));
+    Thread.sleep(100);
+    slow.complete(new WebRequestor.Response(HTTP_OK, "primary"));
+
+    assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("primary");
+    assertThat(delegate.calls).hasSize(1);
+    assertThat(requestor.getHedgeCount()).isZero();
+  }
+
+  @Test
+  void noHedgeWhileCircuitIsOpen() throws Exception {
+    warmUp(Duration.ofMillis(10));
+    requestor.setMaxHedgeRatio(1);
+    EndpointCircuitBreaker circuitBreaker =
+        new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(1).minimumCalls(1).build();
+    requestor.setCircuitBreaker(circuitBreaker);
+    circuitBreaker.record(ME_URL, Duration.ofMillis(10), true);
+    CompletableFuture<WebRequestor.Response> slow = new CompletableFuture<>();
+    delegate.responses.add(slow);
+
+    CompletableFuture<WebRequestor.Response> result = requestor.executeGetAsync(meRequest());
+    Thread.sleep(100);
+    slow.complete(new WebRequestor.Response(HTTP_OK, "primary"));
+
+    assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("primary");
+    assertThat(delegate.calls).hasSize(1);
+  }
+
+  @Test
+  void failedHedgeIsRecordedByCircuitBreaker() throws Exception {
+    warmUp(Duration.ofMillis(10));
+    requestor.setMaxHedgeRatio(1);
+    EndpointCircuitBreaker circuitBreaker =
+        new EndpointCircuitBreaker.EndpointCircuitBreakerBuilder().windowSize(1).minimumCalls(1).build();
+    requestor.setCircuitBreaker(circuitBreaker);
+    delegate.responses.add(new CompletableFuture<>());
+    delegate.responses.add(CompletableFuture.completedFuture(new WebRequestor.Response(503, "unavailable")));
+
+    requestor.executeGetAsync(meRequest()).get(5, TimeUnit.SECONDS);
+
+    assertThat(delegate.calls).hasSize(2);
+    assertThat(circuitBreaker.getState(ME_URL)).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void invalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> requestor.setHedgePercentile(0));
+    assertThrows(IllegalArgumentException.class, () -> requestor.setMaxHedgeRatio(1.5));
+    assertThrows(IllegalArgumentException.class, () -> requestor.setMinHedgeDelay(Duration.ofMillis(-1)));
+  }
+
+  private void warmUp(Duration latency) {
+    for (int i = 0; i < 5; i++) {
+      latencyStats.record(ME_URL, latency);
+    }
+  }
+
+  private void waitForCalls(int calls) throws InterruptedException {
+    for (int i = 0; i < 100 && delegate.calls.size() < calls; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(delegate.calls).hasSize(calls);
+  }
+
+  private static WebRequestor.Request meRequest() {
+    return new WebRequestor.Request(ME_URL, null);
+  }
+
+  private static class ScriptedWebRequestor implements WebRequestor {
+
+    final List<CompletableFuture<Response>> responses = new CopyOnWriteArrayList<>();
+
+    final List<Request> calls = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Response executeGet(Request request) throws IOException {
+      try {
+        return executeGetAsync(request).get();
+      } catch (InterruptedException | ExecutionException e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public CompletableFuture<Response> executeGetAsync(Request request) {
+      calls.add(request);
+      return responses.remove(0);
+    }
+
+    @Override
+    public Response executePost(Request request) {
+      calls.add(request);
+      return new Response(HTTP_OK, "{}");
+    }
+
+    @Override
+    public Response executeDelete(Request request) {
+      calls.add(request);
+      return new Response(HTTP_OK, "{}");
+    }
+  }
+}
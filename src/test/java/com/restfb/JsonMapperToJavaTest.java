@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -61,6 +62,30 @@ class JsonMapperToJavaTest extends AbstractJsonMapperTests {
     assertThrows(FacebookJsonMappingException.class, () -> createJsonMapper().toJavaList("[]", null));
   }
 
+  @Test
+  void jsonObjectFromBytes() {
+    byte[] json = " {\"id\":\"1\",\"name\":\"J\u00fcrgen\"}".getBytes(StandardCharsets.UTF_8);
+    JsonObject object = createJsonMapper().toJavaObjectFromBytes(json, JsonObject.class);
+    assertThat(object.getString("name", null)).isEqualTo("J\u00fcrgen");
+  }
+
+  @Test
+  void typeFromBytes() {
+    byte[] json = "{\"id\":\"1\",\"name\":\"Jane\"}".getBytes(StandardCharsets.UTF_8);
+    User user = createJsonMapper().toJavaObjectFromBytes(json, User.class);
+    assertThat(user.getName()).isEqualTo("Jane");
+    List<User> users = createJsonMapper()
+      .toJavaListFromBytes("[{\"id\":\"1\"},{\"id\":\"2\"}]".getBytes(StandardCharsets.UTF_8), User.class);
+    assertThat(users).hasSize(2);
+  }
+
+  @Test
+  void invalidJsonObjectFromBytes() {
+    JsonMapper jsonMapper = createJsonMapper();
+    byte[] json = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    assertThrows(FacebookJsonMappingException.class, () -> jsonMapper.toJavaObjectFromBytes(json, JsonObject.class));
+  }
+
   /**
    * Can we handle the empty list?
    */
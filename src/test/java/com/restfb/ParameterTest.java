@@ -24,6 +24,7 @@ package com.restfb;
 import static com.restfb.testutils.RestfbAssertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.Duration;
 import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
@@ -146,4 +147,17 @@ class ParameterTest {
     assertThat(Parameter.withQuery("test")).hasValue("test").hasName("q");
   }
 
-}
\ No newline at end of file
+  @Test
+  void checkTimeoutParameter() {
+    assertThat(Parameter.withTimeout(Duration.ofSeconds(3))).hasValue("3000").hasName(Parameter.TIMEOUT_PARAM_NAME);
+    assertThrows(IllegalArgumentException.class, () -> Parameter.withTimeout(Duration.ZERO));
+    assertThat(Parameter.withTimeout(Duration.ofNanos(500_000))).hasValue("1");
+  }
+
+  @Test
+  void checkPriorityParameter() {
+    assertThat(Parameter.withPriority(RequestPriority.HIGH)).hasValue("HIGH").hasName(Parameter.PRIORITY_PARAM_NAME);
+    assertThrows(IllegalArgumentException.class, () -> Parameter.withPriority(null));
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.exception.FacebookRateLimitException;
+
+class RequestRateLimiterTest {
+
+  private static final String ME_URL = "https://graph.facebook.com/v23.0/me";
+
+  private static final String PAGE_URL = "https://graph.facebook.com/v23.0/12345/feed";
+
+  private static final String AD_ACCOUNT_URL = "https://graph.facebook.com/v23.0/act_123/insights";
+
+  @Test
+  void allowsBurstAndFailsAfterwards() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(3, Duration.ofHours(1)).maxWait(Duration.ZERO).build();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(limiter.acquire("token", ME_URL)).isZero();
+    }
+    assertThatThrownBy(() -> limiter.acquire("token", ME_URL)).isInstanceOf(FacebookRateLimitException.class)
+      .satisfies(throwable -> assertThat(((FacebookRateLimitException) throwable).getRetryAfter())
+        .isGreaterThan(Duration.ofMinutes(19)));
+  }
+
+  @Test
+  void waitsForNextPermit() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(1, Duration.ofSeconds(10)).maxWait(Duration.ofMinutes(1)).build();
+
+    assertThat(limiter.acquire("token", ME_URL)).isZero();
+    assertThat(limiter.acquire("token", ME_URL)).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+    assertThat(limiter.acquire("token", ME_URL)).isBetween(Duration.ofSeconds(19), Duration.ofSeconds(20));
+  }
+
+  @Test
+  void tryAcquireDoesNotWait() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(1, Duration.ofSeconds(10)).pageLimit(1, Duration.ofHours(1)).build();
+
+    assertThat(limiter.tryAcquire("token", ME_URL)).isTrue();
+    assertThat(limiter.tryAcquire("token", ME_URL)).isFalse();
+    // a rejected page request doesn't consume the access token permit
+    limiter.acquire("other-token", PAGE_URL);
+    assertThat(limiter.tryAcquire("third-token", PAGE_URL)).isFalse();
+    assertThat(limiter.tryAcquire("third-token", ME_URL)).isTrue();
+  }
+
+  @Test
+  void limitsAccessTokensIndependently() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(1, Duration.ofHours(1)).maxWait(Duration.ZERO).build();
+
+    limiter.acquire("noisy-tenant", ME_URL);
+
+    assertThatThrownBy(() -> limiter.acquire("noisy-tenant", ME_URL)).isInstanceOf(FacebookRateLimitException.class);
+    assertThat(limiter.acquire("other-tenant", ME_URL)).isZero();
+  }
+
+  @Test
+  void limitsPagesAndAdAccounts() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder().pageLimit(1, Duration.ofHours(1))
+      .adAccountLimit(1, Duration.ofHours(1)).maxWait(Duration.ZERO).build();
+
+    limiter.acquire("token", PAGE_URL);
+    limiter.acquire("token", AD_ACCOUNT_URL);
+
+    assertThatThrownBy(() -> limiter.acquire("other", PAGE_URL)).isInstanceOf(FacebookRateLimitException.class);
+    assertThatThrownBy(() -> limiter.acquire("other", AD_ACCOUNT_URL)).isInstanceOf(FacebookRateLimitException.class);
+    assertThat(limiter.acquire("token", "https://graph.facebook.com/v23.0/act_456/insights")).isZero();
+    assertThat(limiter.acquire("token", ME_URL)).isZero();
+  }
+
+  @Test
+  void exceptionMessageDoesNotContainAccessToken() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(1, Duration.ofHours(1)).maxWait(Duration.ZERO).build();
+
+    limiter.acquire("EAAsecret-token", ME_URL);
+
+    assertThatThrownBy(() -> limiter.acquire("EAAsecret-token", ME_URL))
+      .isInstanceOf(FacebookRateLimitException.class).hasMessageNotContaining("EAAsecret-token")
+      .hasMessageContaining("access token limit 1/PT1H");
+  }
+
+  @Test
+  void rejectedRequestDoesNotConsumePermits() {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(2, Duration.ofHours(1)).pageLimit(1, Duration.ofHours(1)).maxWait(Duration.ZERO).build();
+
+    limiter.acquire("token", PAGE_URL);
+    assertThatThrownBy(() -> limiter.acquire("token", PAGE_URL)).isInstanceOf(FacebookRateLimitException.class);
+
+    assertThat(limiter.acquire("token", ME_URL)).isZero();
+  }
+
+  @Test
+  void grantsExactlyTheBurstToConcurrentCallers() throws Exception {
+    RequestRateLimiter limiter = new RequestRateLimiter.RequestRateLimiterBuilder()
+      .accessTokenLimit(100, Duration.ofHours(1)).maxWait(Duration.ZERO).build();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        tasks.add(() -> {
+          try {
+            limiter.acquire("token", ME_URL);
+            return true;
+          } catch (FacebookRateLimitException e) {
+            return false;
+          }
+        });
+      }
+
+      int granted = 0;
+      for (Future<Boolean> result : executor.invokeAll(tasks)) {
+        if (result.get()) {
+          granted++;
+        }
+      }
+      assertThat(granted).isEqualTo(100);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void invalidConfiguration() {
+    RequestRateLimiter.RequestRateLimiterBuilder builder = new RequestRateLimiter.RequestRateLimiterBuilder();
+    Duration minute = Duration.ofMinutes(1);
+    assertThrows(IllegalArgumentException.class, () -> builder.accessTokenLimit(0, minute));
+    assertThrows(IllegalArgumentException.class, () -> builder.pageLimit(1, Duration.ZERO));
+
+    RequestRateLimiter.RequestRateLimiterBuilder negativeWait = builder.maxWait(Duration.ofSeconds(-1));
+    assertThrows(IllegalArgumentException.class, negativeWait::build);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class RequestSchedulerTest {
+
+  private final List<String> started = new CopyOnWriteArrayList<>();
+
+  private final List<CompletableFuture<String>> calls = new CopyOnWriteArrayList<>();
+
+  @Test
+  void capsRequestsInFlight() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(2).build();
+
+    scheduler.submit("token1", null, request("first"));
+    scheduler.submit("token2", null, request("second"));
+    CompletableFuture<String> third = scheduler.submit("token3", null, request("third"));
+
+    assertThat(started).containsExactly("first", "second");
+    assertThat(scheduler.getInFlightCount()).isEqualTo(2);
+    assertThat(scheduler.getPendingCount()).isEqualTo(1);
+
+    calls.get(0).complete("done");
+    waitForStarted(3);
+    calls.get(2).complete("third done");
+
+    assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo("third done");
+  }
+
+  @Test
+  void capsRequestsInFlightPerToken() {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(10)
+      .maxConcurrentRequestsPerToken(1).build();
+
+    scheduler.submit("token1", null, request("first"));
+    scheduler.submit("token1", null, request("second"));
+    scheduler.submit("token2", null, request("third"));
+
+    assertThat(started).containsExactly("first", "third");
+    assertThat(scheduler.getPendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  void saturatedTokenDoesNotBlockOtherTokens() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(2)
+      .maxConcurrentRequestsPerToken(1).build();
+
+    scheduler.submit("noisy", RequestPriority.HIGH, request("noisy running"));
+    scheduler.submit("quiet", null, request("quiet running"));
+    for (int i = 0; i < 1000; i++) {
+      scheduler.submit("noisy", RequestPriority.HIGH, request("noisy " + i));
+    }
+    scheduler.submit("quiet", RequestPriority.LOW, request("quiet low"));
+    scheduler.submit("quiet", null, request("quiet normal"));
+
+    assertThat(scheduler.getPendingCount()).isEqualTo(1002);
+
+    calls.get(1).complete("done");
+    waitForStarted(3);
+    assertThat(started).endsWith("quiet normal");
+
+    calls.get(0).complete("done");
+    waitForStarted(4);
+    assertThat(started).endsWith("noisy 0");
+    assertThat(scheduler.getPendingCount()).isEqualTo(1000);
+  }
+
+  @Test
+  void sendsPendingRequestsByPriority() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(1).build();
+
+    scheduler.submit("token", RequestPriority.NORMAL, request("running"));
+    scheduler.submit("token", RequestPriority.LOW, request("crawl"));
+    scheduler.submit("token", null, request("normal"));
+    scheduler.submit("token", RequestPriority.HIGH, request("interactive"));
+
+    for (int i = 0; i < 3; i++) {
+      calls.get(i).complete("done");
+      waitForStarted(i + 2);
+    }
+
+    assertThat(started).containsExactly("running", "interactive", "normal", "crawl");
+  }
+
+  @Test
+  void cancelledPendingRequestIsNotSent() throws Exception {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(1).build();
+
+    CompletableFuture<String> running = scheduler.submit("token", null, request("running"));
+    CompletableFuture<String> pending = scheduler.submit("token", null, request("pending"));
+    pending.cancel(true);
+
+    assertThat(scheduler.getPendingCount()).isZero();
+
+    calls.get(0).complete("done");
+    assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    Thread.sleep(50);
+    assertThat(started).containsExactly("running");
+    assertThat(scheduler.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void cancellingRunningRequestCancelsCall() {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().build();
+
+    CompletableFuture<String> running = scheduler.submit("token", null, request("running"));
+    running.cancel(true);
+
+    assertThat(calls.get(0)).isCancelled();
+    assertThat(scheduler.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void failedRequestReleasesSlot() {
+    RequestScheduler scheduler = new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(1).build();
+
+    CompletableFuture<String> failed = scheduler.submit("token", null, () -> {
+      throw new IllegalStateException("failed");
+    });
+
+    assertThat(failed).isCompletedExceptionally();
+    assertThat(scheduler.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void invalidConfiguration() {
+    assertThrows(IllegalArgumentException.class,
+      () -> new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(0).build());
+    assertThrows(IllegalArgumentException.class,
+      () -> new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequestsPerToken(0).build());
+  }
+
+  private Supplier<CompletableFuture<String>> request(String name) {
+    return () -> {
+      started.add(name);
+      CompletableFuture<String> call = new CompletableFuture<>();
+      calls.add(call);
+      return call;
+    };
+  }
+
+  private void waitForStarted(int count) throws InterruptedException {
+    for (int i = 0; i < 100 && started.size() < count; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(started).hasSize(count);
+  }
+}
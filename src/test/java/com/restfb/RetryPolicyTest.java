@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.exception.FacebookGraphException;
+import com.restfb.exception.FacebookNetworkException;
+import com.restfb.exception.FacebookRstStreamNetworkException;
+
+class RetryPolicyTest {
+
+  @Test
+  void backoffUsesFullJitter() {
+    RetryPolicy retryPolicy = new RetryPolicy.RetryPolicyBuilder().initialBackoff(Duration.ofMillis(100))
+      .maxBackoff(Duration.ofMillis(350)).build();
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(retryPolicy.backoff(1)).isBetween(Duration.ZERO, Duration.ofMillis(100));
+      assertThat(retryPolicy.backoff(2)).isBetween(Duration.ZERO, Duration.ofMillis(200));
+      assertThat(retryPolicy.backoff(3)).isBetween(Duration.ZERO, Duration.ofMillis(350));
+      assertThat(retryPolicy.backoff(100)).isBetween(Duration.ZERO, Duration.ofMillis(350));
+    }
+  }
+
+  @Test
+  void canRetry() {
+    RetryPolicy retryPolicy = new RetryPolicy.RetryPolicyBuilder().maxAttempts(2).build();
+    long start = System.nanoTime();
+
+    assertThat(retryPolicy.canRetry(1, start, Duration.ZERO)).isTrue();
+    assertThat(retryPolicy.canRetry(2, start, Duration.ZERO)).isFalse();
+  }
+
+  @Test
+  void canRetryHonorsDeadline() {
+    RetryPolicy retryPolicy =
+        new RetryPolicy.RetryPolicyBuilder().maxAttempts(5).deadline(Duration.ofSeconds(1)).build();
+    long start = System.nanoTime();
+
+    assertThat(retryPolicy.canRetry(1, start, Duration.ofMillis(10))).isTrue();
+    assertThat(retryPolicy.canRetry(1, start, Duration.ofSeconds(2))).isFalse();
+    assertThat(retryPolicy.canRetry(1, start - Duration.ofSeconds(2).toNanos(), Duration.ZERO)).isFalse();
+  }
+
+  @Test
+  void retryableMethods() {
+    RetryPolicy defaultPolicy = new RetryPolicy.RetryPolicyBuilder().build();
+    assertThat(defaultPolicy.isRetryableMethod("GET")).isTrue();
+    assertThat(defaultPolicy.isRetryableMethod("POST")).isFalse();
+    assertThat(defaultPolicy.isRetryableMethod("DELETE")).isFalse();
+
+    RetryPolicy postPolicy = new RetryPolicy.RetryPolicyBuilder().retryPost(true).build();
+    assertThat(postPolicy.isRetryableMethod("POST")).isTrue();
+  }
+
+  @Test
+  void retryableExceptions() {
+    RetryPolicy retryPolicy = new RetryPolicy.RetryPolicyBuilder().build();
+
+    assertThat(retryPolicy.isRetryableException(new FacebookNetworkException(503))).isTrue();
+    assertThat(retryPolicy.isRetryableException(new FacebookRstStreamNetworkException("RST_STREAM", null))).isTrue();
+    assertThat(retryPolicy.isRetryableException(new FacebookGraphException("OAuthException", "transient", 2, null,
+      500, null, null, true, null))).isTrue();
+    assertThat(retryPolicy.isRetryableException(new FacebookGraphException("OAuthException", "permanent", 100, null,
+      400, null, null, false, null))).isFalse();
+    assertThat(retryPolicy.isRetryableException(new IllegalStateException())).isFalse();
+  }
+
+  @Test
+  void invalidConfiguration() {
+    RetryPolicy.RetryPolicyBuilder noAttempts = new RetryPolicy.RetryPolicyBuilder().maxAttempts(0);
+    assertThrows(IllegalArgumentException.class, noAttempts::build);
+
+    RetryPolicy.RetryPolicyBuilder negativeBackoff =
+        new RetryPolicy.RetryPolicyBuilder().initialBackoff(Duration.ofMillis(-1));
+    assertThrows(IllegalArgumentException.class, negativeBackoff::build);
+
+    RetryPolicy.RetryPolicyBuilder zeroDeadline = new RetryPolicy.RetryPolicyBuilder().deadline(Duration.ZERO);
+    assertThrows(IllegalArgumentException.class, zeroDeadline::build);
+  }
+}
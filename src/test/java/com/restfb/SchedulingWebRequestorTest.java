@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.json.JsonObject;
+
+class SchedulingWebRequestorTest {
+
+  private static final String ME_URL = "https://graph.facebook.com/v23.0/me";
+
+  private final PendingWebRequestor delegate = new PendingWebRequestor();
+
+  private final RequestScheduler scheduler =
+      new RequestScheduler.RequestSchedulerBuilder().maxConcurrentRequests(10).maxConcurrentRequestsPerToken(1).build();
+
+  private final SchedulingWebRequestor requestor = new SchedulingWebRequestor(delegate, scheduler);
+
+  @Test
+  void accessTokenIsTakenFromHeaderOrParameter() throws Exception {
+    requestor.executeGetAsync(new WebRequestor.Request(ME_URL, "token1"));
+    requestor.executeGetAsync(new WebRequestor.Request(ME_URL, null, "access_token=token1&fields=id"));
+    requestor.executeGetAsync(new WebRequestor.Request(ME_URL, null, "access_token=token2&fields=id"));
+
+    assertThat(delegate.calls).hasSize(2);
+    assertThat(scheduler.getPendingCount()).isEqualTo(1);
+
+    delegate.calls.get(0).complete(new WebRequestor.Response(HTTP_OK, "{}"));
+    for (int i = 0; i < 100 && delegate.calls.size() < 3; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(delegate.calls).hasSize(3);
+  }
+
+  @Test
+  void priorityIsTakenFromRequest() throws Exception {
+    WebRequestor.Request blocking = new WebRequestor.Request(ME_URL, "token");
+    WebRequestor.Request background = new WebRequestor.Request(ME_URL, "token", "fields=id");
+    background.setPriority(RequestPriority.LOW);
+    WebRequestor.Request interactive = new WebRequestor.Request(ME_URL, "token", "fields=name");
+    interactive.setPriority(RequestPriority.HIGH);
+
+    requestor.executeGetAsync(blocking);
+    requestor.executeGetAsync(background);
+    requestor.executePostAsync(interactive);
+    delegate.calls.get(0).complete(new WebRequestor.Response(HTTP_OK, "{}"));
+
+    for (int i = 0; i < 100 && delegate.requests.size() < 2; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(delegate.requests).containsExactly(blocking, interactive);
+  }
+
+  @Test
+  void connectionPagesKeepPriorityAndAccessToken() throws Exception {
+    FacebookClient client = new DefaultFacebookClient("token1", requestor, new DefaultJsonMapper(), Version.LATEST);
+    String nextPageUrl = ME_URL + "/feed?access_token=token1&after=abc";
+
+    CompletableFuture<Connection<JsonObject>> firstPage = CompletableFuture.supplyAsync(
+      () -> client.fetchConnection("me/feed", JsonObject.class, Parameter.withPriority(RequestPriority.LOW)));
+    waitForRequests(1);
+    delegate.calls.get(0).complete(new WebRequestor.Response(HTTP_OK,
+      "{\"data\":[{\"id\":\"1\"}],\"paging\":{\"next\":\"" + nextPageUrl + "\"}}"));
+    Connection<JsonObject> connection = firstPage.get(5, TimeUnit.SECONDS);
+    assertThat(connection.getRequestPriority()).isEqualTo(RequestPriority.LOW);
+
+    // occupies the only slot of token1
+    requestor.executeGetAsync(new WebRequestor.Request(ME_URL, null, "access_token=token1"));
+    waitForRequests(2);
+
+    CompletableFuture<Connection<JsonObject>> nextPage = CompletableFuture.supplyAsync(connection::fetchNextPage);
+    for (int i = 0; i < 100 && scheduler.getPendingCount() < 1; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(scheduler.getPendingCount()).isEqualTo(1);
+    assertThat(delegate.requests).hasSize(2);
+
+    requestor.executeGetAsync(new WebRequestor.Request(ME_URL, null, "access_token=token2"));
+    waitForRequests(3);
+
+    delegate.calls.get(1).complete(new WebRequestor.Response(HTTP_OK, "{}"));
+    waitForRequests(4);
+    WebRequestor.Request pageRequest = delegate.requests.get(3);
+    assertThat(pageRequest.getUrl()).isEqualTo(nextPageUrl);
+    assertThat(pageRequest.getPriority()).isEqualTo(RequestPriority.LOW);
+
+    delegate.calls.get(3).complete(new WebRequestor.Response(HTTP_OK, "{\"data\":[]}"));
+    assertThat(nextPage.get(5, TimeUnit.SECONDS).getRequestPriority()).isEqualTo(RequestPriority.LOW);
+  }
+
+  private void waitForRequests(int count) throws InterruptedException {
+    for (int i = 0; i < 100 && delegate.requests.size() < count; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(delegate.requests).hasSize(count);
+  }
+
+  private static class PendingWebRequestor implements WebRequestor {
+
+    final List<CompletableFuture<Response>> calls = new CopyOnWriteArrayList<>();
+
+    final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Response executeGet(Request request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<Response> executeGetAsync(Request request) {
+      return pending(request);
+    }
+
+    @Override
+    public CompletableFuture<Response> executePostAsync(Request request) {
+      return pending(request);
+    }
+
+    @Override
+    public Response executePost(Request request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Response executeDelete(Request request) {
+      throw new UnsupportedOperationException();
+    }
+
+    private CompletableFuture<Response> pending(Request request) {
+      requests.add(request);
+      CompletableFuture<Response> call = new CompletableFuture<>();
+      calls.add(call);
+      return call;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.restfb.TimeSlicedConnectionCrawler.TimeSlicedConnectionCrawlerBuilder;
+import com.restfb.TimeSlicedConnectionCrawler.TimeWindow;
+import com.restfb.types.FacebookType;
+
+class TimeSlicedConnectionCrawlerTest {
+
+  private static final Pattern SINCE_PATTERN = Pattern.compile("since=(\\d+)");
+
+  private final AtomicInteger requests = new AtomicInteger();
+
+  private ExecutorService executor;
+
+  private DefaultFacebookClient facebookClient;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    FakeWebRequestor webRequestor = new FakeWebRequestor() {
+      @Override
+      public Response executeGet(Request request) {
+        requests.incrementAndGet();
+        String url = request.getFullUrl();
+
+        if (url.contains("window30page2")) {
+          return new Response(HTTP_OK, "{\"data\":[{\"id\":\"30-c\"}]}");
+        }
+
+        Matcher matcher = SINCE_PATTERN.matcher(url);
+        if (!matcher.find()) {
+          return new Response(HTTP_OK, "{\"data\":[]}");
+        }
+
+        String since = matcher.group(1);
+        if ("0".equals(since)) {
+          // the first window is the slowest one, the ordered stream has to wait for it
+          sleep(100);
+        }
+
+        String paging = "30".equals(since)
+            ? ",\"paging\":{\"next\":\"https://graph.facebook.com/v18.0/window30page2?access_token=token\"}" : "";
+        return new Response(HTTP_OK,
+          "{\"data\":[{\"id\":\"" + since + "-a\"},{\"id\":\"" + since + "-b\"}]" + paging + "}");
+      }
+    };
+    facebookClient = new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.VERSION_18_0);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void windows() {
+    List<TimeWindow> windows = createBuilder().build().getWindows();
+
+    assertThat(windows).hasSize(4);
+    assertThat(windows.get(0).getSince()).isEqualTo(Instant.ofEpochSecond(0));
+    assertThat(windows.get(0).getUntil()).isEqualTo(Instant.ofEpochSecond(29));
+    assertThat(windows.get(1).getSince()).isEqualTo(Instant.ofEpochSecond(30));
+    assertThat(windows.get(3).getSince()).isEqualTo(Instant.ofEpochSecond(90));
+    assertThat(windows.get(3).getUntil()).isEqualTo(Instant.ofEpochSecond(100));
+  }
+
+  @Test
+  void orderedStream() {
+    TimeSlicedConnectionCrawler<FacebookType> crawler = createBuilder().build();
+
+    try (Stream<FacebookType> items = crawler.stream()) {
+      assertThat(items.map(FacebookType::getId).collect(Collectors.toList())).containsExactly("0-a", "0-b", "30-a",
+        "30-b", "30-c", "60-a", "60-b", "90-a", "90-b");
+    }
+    assertThat(requests).hasValue(5);
+  }
+
+  @Test
+  void laterPagesAreFetchedOnDemand() {
+    TimeSlicedConnectionCrawler<FacebookType> crawler = createBuilder().build();
+
+    try (Stream<FacebookType> items = crawler.stream()) {
+      Iterator<FacebookType> iterator = items.iterator();
+      assertThat(iterator.next().getId()).isEqualTo("0-a");
+      sleep(100);
+
+      // only the first pages of the two windows in flight are fetched, the second page of window 30 is not buffered
+      assertThat(requests).hasValue(2);
+    }
+  }
+
+  @Test
+  void unorderedStream() {
+    TimeSlicedConnectionCrawler<FacebookType> crawler = createBuilder().build();
+
+    try (Stream<FacebookType> items = crawler.unorderedStream()) {
+      assertThat(items.map(FacebookType::getId).collect(Collectors.toList())).containsExactlyInAnyOrder("0-a", "0-b",
+        "30-a", "30-b", "30-c", "60-a", "60-b", "90-a", "90-b");
+    }
+  }
+
+  @Test
+  void windowParametersAreSent() {
+    FakeWebRequestor webRequestor = new FakeWebRequestor(new WebRequestor.Response(HTTP_OK, "{\"data\":[]}"));
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.VERSION_18_0);
+
+    TimeSlicedConnectionCrawler<FacebookType> crawler =
+        new TimeSlicedConnectionCrawlerBuilder<>(client, "me/feed", FacebookType.class)
+          .since(Instant.ofEpochSecond(1000)).until(Instant.ofEpochSecond(2000)).window(Duration.ofHours(1))
+          .parameters(Parameter.with("fields", "id")).executor(Runnable::run).build();
+
+    assertThat(crawler.stream().count()).isZero();
+    assertThat(webRequestor.getSavedUrl()).contains("me/feed").contains("fields=id").contains("since=1000")
+      .contains("until=2000");
+  }
+
+  @Test
+  void invalidConfiguration() {
+    TimeSlicedConnectionCrawlerBuilder<FacebookType> reversedRange = createBuilder().since(Instant.ofEpochSecond(100))
+      .until(Instant.ofEpochSecond(0));
+    assertThrows(IllegalArgumentException.class, reversedRange::build);
+
+    TimeSlicedConnectionCrawlerBuilder<FacebookType> shortWindow = createBuilder().window(Duration.ofMillis(10));
+    assertThrows(IllegalArgumentException.class, shortWindow::build);
+
+    TimeSlicedConnectionCrawlerBuilder<FacebookType> sinceParameter =
+        createBuilder().parameters(Parameter.with("since", 10));
+    assertThrows(IllegalArgumentException.class, sinceParameter::build);
+
+    TimeSlicedConnectionCrawlerBuilder<FacebookType> missingWindow = createBuilder().window(null);
+    assertThrows(NullPointerException.class, missingWindow::build);
+  }
+
+  private TimeSlicedConnectionCrawlerBuilder<FacebookType> createBuilder() {
+    return new TimeSlicedConnectionCrawlerBuilder<>(facebookClient, "me/feed", FacebookType.class)
+      .since(Instant.ofEpochSecond(0)).until(Instant.ofEpochSecond(100)).window(Duration.ofSeconds(30))
+      .parallelism(2).executor(executor);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.exception.FacebookRateLimitException;
+
+class UsageRateGovernorTest {
+
+  private static final String ME_URL = "https://graph.facebook.com/v23.0/me?fields=id";
+
+  private static final String AD_ACCOUNT_URL = "https://graph.facebook.com/v23.0/act_123/insights";
+
+  private final UsageRateGovernor governor = new UsageRateGovernor.UsageRateGovernorBuilder().slowdownThreshold(50)
+    .maxDelay(Duration.ofSeconds(10)).maxWait(Duration.ofMinutes(1)).build();
+
+  @Test
+  void noDelayWithoutUsage() {
+    assertThat(governor.delay("token", ME_URL)).isZero();
+  }
+
+  @Test
+  void noDelayBelowThreshold() {
+    governor.record("token", ME_URL, headers().setAppUsage(appUsage(40)).build());
+
+    assertThat(governor.delay("token", ME_URL)).isZero();
+  }
+
+  @Test
+  void delayGrowsWithAppUsage() {
+    governor.record("token", ME_URL, headers().setAppUsage(appUsage(75)).build());
+    assertThat(governor.delay("other", ME_URL)).isEqualTo(Duration.ofSeconds(5));
+
+    governor.record("token", ME_URL, headers().setAppUsage(appUsage(120)).build());
+    assertThat(governor.delay("other", ME_URL)).isEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void pageUsageIsTrackedPerAccessToken() {
+    governor.record("page-token", ME_URL, headers().setPageUsage(appUsage(100)).build());
+
+    assertThat(governor.delay("page-token", ME_URL)).isEqualTo(Duration.ofSeconds(10));
+    assertThat(governor.delay("other-token", ME_URL)).isZero();
+  }
+
+  @Test
+  void adAccountUsageIsTrackedPerAdAccount() {
+    governor.record("token", AD_ACCOUNT_URL, headers().setAdAccountUsage("{\"acc_id_util_pct\":100}").build());
+
+    assertThat(governor.delay("token", AD_ACCOUNT_URL)).isEqualTo(Duration.ofSeconds(10));
+    assertThat(governor.delay("token", "https://graph.facebook.com/v23.0/act_456/insights")).isZero();
+  }
+
+  @Test
+  void honorsEstimatedTimeToRegainAccess() {
+    String businessUsage = "{\"123\":[{\"type\":\"ads_insights\",\"call_count\":100,\"total_cputime\":20,"
+        + "\"total_time\":20,\"estimated_time_to_regain_access\":5}]}";
+    governor.record("token", AD_ACCOUNT_URL, headers().setBusinessUseCaseUsage(businessUsage).build());
+
+    assertThatThrownBy(() -> governor.delay("token", AD_ACCOUNT_URL)).isInstanceOf(FacebookRateLimitException.class)
+      .satisfies(throwable -> assertThat(((FacebookRateLimitException) throwable).getRetryAfter())
+        .isGreaterThan(Duration.ofMinutes(4)));
+    assertThat(governor.delay("token", ME_URL)).isZero();
+  }
+
+  @Test
+  void forgetsOutdatedUsage() {
+    UsageRateGovernor shortWindowGovernor =
+        new UsageRateGovernor.UsageRateGovernorBuilder().usageWindow(Duration.ofNanos(1)).build();
+    shortWindowGovernor.record("token", ME_URL, headers().setAppUsage(appUsage(100)).build());
+
+    assertThat(shortWindowGovernor.delay("token", ME_URL)).isZero();
+  }
+
+  @Test
+  void invalidConfiguration() {
+    UsageRateGovernor.UsageRateGovernorBuilder invalidThreshold =
+        new UsageRateGovernor.UsageRateGovernorBuilder().slowdownThreshold(120);
+    assertThrows(IllegalArgumentException.class, invalidThreshold::build);
+
+    UsageRateGovernor.UsageRateGovernorBuilder zeroWindow =
+        new UsageRateGovernor.UsageRateGovernorBuilder().usageWindow(Duration.ZERO);
+    assertThrows(IllegalArgumentException.class, zeroWindow::build);
+  }
+
+  private static DebugHeaderInfo.DebugHeaderInfoFactory headers() {
+    return DebugHeaderInfo.DebugHeaderInfoFactory.create();
+  }
+
+  private static String appUsage(int percentage) {
+    return "{\"call_count\":" + percentage + ",\"total_time\":1,\"total_cputime\":1}";
+  }
+}
@@ -24,6 +24,7 @@ package com.restfb;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +68,28 @@ class WebRequestorTest {
     assertThat(debugHeaderInfo.getPageUsage().getTotalCputime()).isEqualTo(60);
   }
 
+  @Test
+  void responseFromBytes() {
+    byte[] body = "  {\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8);
+    WebRequestor.Response response = WebRequestor.Response.fromBytes(200, body, null);
+
+    assertThat(response.getBodyBytes()).isSameAs(body);
+    assertThat(response.getBodyPrefix(4)).isEqualTo("{\"id");
+    assertThat(response.getBody()).isEqualTo("{\"id\":\"1\"}");
+    assertThat(response.getBody()).isSameAs(response.getBody());
+    assertThat(response.getBodyAsStream()).hasContent("  {\"id\":\"1\"}");
+  }
+
+  @Test
+  void responseFromString() {
+    WebRequestor.Response response = new WebRequestor.Response(200, "{\"name\":\"J\u00fcrgen\"}");
+
+    assertThat(response.getBodyBytes()).isEqualTo("{\"name\":\"J\u00fcrgen\"}".getBytes(StandardCharsets.UTF_8));
+    assertThat(response.getBodyPrefix(100)).isEqualTo(response.getBody());
+    assertThat(WebRequestor.Response.fromBytes(200, "\u00fc\u00fc\u00fc".getBytes(StandardCharsets.UTF_8), null)
+      .getBodyPrefix(2)).isEqualTo("\u00fc\u00fc");
+  }
+
   @Test
   void checkMapSupplier() {
     try {
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.restfb.BatchEchoWebRequestor;
+import com.restfb.DefaultFacebookClient;
+import com.restfb.DefaultJsonMapper;
+import com.restfb.Parameter;
+import com.restfb.RetryPolicy;
+import com.restfb.Version;
+import com.restfb.batch.BatchRequest.BatchRequestBuilder;
+import com.restfb.json.Json;
+import com.restfb.json.JsonObject;
+
+class BatchExecutorTest {
+
+  private final BatchEchoWebRequestor webRequestor = new BatchEchoWebRequestor();
+
+  private final DefaultFacebookClient facebookClient =
+      new DefaultFacebookClient("token", webRequestor, new DefaultJsonMapper(), Version.LATEST);
+
+  @Test
+  void splitsIntoChunksAndKeepsOrder() {
+    List<BatchRequest> requests = createRequests(120);
+
+    List<BatchResponse> responses = new BatchExecutor.BatchExecutorBuilder(facebookClient).build().execute(requests);
+
+    assertThat(webRequestor.getBatches()).extracting(List::size).containsExactlyInAnyOrder(50, 50, 20);
+    assertThat(responses).hasSize(120);
+    for (int i = 0; i < 120; i++) {
+      assertThat(idOf(responses.get(i))).isEqualTo("object" + i);
+    }
+  }
+
+  @Test
+  void parallelExecutionWithOwnExecutor() {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<BatchRequest> requests = createRequests(95);
+
+      List<BatchResponse> responses = new BatchExecutor.BatchExecutorBuilder(facebookClient).chunkSize(10)
+        .parallelism(3).executor(executor).build().execute(requests);
+
+      assertThat(webRequestor.getBatches()).hasSize(10);
+      assertThat(responses).extracting(BatchExecutorTest::idOf)
+        .containsExactlyElementsOf(requests.stream().map(BatchRequest::getRelativeUrl).collect(Collectors.toList()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void dependentRequestsStayInOneChunk() {
+    List<BatchRequest> requests = createRequests(48);
+    requests.add(new BatchRequestBuilder("me/friends").name("get-friends").build());
+    requests.add(new BatchRequestBuilder("me/likes").dependsOn("get-friends").build());
+    requests.add(new BatchRequestBuilder("")
+      .parameters(Parameter.with("ids", "{result=get-friends:$.data.*.id}")).build());
+
+    List<BatchResponse> responses =
+        new BatchExecutor.BatchExecutorBuilder(facebookClient).parallelism(1).build().execute(requests);
+
+    assertThat(webRequestor.getBatches()).hasSize(2);
+    List<String> batchWithGroup = webRequestor.getBatches().stream()
+      .map(batch -> batch.stream().map(operation -> operation.getString("relative_url", null))
+        .collect(Collectors.toList()))
+      .filter(relativeUrls -> relativeUrls.contains("me/friends")).findFirst().orElseThrow();
+    assertThat(batchWithGroup).containsSubsequence("me/friends", "me/likes", requests.get(50).getRelativeUrl());
+    assertThat(idOf(responses.get(49))).isEqualTo("me/likes");
+  }
+
+  @Test
+  void largeDependencyGroupIsSplit() {
+    List<BatchRequest> requests = new ArrayList<>();
+    requests.add(new BatchRequestBuilder("me").name("root").build());
+    for (int i = 0; i < 3; i++) {
+      requests.add(new BatchRequestBuilder("me/feed" + i).dependsOn("root").build());
+    }
+
+    List<BatchResponse> responses =
+        new BatchExecutor.BatchExecutorBuilder(facebookClient).chunkSize(3).build().execute(requests);
+
+    assertThat(webRequestor.getBatches()).hasSize(2);
+    assertThat(webRequestor.getBatches().get(0)).extracting(operation -> operation.getString("relative_url", null))
+      .containsExactly("me", "me/feed0", "me/feed1");
+    JsonObject resolved = webRequestor.getBatches().get(1).get(0);
+    assertThat(resolved.getString("relative_url", null)).isEqualTo("me/feed2");
+    assertThat(resolved.contains("depends_on")).isFalse();
+    assertThat(responses).extracting(BatchExecutorTest::idOf).containsExactly("me", "me/feed0", "me/feed1",
+      "me/feed2");
+  }
+
+  @Test
+  void independentRequestsFillUpLastChunkOfLargeGroup() {
+    List<BatchRequest> requests = new ArrayList<>();
+    requests.add(new BatchRequestBuilder("me").name("root").build());
+    for (int i = 0; i < 54; i++) {
+      requests.add(new BatchRequestBuilder("me/feed" + i).dependsOn("root").build());
+    }
+    requests.addAll(createRequests(40));
+
+    List<BatchResponse> responses = new BatchExecutor.BatchExecutorBuilder(facebookClient).build().execute(requests);
+
+    assertThat(webRequestor.getBatches()).extracting(List::size).containsExactly(50, 45);
+    assertThat(responses).extracting(BatchExecutorTest::idOf)
+      .containsExactlyElementsOf(requests.stream().map(BatchRequest::getRelativeUrl).collect(Collectors.toList()));
+  }
+
+  @Test
+  void resultReferencesAreResolvedAcrossBatches() {
+    List<BatchRequest> requests = new ArrayList<>();
+    requests.add(new BatchRequestBuilder("act_1/ads").method("POST")
+      .body(Parameter.with("adset_id", "{result=adset:$.id}")).build());
+    requests.add(new BatchRequestBuilder("act_1/adsets").method("POST").name("adset")
+      .body(Parameter.with("campaign_id", "{result=campaign:$.id}")).build());
+    requests.add(new BatchRequestBuilder("act_1/campaigns").method("POST").name("campaign").build());
+
+    List<BatchResponse> responses =
+        new BatchExecutor.BatchExecutorBuilder(facebookClient).chunkSize(2).build().execute(requests);
+
+    assertThat(webRequestor.getBatches()).hasSize(2);
+    assertThat(webRequestor.getBatches().get(0)).extracting(operation -> operation.getString("relative_url", null))
+      .containsExactly("act_1/campaigns", "act_1/adsets");
+    assertThat(webRequestor.getBatches().get(1).get(0).getString("body", null))
+      .isEqualTo("adset_id=act_1%2Fadsets");
+    assertThat(responses).extracting(BatchExecutorTest::idOf).containsExactly("act_1/ads", "act_1/adsets",
+      "act_1/campaigns");
+  }
+
+  @Test
+  void dependentsOfFailedRequestsAreNotSent() {
+    List<BatchRequest> requests = new ArrayList<>();
+    requests.add(new BatchRequestBuilder("error").name("failing").build());
+    requests.add(new BatchRequestBuilder("me/feed").dependsOn("failing").name("dependent").build());
+    requests.add(new BatchRequestBuilder("me/likes").body(Parameter.with("ids", "{result=dependent:$.id}")).build());
+
+    List<BatchResponse> responses =
+        new BatchExecutor.BatchExecutorBuilder(facebookClient).chunkSize(1).build().execute(requests);
+
+    assertThat(webRequestor.getBatches()).hasSize(1);
+    assertThat(responses.get(0).getCode()).isEqualTo(400);
+    assertThat(responses.get(1)).isNull();
+    assertThat(responses.get(2)).isNull();
+  }
+
+  @Test
+  void cyclicDependencies() {
+    BatchExecutor batchExecutor = new BatchExecutor.BatchExecutorBuilder(facebookClient).build();
+    assertThrows(IllegalArgumentException.class,
+      () -> batchExecutor.execute(new BatchRequestBuilder("a").name("a").dependsOn("b").build(),
+        new BatchRequestBuilder("b").name("b").dependsOn("a").build()));
+    assertThat(webRequestor.getBatches()).isEmpty();
+  }
+
+  @Test
+  void jsonPath() {
+    String json = "{\"data\":[{\"id\":\"1\"},{\"id\":\"2\"}],\"paging\":{\"count\":2}}";
+
+    assertThat(BatchJsonPath.evaluate(json, "$.data.*.id")).isEqualTo("1,2");
+    assertThat(BatchJsonPath.evaluate(json, "$.data[1].id")).isEqualTo("2");
+    assertThat(BatchJsonPath.evaluate(json, "$.data.0.id")).isEqualTo("1");
+    assertThat(BatchJsonPath.evaluate(json, "$.paging.count")).isEqualTo("2");
+    assertThrows(IllegalArgumentException.class, () -> BatchJsonPath.evaluate(json, "$.missing"));
+  }
+
+  @Test
+  void duplicateNames() {
+    BatchExecutor batchExecutor = new BatchExecutor.BatchExecutorBuilder(facebookClient).build();
+    assertThrows(IllegalArgumentException.class, () -> batchExecutor
+      .execute(new BatchRequestBuilder("me").name("a").build(), new BatchRequestBuilder("me/feed").name("a").build()));
+  }
+
+  @Test
+  void dependencyComponents() {
+    List<BatchRequest> requests = new ArrayList<>();
+    requests.add(new BatchRequestBuilder("a").name("a").build());
+    requests.add(new BatchRequestBuilder("b").build());
+    requests.add(new BatchRequestBuilder("c").name("c").body(Parameter.with("message", "{result=a:$.id}")).build());
+    requests.add(new BatchRequestBuilder("d").dependsOn("c").build());
+    requests.add(new BatchRequestBuilder("e").dependsOn("unknown").build());
+
+    BatchDependencies dependencies = new BatchDependencies(requests);
+
+    assertThat(dependencies.components()).containsExactly(List.of(0, 2, 3), List.of(1), List.of(4));
+    assertThat(dependencies.getDependencies(2)).containsExactly(0);
+    assertThat(dependencies.getDependencies(3)).containsExactly(2);
+    assertThat(dependencies.isConnected(0)).isTrue();
+    assertThat(dependencies.isConnected(1)).isFalse();
+  }
+
+  @Test
+  void retriesOnlyTransientFailures() {
+    FlakyWebRequestor flakyRequestor = new FlakyWebRequestor(1);
+    List<BatchRequest> requests = new ArrayList<>();
+    requests.add(new BatchRequestBuilder("ok").build());
+    requests.add(new BatchRequestBuilder("flaky-5xx").build());
+    requests.add(new BatchRequestBuilder("flaky-transient").build());
+    requests.add(new BatchRequestBuilder("error").build());
+
+    List<BatchResponse> responses = createRetryingExecutor(flakyRequestor, 3).execute(requests);
+
+    assertThat(flakyRequestor.getBatches()).hasSize(2);
+    assertThat(flakyRequestor.getBatches().get(1)).extracting(operation -> operation.getString("relative_url", null))
+      .containsExactly("flaky-5xx", "flaky-transient");
+    assertThat(responses).extracting(BatchResponse::getCode).containsExactly(200, 200, 200, 400);
+    assertThat(idOf(responses.get(1))).isEqualTo("flaky-5xx");
+  }
+
+  @Test
+  void postOperationsAreOnlyRetriedIfEnabled() {
+    FlakyWebRequestor flakyRequestor = new FlakyWebRequestor(1);
+
+    List<BatchResponse> responses = createRetryingExecutor(flakyRequestor, 3, false)
+      .execute(new BatchRequestBuilder("ok").build(), new BatchRequestBuilder("flaky-post").method("POST").build());
+
+    assertThat(flakyRequestor.getBatches()).hasSize(1);
+    assertThat(responses).extracting(BatchResponse::getCode).containsExactly(200, 503);
+
+    FlakyWebRequestor retryingRequestor = new FlakyWebRequestor(1);
+
+    responses = createRetryingExecutor(retryingRequestor, 3, true)
+      .execute(new BatchRequestBuilder("ok").build(), new BatchRequestBuilder("flaky-post").method("POST").build());
+
+    assertThat(retryingRequestor.getBatches()).extracting(List::size).containsExactly(2, 1);
+    assertThat(responses).extracting(BatchResponse::getCode).containsExactly(200, 200);
+  }
+
+  @Test
+  void retriesStopAfterMaxAttempts() {
+    FlakyWebRequestor flakyRequestor = new FlakyWebRequestor(Integer.MAX_VALUE);
+
+    List<BatchResponse> responses = createRetryingExecutor(flakyRequestor, 3)
+      .execute(new BatchRequestBuilder("ok").build(), new BatchRequestBuilder("flaky-5xx").build());
+
+    assertThat(flakyRequestor.getBatches()).extracting(List::size).containsExactly(2, 1, 1);
+    assertThat(responses).extracting(BatchResponse::getCode).containsExactly(200, 503);
+  }
+
+  @Test
+  void connectedOperationsAreNotRetried() {
+    FlakyWebRequestor flakyRequestor = new FlakyWebRequestor(1);
+
+    List<BatchResponse> responses = createRetryingExecutor(flakyRequestor, 3).execute(
+      new BatchRequestBuilder("flaky-5xx").name("first").build(),
+      new BatchRequestBuilder("me/feed").dependsOn("first").build());
+
+    assertThat(flakyRequestor.getBatches()).hasSize(1);
+    assertThat(responses.get(0).getCode()).isEqualTo(503);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    BatchExecutor.BatchExecutorBuilder tooLarge = new BatchExecutor.BatchExecutorBuilder(facebookClient).chunkSize(51);
+    assertThrows(IllegalArgumentException.class, tooLarge::build);
+
+    BatchExecutor.BatchExecutorBuilder noParallelism =
+        new BatchExecutor.BatchExecutorBuilder(facebookClient).parallelism(0);
+    assertThrows(IllegalArgumentException.class, noParallelism::build);
+  }
+
+  private static BatchExecutor createRetryingExecutor(BatchEchoWebRequestor requestor, int maxAttempts) {
+    return createRetryingExecutor(requestor, maxAttempts, false);
+  }
+
+  private static BatchExecutor createRetryingExecutor(BatchEchoWebRequestor requestor, int maxAttempts,
+      boolean retryPost) {
+    DefaultFacebookClient client = new DefaultFacebookClient("token", requestor, new DefaultJsonMapper(), Version.LATEST);
+    RetryPolicy retryPolicy = new RetryPolicy.RetryPolicyBuilder().maxAttempts(maxAttempts)
+      .initialBackoff(Duration.ofMillis(1)).retryPost(retryPost).build();
+    return new BatchExecutor.BatchExecutorBuilder(client).retryPolicy(retryPolicy).build();
+  }
+
+  /**
+   * Fails operations whose relative URL starts with {@code flaky} for the given number of attempts.
+   */
+  private static class FlakyWebRequestor extends BatchEchoWebRequestor {
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final int failures;
+
+    private FlakyWebRequestor(int failures) {
+      this.failures = failures;
+    }
+
+    @Override
+    protected JsonObject respond(JsonObject operation) {
+      String relativeUrl = operation.getString("relative_url", "");
+      if (relativeUrl.startsWith("flaky") && attempts.merge(relativeUrl, 1, Integer::sum) <= failures) {
+        if (relativeUrl.endsWith("transient")) {
+          return response(400, "{\"error\":{\"message\":\"Please retry\",\"type\":\"OAuthException\","
+              + "\"code\":2,\"is_transient\":true}}");
+        }
+        return response(503, "{}");
+      }
+      return super.respond(operation);
+    }
+  }
+
+  private static List<BatchRequest> createRequests(int count) {
+    List<BatchRequest> requests = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      requests.add(new BatchRequestBuilder("object" + i).build());
+    }
+    return requests;
+  }
+
+  private static String idOf(BatchResponse response) {
+    JsonObject body = Json.parse(response.getBody()).asObject();
+    return body.getString("id", null);
+  }
+}
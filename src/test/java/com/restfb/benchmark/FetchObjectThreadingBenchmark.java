@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.restfb.DefaultFacebookClient;
+import com.restfb.DefaultJsonMapper;
+import com.restfb.DefaultWebRequestor;
+import com.restfb.FacebookEndpoints;
+import com.restfb.Parameter;
+import com.restfb.Version;
+import com.restfb.json.JsonObject;
+import com.restfb.util.ConcurrencyUtils;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Compares the throughput of blocking {@code fetchObject} calls on platform threads and on virtual threads.
+ * <p>
+ * A local HTTP server answers every request after a fixed latency, so the benchmark measures how many blocking calls
+ * can wait for a response at the same time. The platform threads run in a fixed pool, like in a typical application
+ * server, the virtual threads are created per call. Virtual threads are only measured on Java 21 or later.
+ * <p>
+ * Run it after {@code mvn test-compile} with
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.restfb.benchmark.FetchObjectThreadingBenchmark [requests]
+ *   [platformThreads] [latencyMillis]
+ * </pre>
+ *
+ * Add {@code -Dcom.restfb.useVirtualThreads=true} to run the {@link java.net.http.HttpClient} on virtual threads, too.
+ */
+public final class FetchObjectThreadingBenchmark {
+
+  private static final byte[] RESPONSE_BODY = "{\"id\":\"1\",\"name\":\"benchmark\"}".getBytes(StandardCharsets.UTF_8);
+
+  private FetchObjectThreadingBenchmark() {
+    throw new IllegalStateException("FetchObjectThreadingBenchmark must not be instantiated");
+  }
+
+  public static void main(String[] args) throws Exception {
+    int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    int platformThreads = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+    HttpServer server = startServer(latencyMillis);
+    try {
+      DefaultFacebookClient client = createClient("http://localhost:" + server.getAddress().getPort());
+
+      System.out.printf("%d blocking fetchObject calls, %d ms server latency, virtual thread mode %s%n", requests,
+        latencyMillis, ConcurrencyUtils.isVirtualThreadModeEnabled() ? "enabled" : "disabled");
+
+      // warm up the connection pool and the JIT
+      run(client, Executors.newFixedThreadPool(platformThreads), platformThreads);
+
+      report("platform threads (" + platformThreads + ")",
+        run(client, Executors.newFixedThreadPool(platformThreads), requests), requests);
+      if (ConcurrencyUtils.isVirtualThreadSupported()) {
+        report("virtual threads", run(client, ConcurrencyUtils.newVirtualThreadPerTaskExecutor(), requests),
+          requests);
+      } else {
+        System.out.println("virtual threads: not supported by Java " + Runtime.version());
+      }
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private static long run(DefaultFacebookClient client, ExecutorService executor, int requests) throws Exception {
+    long start = System.nanoTime();
+    try {
+      List<Future<JsonObject>> results = new ArrayList<>(requests);
+      for (int i = 0; i < requests; i++) {
+        results.add(executor.submit(() -> client.fetchObject("me", JsonObject.class, Parameter.withFields("id,name"))));
+      }
+      for (Future<JsonObject> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static void report(String name, long nanos, int requests) {
+    double seconds = nanos / 1_000_000_000.0;
+    System.out.printf("%-25s %8.0f ms %10.0f requests/s%n", name, seconds * 1000, requests / seconds);
+  }
+
+  private static HttpServer startServer(long latencyMillis) throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+    server.createContext("/", exchange -> {
+      try {
+        Thread.sleep(latencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, RESPONSE_BODY.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(RESPONSE_BODY);
+      }
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    return server;
+  }
+
+  private static DefaultFacebookClient createClient(String baseUrl) {
+    DefaultFacebookClient client =
+        new DefaultFacebookClient("token", new DefaultWebRequestor(), new DefaultJsonMapper(), Version.LATEST);
+    client.setFacebookEndpointUrls(new FacebookEndpoints() {
+      @Override
+      public String getGraphEndpoint() {
+        return baseUrl;
+      }
+    });
+    return client;
+  }
+}
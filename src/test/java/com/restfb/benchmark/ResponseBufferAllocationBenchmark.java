@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+
+import com.restfb.util.ByteArrayPool;
+
+/**
+ * Measures how many bytes are allocated to read a response body.
+ * <p>
+ * The legacy strategy reads into a new 8 KB buffer and a growing {@link ByteArrayOutputStream}, the pooled strategy is
+ * the one used by {@link com.restfb.DefaultWebRequestor}: an exactly sized array if {@code Content-Length} is known, a
+ * pooled scratch buffer otherwise. The allocated bytes are taken from the HotSpot thread allocation counter, so the
+ * benchmark needs a HotSpot based JVM.
+ * <p>
+ * Run it after {@code mvn test-compile} with
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.restfb.benchmark.ResponseBufferAllocationBenchmark [iterations]
+ * </pre>
+ */
+public final class ResponseBufferAllocationBenchmark {
+
+  private static final int[] BODY_SIZES = { 256, 4 * 1024, 64 * 1024, 512 * 1024 };
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private ResponseBufferAllocationBenchmark() {
+    throw new IllegalStateException("ResponseBufferAllocationBenchmark must not be instantiated");
+  }
+
+  public static void main(String[] args) throws Exception {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    ByteArrayPool pool = new ByteArrayPool(4, 8192, 1024 * 1024);
+
+    System.out.printf("%-10s %-12s %16s %16s%n", "body", "length", "legacy B/read", "pooled B/read");
+    for (int size : BODY_SIZES) {
+      byte[] body = new byte[size];
+      for (boolean known : new boolean[] { true, false }) {
+        long expectedLength = known ? size : -1;
+        BodyReader legacy = in -> readLegacy(in, expectedLength);
+        BodyReader pooled = in -> pool.readFully(in, expectedLength);
+
+        // warm up, so the measurement does not include class loading and compilation
+        measure(legacy, body, iterations);
+        measure(pooled, body, iterations);
+
+        System.out.printf("%-10d %-12s %16d %16d%n", size, known ? "known" : "unknown",
+          measure(legacy, body, iterations), measure(pooled, body, iterations));
+      }
+    }
+  }
+
+  private static long measure(BodyReader reader, byte[] body, int iterations) throws IOException {
+    long threadId = Thread.currentThread().getId();
+    long checksum = 0;
+    long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < iterations; i++) {
+      checksum += reader.read(new NetworkInputStream(body)).length;
+    }
+    long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before;
+    if (checksum != (long) body.length * iterations) {
+      throw new IllegalStateException("Unexpected number of bytes read");
+    }
+    return allocated / iterations;
+  }
+
+  /**
+   * The implementation used before the read buffers were pooled.
+   */
+  private static byte[] readLegacy(InputStream bodyStream, long expectedLength) throws IOException {
+    long totalRead = 0;
+    byte[] buffer = new byte[8192];
+    try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+      int read;
+      while ((read = bodyStream.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+        totalRead += read;
+      }
+      if (expectedLength >= 0 && expectedLength != totalRead) {
+        throw new IOException("Incomplete response body");
+      }
+      return output.toByteArray();
+    }
+  }
+
+  @FunctionalInterface
+  private interface BodyReader {
+    byte[] read(InputStream inputStream) throws IOException;
+  }
+
+  /**
+   * Returns at most 16 KB per read, like the stream of the {@link java.net.http.HttpClient}.
+   */
+  private static final class NetworkInputStream extends FilterInputStream {
+
+    NetworkInputStream(byte[] body) {
+      super(new ByteArrayInputStream(body));
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return super.read(b, off, Math.min(len, 16 * 1024));
+    }
+  }
+}
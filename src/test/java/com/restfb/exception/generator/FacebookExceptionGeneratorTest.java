@@ -48,6 +48,14 @@ class FacebookExceptionGeneratorTest {
     parseJson(json, true);
   }
 
+  @Test
+  void mayContainError() {
+    DefaultFacebookExceptionGenerator generator = new DefaultFacebookExceptionGenerator();
+    assertThat(generator.mayContainError("{ \"error\": { \"message\": \"Invalid")).isTrue();
+    assertThat(generator.mayContainError("{ \"data\": [ { \"id\": \"1\" }, { \"id\": \"2\" } ]")).isFalse();
+    assertThat(generator.mayContainError("true")).isFalse();
+  }
+
   private void parseJson(String json, boolean failOnException) {
     DefaultFacebookExceptionGenerator generator = new DefaultFacebookExceptionGenerator();
     try {
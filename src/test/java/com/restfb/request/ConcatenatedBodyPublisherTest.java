@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConcatenatedBodyPublisherTest {
+
+  @Test
+  void publishesPartsInOrder(@TempDir Path tempDir) throws Exception {
+    Path file = Files.write(tempDir.resolve("part.txt"), "file".getBytes(StandardCharsets.UTF_8));
+    BodyPublisher publisher = new ConcatenatedBodyPublisher(Arrays.asList(ofString("head-"),
+      BodyPublishers.ofFile(file), BodyPublishers.noBody(), ofString("-tail")));
+
+    assertThat(publisher.contentLength()).isEqualTo(14);
+    assertThat(readOneByOne(publisher)).isEqualTo("head-file-tail");
+  }
+
+  @Test
+  void contentLengthIsUnknownIfAPartIsUnknown() throws Exception {
+    BodyPublisher publisher = new ConcatenatedBodyPublisher(Arrays.asList(ofString("head-"),
+      BodyPublishers.ofInputStream(() -> new ByteArrayInputStream("stream".getBytes(StandardCharsets.UTF_8)))));
+
+    assertThat(publisher.contentLength()).isEqualTo(-1);
+    assertThat(readOneByOne(publisher)).isEqualTo("head-stream");
+  }
+
+  @Test
+  void canBeSubscribedAgain() throws Exception {
+    BodyPublisher publisher = new ConcatenatedBodyPublisher(Arrays.asList(ofString("a"), ofString("b")));
+
+    assertThat(readOneByOne(publisher)).isEqualTo("ab");
+    assertThat(readOneByOne(publisher)).isEqualTo("ab");
+  }
+
+  private static BodyPublisher ofString(String value) {
+    return BodyPublishers.ofString(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Requests one buffer at a time and fails if more buffers are delivered than requested.
+   */
+  private static String readOneByOne(BodyPublisher publisher) throws Exception {
+    CompletableFuture<String> result = new CompletableFuture<>();
+    publisher.subscribe(new Flow.Subscriber<>() {
+      private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      private final AtomicLong outstanding = new AtomicLong();
+      private Flow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        outstanding.incrementAndGet();
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(ByteBuffer item) {
+        if (outstanding.decrementAndGet() < 0) {
+          result.completeExceptionally(new IllegalStateException("More buffers delivered than requested"));
+        }
+        byte[] bytes = new byte[item.remaining()];
+        item.get(bytes);
+        output.write(bytes, 0, bytes.length);
+        outstanding.incrementAndGet();
+        subscription.request(1);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+        result.complete(new String(output.toByteArray(), StandardCharsets.UTF_8));
+      }
+    });
+    return result.get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ByteArrayPoolTest {
+
+  private final ByteArrayPool pool = new ByteArrayPool(2, 16, 64);
+
+  @Test
+  void readFullyWithKnownLength() throws IOException {
+    byte[] content = randomBytes(100);
+
+    assertThat(pool.readFully(new ByteArrayInputStream(content), content.length)).isEqualTo(content);
+  }
+
+  @Test
+  void readFullyWithUnknownLength() throws IOException {
+    byte[] content = randomBytes(100);
+
+    assertThat(pool.readFully(trickle(content), -1)).isEqualTo(content);
+    assertThat(pool.readFully(new ByteArrayInputStream(new byte[0]), -1)).isEmpty();
+  }
+
+  @Test
+  void readFullyFailsOnShortStream() {
+    IOException exception =
+        assertThrows(IOException.class, () -> pool.readFully(new ByteArrayInputStream(randomBytes(10)), 20));
+    assertThat(exception.getMessage()).isEqualTo("Expected 20 bytes but read 10");
+  }
+
+  @Test
+  void readFullyFailsOnLongStream() {
+    IOException exception =
+        assertThrows(IOException.class, () -> pool.readFully(new ByteArrayInputStream(randomBytes(30)), 20));
+    assertThat(exception.getMessage()).isEqualTo("Expected 20 bytes but read more");
+  }
+
+  @Test
+  void releasedBuffersAreReused() {
+    byte[] buffer = pool.acquire();
+    assertThat(buffer).hasSize(16);
+
+    pool.release(buffer);
+
+    assertThat(pool.acquire()).isSameAs(buffer);
+    assertThat(pool.acquire()).isNotSameAs(buffer);
+  }
+
+  @Test
+  void grownBuffersAreReusedUpToMaxPooledSize() {
+    byte[] grown = new byte[64];
+    byte[] tooLarge = new byte[128];
+
+    pool.release(tooLarge);
+    pool.release(grown);
+
+    assertThat(pool.acquire()).isSameAs(grown);
+    assertThat(pool.acquire()).isNotSameAs(tooLarge);
+  }
+
+  @Test
+  void releaseDropsBuffersWhenPoolIsFull() {
+    byte[] first = new byte[16];
+    byte[] second = new byte[16];
+    byte[] third = new byte[16];
+
+    pool.release(first);
+    pool.release(second);
+    pool.release(third);
+
+    assertThat(new Object[] { pool.acquire(), pool.acquire() }).containsExactlyInAnyOrder(first, second);
+    assertThat(pool.acquire()).isNotSameAs(third);
+  }
+
+  @Test
+  void invalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> new ByteArrayPool(0, 16, 64));
+    assertThrows(IllegalArgumentException.class, () -> new ByteArrayPool(2, 0, 64));
+    assertThrows(IllegalArgumentException.class, () -> new ByteArrayPool(2, 16, 8));
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(42).nextBytes(bytes);
+    return bytes;
+  }
+
+  /**
+   * Returns at most 7 bytes per read, like a network stream.
+   */
+  private static InputStream trickle(byte[] content) {
+    return new FilterInputStream(new ByteArrayInputStream(content)) {
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        return super.read(b, off, Math.min(len, 7));
+      }
+    };
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2010-2026 Mark Allen, Norbert Bartels.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.restfb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyUtilsTest {
+
+  @Test
+  void virtualThreadSupportMatchesRuntime() {
+    assertThat(ConcurrencyUtils.isVirtualThreadSupported()).isEqualTo(Runtime.version().feature() >= 21);
+  }
+
+  @Test
+  void virtualThreadModeIsDisabledByDefault() {
+    assertThat(System.getProperty(ConcurrencyUtils.VIRTUAL_THREADS_PROPERTY)).isNull();
+    assertThat(ConcurrencyUtils.isVirtualThreadModeEnabled()).isFalse();
+  }
+
+  @Test
+  void newVirtualThreadPerTaskExecutor() throws Exception {
+    if (!ConcurrencyUtils.isVirtualThreadSupported()) {
+      assertThrows(UnsupportedOperationException.class, ConcurrencyUtils::newVirtualThreadPerTaskExecutor);
+      return;
+    }
+
+    ExecutorService executor = ConcurrencyUtils.newVirtualThreadPerTaskExecutor();
+    try {
+      Object virtual = CompletableFuture
+        .supplyAsync(() -> invokeIsVirtual(Thread.currentThread()), executor).get(5, TimeUnit.SECONDS);
+      assertThat(virtual).isEqualTo(Boolean.TRUE);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void defaultExecutorRunsTasks() throws Exception {
+    String threadName =
+        CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), ConcurrencyUtils.defaultExecutor())
+          .get(5, TimeUnit.SECONDS);
+    assertThat(threadName).startsWith("restfb-worker-");
+  }
+
+  private static Object invokeIsVirtual(Thread thread) {
+    try {
+      return Thread.class.getMethod("isVirtual").invoke(thread);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -110,4 +110,39 @@ class UrlUtilsTest {
       Arguments.of(Named.of("addParameter", "http://www.example.com?access_token=123"),
         "http://www.example.com?access_token=123&before=56789"));
   }
-}
\ No newline at end of file
+
+  @Test
+  void extractObjectIdFromUrl() {
+    assertThat(UrlUtils.extractObjectIdFromUrl("https://graph.facebook.com/v23.0/act_123/insights"))
+      .isEqualTo("act_123");
+    assertThat(UrlUtils.extractObjectIdFromUrl("https://graph.facebook.com/12345?fields=id")).isEqualTo("12345");
+    assertThat(UrlUtils.extractObjectIdFromUrl("https://graph.facebook.com/v23.0/")).isNull();
+    assertThat(UrlUtils.extractObjectIdFromUrl(null)).isNull();
+  }
+
+  @Test
+  void normalizeEndpointPath() {
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/v23.0/act_123/insights?level=ad"))
+      .isEqualTo("/{id}/insights");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/123_456/comments"))
+      .isEqualTo("/{id}/comments");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/v23.0/me/feed")).isEqualTo("/me/feed");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/v23.0/?ids=1,2")).isEqualTo("/");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/v23.0/cocacola/posts"))
+      .isEqualTo("/{id}/posts");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/john.doe.1")).isEqualTo("/{id}");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/me/feed/Ab3xZ")).isEqualTo("/me/feed/{id}");
+    assertThat(UrlUtils.normalizeEndpointPath("https://graph.facebook.com/debug_token?input_token=1"))
+      .isEqualTo("/debug_token");
+  }
+
+  @Test
+  void normalizeQueryString() {
+    assertThat(UrlUtils.normalizeQueryString("https://graph.facebook.com/me?fields=id&access_token=123"))
+      .isEqualTo("https://graph.facebook.com/me?access_token=123&fields=id");
+    assertThat(UrlUtils.normalizeQueryString("https://graph.facebook.com/me?ids=2&fields=id&ids=1&"))
+      .isEqualTo("https://graph.facebook.com/me?fields=id&ids=2&ids=1");
+    assertThat(UrlUtils.normalizeQueryString("https://graph.facebook.com/me")).isEqualTo("https://graph.facebook.com/me");
+    assertThat(UrlUtils.normalizeQueryString(null)).isNull();
+  }
+}